@@ -2,23 +2,55 @@ package ml.empee.commandsManager;
 
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
+import ml.empee.commandsManager.command.ArgumentLine;
 import ml.empee.commandsManager.command.CommandExecutor;
+import ml.empee.commandsManager.command.CommandInterceptor;
+import ml.empee.commandsManager.command.CommandInvocation;
+import ml.empee.commandsManager.command.Node;
+import ml.empee.commandsManager.command.annotations.CommandNode;
+import ml.empee.commandsManager.exceptions.StacklessCommandException;
+import ml.empee.commandsManager.messages.MessageKey;
+import ml.empee.commandsManager.messages.Messages;
 import ml.empee.commandsManager.parsers.ParserManager;
 import ml.empee.commandsManager.parsers.types.*;
 import ml.empee.commandsManager.parsers.types.annotations.*;
 import ml.empee.commandsManager.parsers.types.annotations.greedy.MsgParam;
 import ml.empee.commandsManager.parsers.types.greedy.MsgParser;
+import ml.empee.commandsManager.services.AsyncArgumentResolver;
+import ml.empee.commandsManager.services.AuditLog;
+import ml.empee.commandsManager.services.BatchExecution;
+import ml.empee.commandsManager.services.CommandCache;
+import ml.empee.commandsManager.services.CommandRecorder;
+import ml.empee.commandsManager.services.CommandScheduler;
+import ml.empee.commandsManager.services.CommandWatchdog;
 import ml.empee.commandsManager.services.CompletionService;
+import ml.empee.commandsManager.services.PaginationService;
+import ml.empee.commandsManager.services.ResumableTaskRunner;
 import ml.empee.commandsManager.utils.CommandMapUtils;
 import net.md_5.bungee.api.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.OfflinePlayer;
+import org.bukkit.command.CommandException;
+import org.bukkit.command.CommandSender;
 import org.bukkit.command.PluginCommand;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitRunnable;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -27,13 +59,44 @@ import java.util.logging.Logger;
  */
 public final class CommandManager {
 
+  private static final long DEFAULT_BATCH_TICK_BUDGET = 10;
+  private static final long DEFAULT_TASK_TICK_BUDGET = 10;
+  private static final int DEFAULT_PAGE_ROWS = 10;
+  private static final long DEFAULT_PAGE_CURSOR_TTL = 5;
+  private static final long DEFAULT_ASYNC_TIMEOUT = 10;
+
   @Getter
   final JavaPlugin plugin;
   private final ArrayList<CommandExecutor> registeredCommands = new ArrayList<>();
+  private final HashMap<String, CommandExecutor> commandsByLabel = new HashMap<>();
+  private final List<CommandInterceptor> interceptors = new ArrayList<>();
+  /**
+   * The cache of the nodes annotated with {@link ml.empee.commandsManager.command.annotations.Cacheable}
+   */
+  @Getter
+  private final CommandCache commandCache = new CommandCache();
   private final Logger logger;
   @Getter
   private final ParserManager parserManager;
+  @Getter
+  private final Messages messages = new Messages();
+  private PaginationService paginationService;
   private CompletionService completionService;
+  private CommandScheduler scheduler;
+  private ResumableTaskRunner taskRunner;
+  private AsyncArgumentResolver asyncResolver;
+  @Getter
+  private volatile CommandRecorder recorder;
+  @Getter
+  private volatile AuditLog auditLog;
+  @Getter
+  private volatile CommandWatchdog watchdog;
+  /**
+   * If enabled, the arguments are tokenized from the raw input, supporting quoted and escaped arguments
+   */
+  @Getter
+  @Setter
+  private boolean quotedArguments;
 
   public CommandManager(@NonNull JavaPlugin plugin, Logger logger) {
     this.plugin = plugin;
@@ -103,10 +166,32 @@ public final class CommandManager {
             MaterialParser.builder().label("material").build(),
             MaterialParam.class, Material.class
     );
+
+    parserManager.registerParser(
+            FlagsParser.builder().label("flags").optional(true).build(), FlagsParam.class
+    );
+  }
+
+  /**
+   * Adds an interceptor to the nodes of every command, it applies only to the commands registered
+   * after it
+   */
+  public void addInterceptor(@NonNull CommandInterceptor interceptor) {
+    interceptors.add(interceptor);
+  }
+
+  public List<CommandInterceptor> getInterceptors() {
+    return Collections.unmodifiableList(interceptors);
   }
 
   public void registerCommand(@NonNull CommandExecutor command) {
     PluginCommand pluginCommand = command.build(this);
+    registerPluginCommand(command, pluginCommand);
+    registeredCommands.add(command);
+    registerLabels(command, pluginCommand);
+  }
+
+  private void registerPluginCommand(CommandExecutor command, PluginCommand pluginCommand) {
     if(!CommandMapUtils.register(pluginCommand)) {
       logger.log(
               Level.WARNING,
@@ -116,17 +201,314 @@ public final class CommandManager {
       );
     }
 
-    registeredCommands.add(command);
-
     if(completionService != null) {
       completionService.registerCompletions(command);
     }
   }
 
+  private void registerLabels(CommandExecutor command, PluginCommand pluginCommand) {
+    String namespace = plugin.getName().toLowerCase(Locale.ENGLISH) + ":";
+    List<String> labels = new ArrayList<>(pluginCommand.getAliases());
+    labels.add(pluginCommand.getName());
+
+    for(String label : labels) {
+      label = label.toLowerCase(Locale.ENGLISH);
+      commandsByLabel.putIfAbsent(label, command);
+      commandsByLabel.putIfAbsent(namespace + label, command);
+    }
+  }
+
+  /**
+   * @return the command registered by this manager with the given label or alias, the label can
+   * be prefixed by the plugin namespace (e.g. myplugin:label)
+   */
+  public CommandExecutor getCommand(String label) {
+    return commandsByLabel.get(label.toLowerCase(Locale.ENGLISH));
+  }
+
+  /**
+   * Matches a command line against the registered commands
+   *
+   * @param commandLine the command with its label, the leading slash is optional
+   * @throws CommandException if the command doesn't exist or it can't be parsed
+   */
+  public CommandInvocation parse(@NonNull CommandSender sender, @NonNull String commandLine) throws CommandException {
+    if(commandLine.startsWith("/")) {
+      commandLine = commandLine.substring(1);
+    }
+
+    int labelEnd = commandLine.indexOf(' ');
+    String label = labelEnd == -1 ? commandLine : commandLine.substring(0, labelEnd);
+    CommandExecutor command = getCommand(label);
+    if(command == null) {
+      throw new StacklessCommandException(MessageKey.UNKNOWN_COMMAND, label);
+    }
+
+    if(quotedArguments) {
+      return command.parse(sender, ArgumentLine.tokenize(labelEnd == -1 ? "" : commandLine.substring(labelEnd + 1)));
+    }
+
+    String[] tokens = commandLine.split(" ");
+    return command.parse(sender, Arrays.copyOfRange(tokens, 1, tokens.length));
+  }
+
+  /**
+   * @return the scheduler of this manager, it's started and its listener is registered on first use
+   */
+  public CommandScheduler getScheduler() {
+    if(scheduler == null) {
+      scheduler = new CommandScheduler(this, logger);
+      scheduler.runTaskTimer(plugin, 1, 1);
+      plugin.getServer().getPluginManager().registerEvents(scheduler, plugin);
+    }
+
+    return scheduler;
+  }
+
+  /**
+   * Records the commands executed and completed through this manager inside a binary log
+   *
+   * @see ml.empee.commandsManager.services.CommandReplayer
+   */
+  public CommandRecorder startRecording(@NonNull File file) throws IOException {
+    stopRecording();
+    recorder = new CommandRecorder(file, logger);
+    return recorder;
+  }
+
+  public void stopRecording() throws IOException {
+    CommandRecorder recorder = this.recorder;
+    if(recorder != null) {
+      this.recorder = null;
+      recorder.close();
+    }
+  }
+
+  /**
+   * Writes an audit record for every command executed through this manager
+   *
+   * @param directory the folder where the audit segments are stored
+   */
+  public AuditLog enableAuditLog(@NonNull File directory) {
+    return enableAuditLog(new AuditLog(directory, 8192, 16 * 1024 * 1024, AuditLog.OverflowPolicy.DROP, logger));
+  }
+
+  public AuditLog enableAuditLog(@NonNull AuditLog auditLog) {
+    disableAuditLog();
+    this.auditLog = auditLog;
+    return auditLog;
+  }
+
+  /**
+   * Stops the audit log, after writing the pending records
+   */
+  public void disableAuditLog() {
+    AuditLog auditLog = this.auditLog;
+    if(auditLog != null) {
+      this.auditLog = null;
+      auditLog.close();
+    }
+  }
+
+  /**
+   * Logs and tracks the node executions of the calling thread that take longer than the budget, it
+   * should be enabled from the server thread
+   */
+  public CommandWatchdog enableWatchdog(long budget, @NonNull TimeUnit unit) {
+    disableWatchdog();
+    watchdog = new CommandWatchdog(budget, unit, 20, logger);
+    return watchdog;
+  }
+
+  public void disableWatchdog() {
+    CommandWatchdog watchdog = this.watchdog;
+    if(watchdog != null) {
+      this.watchdog = null;
+      watchdog.close();
+    }
+  }
+
+  /**
+   * @return the runner of the tasks returned by the command nodes, it's started on first use
+   */
+  public ResumableTaskRunner getTaskRunner() {
+    if(taskRunner == null) {
+      taskRunner = new ResumableTaskRunner(this, logger, DEFAULT_TASK_TICK_BUDGET);
+      taskRunner.runTaskTimer(plugin, 0, 1);
+    }
+
+    return taskRunner;
+  }
+
+  /**
+   * Builds the help menus of the registered commands starting from the tick after the call, so that the first
+   * help request doesn't pay for it <br>
+   * The menus read the parsers of the command trees, so they are built on the main thread, one command per tick.
+   */
+  public void prewarmHelpMenus() {
+    Iterator<CommandExecutor> commands = new ArrayList<>(registeredCommands).iterator();
+    new BukkitRunnable() {
+      @Override
+      public void run() {
+        if(!commands.hasNext()) {
+          cancel();
+          return;
+        }
+
+        commands.next().getHelpMenu();
+      }
+    }.runTaskTimer(plugin, 1, 1);
+  }
+
+  /**
+   * @return the pagination service of this manager, its listener is registered on first use
+   */
+  public PaginationService getPaginationService() {
+    if(paginationService == null) {
+      paginationService = new PaginationService(messages, DEFAULT_PAGE_ROWS, DEFAULT_PAGE_CURSOR_TTL, TimeUnit.MINUTES);
+      plugin.getServer().getPluginManager().registerEvents(paginationService, plugin);
+    }
+
+    return paginationService;
+  }
+
+  /**
+   * @return the resolver of the async parameters, its listener is registered on first use
+   */
+  public AsyncArgumentResolver getAsyncResolver() {
+    if(asyncResolver == null) {
+      asyncResolver = new AsyncArgumentResolver(plugin, DEFAULT_ASYNC_TIMEOUT, TimeUnit.SECONDS);
+      plugin.getServer().getPluginManager().registerEvents(asyncResolver, plugin);
+    }
+
+    return asyncResolver;
+  }
+
+  /**
+   * Replaces the registered commands with the given ones, updating only what changed <br><br>
+   * <p>
+   * A registered command instance whose tree didn't change is kept as it is. The other commands are bound to
+   * the already registered plugin command, so that only the aliases that changed are updated inside the
+   * command map, and their tree is swapped without interrupting the executions in progress. <br>
+   * A new instance always replaces the previous controller, even if its tree is the same, so that its state is
+   * the one used by the next executions. <br>
+   * The commands that aren't inside the collection are unregistered.
+   */
+  public void reloadCommands(@NonNull Collection<CommandExecutor> commands) {
+    HashMap<String, CommandExecutor> previousCommands = new HashMap<>();
+    for(CommandExecutor command : registeredCommands) {
+      previousCommands.put(command.getPluginCommand().getName().toLowerCase(Locale.ENGLISH), command);
+    }
+
+    List<CommandExecutor> reloadedCommands = new ArrayList<>();
+    boolean labelsChanged = false;
+    int rebuilt = 0;
+    for(CommandExecutor command : commands) {
+      CommandNode data = command.getClass().getAnnotation(CommandNode.class);
+      CommandExecutor previous = previousCommands.remove(data.label().toLowerCase(Locale.ENGLISH));
+      if(previous == null) {
+        registerPluginCommand(command, command.build(this));
+        reloadedCommands.add(command);
+        labelsChanged = true;
+        continue;
+      }
+
+      Node root = Node.buildCommandTree(this, command);
+      if(previous == command && root.getSignature().equals(previous.getRootNode().getSignature())) {
+        reloadedCommands.add(previous);
+        continue;
+      }
+
+      PluginCommand pluginCommand = previous.getPluginCommand();
+      labelsChanged |= updateAliases(pluginCommand, Arrays.asList(data.aliases()));
+      pluginCommand.setDescription(data.description());
+      pluginCommand.setPermission(data.permission());
+      command.build(this, root, pluginCommand);
+      if(completionService != null) {
+        completionService.registerCompletions(command);
+      }
+
+      reloadedCommands.add(command);
+      rebuilt += 1;
+    }
+
+    for(CommandExecutor command : previousCommands.values()) {
+      command.unregister();
+      labelsChanged = true;
+    }
+
+    registeredCommands.clear();
+    commandsByLabel.clear();
+    for(CommandExecutor command : reloadedCommands) {
+      registeredCommands.add(command);
+      registerLabels(command, command.getPluginCommand());
+    }
+
+    if(labelsChanged) {
+      CommandMapUtils.syncCommands();
+    }
+
+    logger.log(Level.FINE, "Reloaded {0} commands, {1} rebuilt and {2} removed", new Object[] {
+            reloadedCommands.size(), rebuilt, previousCommands.size()
+    });
+  }
+
+  /**
+   * @return true if the aliases changed
+   */
+  private boolean updateAliases(PluginCommand pluginCommand, List<String> aliases) {
+    String namespace = plugin.getName().toLowerCase(Locale.ENGLISH).trim();
+    List<String> previousAliases = pluginCommand.getAliases();
+    boolean changed = false;
+    for(String alias : previousAliases) {
+      if(!aliases.contains(alias)) {
+        CommandMapUtils.unregisterAlias(namespace, alias, pluginCommand);
+        changed = true;
+      }
+    }
+
+    for(String alias : aliases) {
+      if(!previousAliases.contains(alias)) {
+        CommandMapUtils.registerAlias(namespace, alias, pluginCommand);
+        changed = true;
+      }
+    }
+
+    pluginCommand.setAliases(new ArrayList<>(aliases));
+    return changed;
+  }
+
   public void unregisterCommands() {
     for(CommandExecutor command : registeredCommands) {
       command.unregister();
     }
+
+    commandsByLabel.clear();
+  }
+
+  public BatchExecution executeBatch(@NonNull CommandSender sender, @NonNull List<String> commands) {
+    return executeBatch(sender, commands, DEFAULT_BATCH_TICK_BUDGET);
+  }
+
+  /**
+   * Executes the command lines through the registered commands, spreading them across ticks
+   *
+   * @param tickBudgetMillis the time that the batch can use every tick
+   */
+  public BatchExecution executeBatch(@NonNull CommandSender sender, @NonNull List<String> commands, long tickBudgetMillis) {
+    BatchExecution batch = new BatchExecution(this, logger, sender, commands, tickBudgetMillis);
+    batch.runTaskTimer(plugin, 0, 1);
+    return batch;
+  }
+
+  /**
+   * Executes the command lines contained inside a file of the plugin folder
+   *
+   * @see #executeBatch(CommandSender, List, long)
+   */
+  public BatchExecution executeBatch(@NonNull CommandSender sender, @NonNull String fileName, long tickBudgetMillis) throws IOException {
+    File file = new File(plugin.getDataFolder(), fileName);
+    return executeBatch(sender, Files.readAllLines(file.toPath(), StandardCharsets.UTF_8), tickBudgetMillis);
   }
 
 }
@@ -0,0 +1,243 @@
+package ml.empee.commandsManager.command;
+
+import lombok.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * The arguments of a command, either the array received from Bukkit or the tokens of a raw input line <br><br>
+ * <p>
+ * A raw line is tokenized without copying it: tokens are split on spaces, can be quoted with {@code "} or
+ * {@code '} and can contain escaped characters ({@code \"}). A quote opens a quoted token only if it's closed.
+ * Every token is exposed as a {@link CharSequence} view over the line, only escaped tokens are copied. <br>
+ * Greedy parsers can read the remaining input, with its original spacing, through {@link #getRemaining(int)}.
+ */
+public final class ArgumentLine {
+
+  private static final int[] NO_BOUNDS = new int[0];
+
+  private final CharSequence raw;
+  private final int size;
+  //Bounds of the token contents and of the raw token (quotes included), only for tokenized lines
+  private final int[] starts;
+  private final int[] ends;
+  private final int[] rawStarts;
+  private final CharSequence[] escaped;
+  private String[] tokens;
+
+  private ArgumentLine(CharSequence raw, int size, int[] starts, int[] ends, int[] rawStarts, CharSequence[] escaped, String[] tokens) {
+    this.raw = raw;
+    this.size = size;
+    this.starts = starts;
+    this.ends = ends;
+    this.rawStarts = rawStarts;
+    this.escaped = escaped;
+    this.tokens = tokens;
+  }
+
+  /**
+   * Wraps arguments that are already split
+   */
+  public static ArgumentLine of(@NonNull String... args) {
+    return new ArgumentLine(null, args.length, NO_BOUNDS, NO_BOUNDS, NO_BOUNDS, null, args);
+  }
+
+  /**
+   * Splits a raw input line into tokens, a quote that isn't closed is a plain character (e.g. {@code 'sup})
+   */
+  public static ArgumentLine tokenize(@NonNull CharSequence line) {
+    int[] starts = new int[8];
+    int[] ends = new int[8];
+    int[] rawStarts = new int[8];
+    CharSequence[] escaped = null;
+    int size = 0;
+
+    int i = 0;
+    int length = line.length();
+    while(true) {
+      while(i < length && line.charAt(i) == ' ') {
+        i++;
+      }
+
+      if(i == length) {
+        break;
+      }
+
+      if(size == starts.length) {
+        starts = Arrays.copyOf(starts, size * 2);
+        ends = Arrays.copyOf(ends, size * 2);
+        rawStarts = Arrays.copyOf(rawStarts, size * 2);
+        escaped = escaped == null ? null : Arrays.copyOf(escaped, size * 2);
+      }
+
+      rawStarts[size] = i;
+      char quote = isClosedQuote(line, i) ? line.charAt(i) : 0;
+      int start = quote != 0 ? i + 1 : i;
+      StringBuilder unescaped = null;
+
+      int end = start;
+      while(true) {
+        if(end == length) {
+          i = end;
+          break;
+        }
+
+        char c = line.charAt(end);
+        if(c == '\\' && end + 1 < length) {
+          if(unescaped == null) {
+            unescaped = new StringBuilder().append(line, start, end);
+          }
+
+          unescaped.append(line.charAt(end + 1));
+          end += 2;
+          continue;
+        }
+
+        if((quote != 0 && c == quote) || (quote == 0 && c == ' ')) {
+          i = quote != 0 ? end + 1 : end;
+          break;
+        }
+
+        if(unescaped != null) {
+          unescaped.append(c);
+        }
+
+        end++;
+      }
+
+      starts[size] = start;
+      ends[size] = end;
+      if(unescaped != null) {
+        if(escaped == null) {
+          escaped = new CharSequence[starts.length];
+        }
+
+        escaped[size] = unescaped;
+      }
+
+      size++;
+    }
+
+    return new ArgumentLine(line, size, starts, ends, rawStarts, escaped, null);
+  }
+
+  /**
+   * @return true if the char at the index is a quote closed later in the line
+   */
+  private static boolean isClosedQuote(CharSequence line, int index) {
+    char quote = line.charAt(index);
+    if(quote != '"' && quote != '\'') {
+      return false;
+    }
+
+    for(int i = index + 1; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if(c == '\\') {
+        i++;
+      } else if(c == quote) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return a view of the token, it isn't copied unless it contains escaped characters
+   */
+  public CharSequence get(int index) {
+    if(raw == null) {
+      return tokens[index];
+    } else if(escaped != null && escaped[index] != null) {
+      return escaped[index];
+    }
+
+    return new Slice(raw, starts[index], ends[index]);
+  }
+
+  /**
+   * @return a view of the raw token, quotes and escapes aren't removed
+   */
+  public CharSequence getRawToken(int index) {
+    if(raw == null) {
+      return tokens[index];
+    }
+
+    boolean quoted = rawStarts[index] != starts[index];
+    return new Slice(raw, rawStarts[index], quoted ? ends[index] + 1 : ends[index]);
+  }
+
+  /**
+   * @return the tokens as strings, they are created once and then cached
+   */
+  public String[] getTokens() {
+    if(tokens == null) {
+      String[] result = new String[size];
+      for(int i = 0; i < size; i++) {
+        result[i] = get(i).toString();
+      }
+
+      tokens = result;
+    }
+
+    return tokens;
+  }
+
+  /**
+   * @return a view of the raw input starting from the token, quotes and escapes aren't removed
+   */
+  public CharSequence getRemaining(int index) {
+    if(raw == null) {
+      return String.join(" ", Arrays.asList(tokens).subList(index, size));
+    }
+
+    return new Slice(raw, rawStarts[index], raw.length());
+  }
+
+  /**
+   * @return the whole input
+   */
+  public CharSequence getRaw() {
+    return size == 0 ? "" : getRemaining(0);
+  }
+
+  /**
+   * A zero-copy view over a portion of a char sequence
+   */
+  private static final class Slice implements CharSequence {
+    private final CharSequence source;
+    private final int start;
+    private final int end;
+
+    private Slice(CharSequence source, int start, int end) {
+      this.source = source;
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    public int length() {
+      return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+      return source.charAt(start + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      return new Slice(source, this.start + start, this.start + end);
+    }
+
+    @Override
+    public String toString() {
+      return source.subSequence(start, end).toString();
+    }
+  }
+
+}
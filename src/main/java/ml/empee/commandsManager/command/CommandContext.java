@@ -1,5 +1,6 @@
 package ml.empee.commandsManager.command;
 
+import ml.empee.commandsManager.services.ResumableTaskRunner;
 import ml.empee.commandsManager.utils.helpers.Tuple;
 import org.bukkit.command.CommandSender;
 
@@ -11,6 +12,8 @@ public final class CommandContext {
 
   private final HashMap<String, Object> arguments = new HashMap<>();
   private final CommandSender source;
+  private OutputBuffer output;
+  private ResumableTaskRunner.RunningTask runningTask;
 
   public CommandContext(CommandSender source) {
     this.source = source;
@@ -33,6 +36,42 @@ public final class CommandContext {
     }
   }
 
+  /**
+   * Clears the parsed arguments, so that the context can be reused for another execution of the same source
+   */
+  public void reset() {
+    arguments.clear();
+    runningTask = null;
+  }
+
+  /**
+   * @return the buffer of the messages sent to the source, it's flushed when the invocation ends
+   */
+  public OutputBuffer getOutput() {
+    if(output == null) {
+      output = new OutputBuffer(source);
+    }
+
+    return output;
+  }
+
+  void flushOutput() {
+    if(output != null) {
+      output.flush();
+    }
+  }
+
+  /**
+   * @return the last task started by the executed nodes, null if none of them returned a {@link ResumableTask}
+   */
+  public ResumableTaskRunner.RunningTask getRunningTask() {
+    return runningTask;
+  }
+
+  void setRunningTask(ResumableTaskRunner.RunningTask runningTask) {
+    this.runningTask = runningTask;
+  }
+
   /**
    * Gets the command source
    */
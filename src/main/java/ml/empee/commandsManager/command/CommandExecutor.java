@@ -1,82 +1,297 @@
 package ml.empee.commandsManager.command;
 
 import lombok.Getter;
-import lombok.Setter;
 import ml.empee.commandsManager.CommandManager;
 import ml.empee.commandsManager.command.annotations.CommandNode;
+import ml.empee.commandsManager.exceptions.StacklessCommandException;
+import ml.empee.commandsManager.messages.MessageKey;
+import ml.empee.commandsManager.messages.Messages;
+import ml.empee.commandsManager.parsers.AsyncParser;
 import ml.empee.commandsManager.parsers.ParameterParser;
+import ml.empee.commandsManager.services.AsyncArgumentResolver;
+import ml.empee.commandsManager.services.AuditLog;
+import ml.empee.commandsManager.services.CommandRecorder;
+import ml.empee.commandsManager.services.CommandWatchdog;
 import ml.empee.commandsManager.services.HelpMenuService;
 import ml.empee.commandsManager.utils.CommandMapUtils;
 import ml.empee.commandsManager.utils.PluginCommandUtils;
 import ml.empee.commandsManager.utils.helpers.Tuple;
-import org.bukkit.ChatColor;
 import org.bukkit.command.CommandException;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.PluginCommand;
+import org.bukkit.plugin.Plugin;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public abstract class CommandExecutor extends Controller implements org.bukkit.command.CommandExecutor {
 
-  protected static String malformedCommandMSG = "The command is missing arguments, check the help menu";
-  protected static String missingPermissionsMSG = "You haven't enough permissions";
-  protected static String runtimeErrorMSG = "Error while executing the command";
-  protected static String invalidSenderMSG = "You aren't an allowed sender type of this command";
-  @Setter
-  private static String prefix = "&4&l > ";
+  private static final String DEFAULT_PREFIX = "&4&l > ";
+  private static final MessageKey[] LEGACY_KEYS = {
+          MessageKey.MALFORMED_COMMAND, MessageKey.MISSING_PERMISSIONS, MessageKey.RUNTIME_ERROR, MessageKey.INVALID_SENDER
+  };
+
+  /**
+   * @deprecated use {@link Messages#setMessage(MessageKey, String)} with {@link MessageKey#MALFORMED_COMMAND}
+   */
+  @Deprecated
+  protected static String malformedCommandMSG = MessageKey.MALFORMED_COMMAND.getDefaultMessage();
+  /**
+   * @deprecated use {@link Messages#setMessage(MessageKey, String)} with {@link MessageKey#MISSING_PERMISSIONS}
+   */
+  @Deprecated
+  protected static String missingPermissionsMSG = MessageKey.MISSING_PERMISSIONS.getDefaultMessage();
+  /**
+   * @deprecated use {@link Messages#setMessage(MessageKey, String)} with {@link MessageKey#RUNTIME_ERROR}
+   */
+  @Deprecated
+  protected static String runtimeErrorMSG = MessageKey.RUNTIME_ERROR.getDefaultMessage();
+  /**
+   * @deprecated use {@link Messages#setMessage(MessageKey, String)} with {@link MessageKey#INVALID_SENDER}
+   */
+  @Deprecated
+  protected static String invalidSenderMSG = MessageKey.INVALID_SENDER.getDefaultMessage();
+  private static String prefix = DEFAULT_PREFIX;
+
   @Getter
   protected PluginCommand pluginCommand;
   @Getter
-  protected Node rootNode;
-  @Getter
-  protected HelpMenuService helpMenu;
+  protected volatile Node rootNode;
+  /**
+   * Built on first use, see {@link #getHelpMenu()}
+   */
+  protected volatile HelpMenuService helpMenu;
   protected Logger logger;
 
+  //The legacy messages already copied into the messages of the command manager
+  private final String[] appliedLegacyMessages = Arrays.stream(LEGACY_KEYS)
+          .map(MessageKey::getDefaultMessage)
+          .toArray(String[]::new);
+  private String appliedPrefix = DEFAULT_PREFIX;
+
+  /**
+   * @deprecated use {@link Messages#setPrefix(String)}
+   */
+  @Deprecated
+  public static void setPrefix(String prefix) {
+    CommandExecutor.prefix = prefix;
+  }
+
+  /**
+   * Executes the command, handling its errors <br>
+   * The execution is recorded and audited once it has finished, so a command with async arguments is
+   * recorded after they have been resolved and its nodes executed.
+   */
   public final boolean onCommand(CommandSender sender, org.bukkit.command.Command command, String label, String[] args) {
+    CommandRecorder recorder = rootNode.getCommandManager().getRecorder();
+    AuditLog auditLog = rootNode.getCommandManager().getAuditLog();
+    long start = recorder != null || auditLog != null ? System.nanoTime() : 0;
+    Node node = rootNode;
     try {
-      int offset = 0;
-      CommandContext context = new CommandContext(sender);
-      Node node = rootNode;
-      while(node != null) {
-        if(!node.getData().permission().isEmpty() && !sender.hasPermission(node.getData().permission())) {
-          throw new CommandException(missingPermissionsMSG);
-        }
+      ArgumentLine line = rootNode.getCommandManager().isQuotedArguments()
+              ? ArgumentLine.tokenize(String.join(" ", args)) : ArgumentLine.of(args);
+      CommandInvocation invocation = parse(sender, line);
+      node = invocation.getNode();
+      if(invocation.isPending()) {
+        Node invokedNode = node;
+        invokeWhenResolved(
+                new CommandContext(sender), invocation, outcome -> record(sender, args, invokedNode, outcome, start)
+        );
+        return true;
+      }
+
+      invoke(new CommandContext(sender), invocation);
+    } catch(CommandException exception) {
+      handleException(sender, args, exception);
+      record(sender, args, node, getOutcome(exception), start);
+      return true;
+    }
+
+    record(sender, args, node, CommandRecorder.Outcome.SUCCESS, start);
+    return true;
+  }
+
+  private void record(CommandSender sender, String[] args, Node node, CommandRecorder.Outcome outcome, long start) {
+    CommandRecorder recorder = rootNode.getCommandManager().getRecorder();
+    if(recorder != null) {
+      recorder.record(CommandRecorder.Kind.EXECUTION, sender, pluginCommand.getName(), args, outcome, System.nanoTime() - start);
+    }
+
+    AuditLog auditLog = rootNode.getCommandManager().getAuditLog();
+    if(auditLog != null) {
+      auditLog.append(pluginCommand.getName(), node.getId(), sender, args, outcome, System.nanoTime() - start);
+    }
+  }
+
+  private static CommandRecorder.Outcome getOutcome(CommandException exception) {
+    return exception.getCause() == null ? CommandRecorder.Outcome.FAILURE : CommandRecorder.Outcome.ERROR;
+  }
+
+  /**
+   * Parses and executes the command, errors aren't handled but thrown back to the caller <br><br>
+   * <p>
+   * The whole command is parsed before executing any node, so if an argument is invalid none of the
+   * traversed nodes is executed, including the intermediate nodes that aren't exit nodes.
+   *
+   * @param context the context of the execution, its source is the command sender
+   */
+  public final void dispatch(CommandContext context, String... args) throws CommandException {
+    invoke(context, parse(context.getSource(), args));
+  }
+
+  /**
+   * Executes an already parsed command, handling its errors like {@link #onCommand}
+   */
+  public final void execute(CommandInvocation invocation) {
+    try {
+      invoke(new CommandContext(invocation.getSender()), invocation);
+    } catch(CommandException exception) {
+      handleException(invocation.getSender(), invocation.getArgs(), exception);
+    }
+  }
+
+  /**
+   * Matches the arguments against the command tree, parsing the arguments of every traversed node
+   *
+   * @throws CommandException if the sender can't execute the command or the arguments are invalid
+   */
+  public final CommandInvocation parse(CommandSender sender, String... args) throws CommandException {
+    return parse(sender, ArgumentLine.of(args));
+  }
+
+  /**
+   * @see #parse(CommandSender, String...)
+   */
+  public final CommandInvocation parse(CommandSender sender, ArgumentLine line) throws CommandException {
+    List<CompletableFuture<?>> pendingArguments = new ArrayList<>();
+    try {
+      return parse(sender, line, pendingArguments);
+    } catch(RuntimeException e) {
+      //The lookups already started by the async parsers aren't needed anymore
+      for(CompletableFuture<?> pendingArgument : pendingArguments) {
+        pendingArgument.cancel(false);
+      }
+
+      throw e;
+    }
+  }
+
+  private CommandInvocation parse(CommandSender sender, ArgumentLine line, List<CompletableFuture<?>> pendingArguments) {
+    String[] args = line.getTokens();
+    List<CommandInvocation.Step> steps = new ArrayList<>();
+    int offset = 0;
+    Node node = rootNode;
+    while(true) {
+      if(!node.getData().permission().isEmpty() && !sender.hasPermission(node.getData().permission())) {
+        throw new StacklessCommandException(MessageKey.MISSING_PERMISSIONS);
+      }
 
-        ParameterParser<?>[] parsers = node.getParameterParsers();
-        List<Tuple<String, Object>> arguments = parseArguments(parsers, args, offset);
-
-        offset += parsers.length;
-        Node nextNode = node.findNextNode(args, offset);
-        if(nextNode == null) {
-          if(node.getData().exitNode()) {
-            executeNode(context, node, arguments);
-            return true;
-          } else {
-            throw new CommandException(malformedCommandMSG);
+      ParameterParser<?>[] parsers = node.getParameterParsers();
+      List<Tuple<String, Object>> arguments = parseArguments(parsers, line, offset, pendingArguments);
+
+      offset += parsers.length;
+      Node nextNode = node.findNextNode(args, offset);
+      if(nextNode == null) {
+        if(offset < args.length) {
+          List<String> similarLabels = node.findSimilarLabels(sender, args, offset);
+          if(!similarLabels.isEmpty()) {
+            throw new StacklessCommandException(MessageKey.DID_YOU_MEAN, args[offset], String.join(", ", similarLabels));
           }
-        } else if(!node.getData().exitNode()) {
-          executeNode(context, node, arguments);
         }
 
-        context.addArguments(arguments);
-        node = nextNode;
-        offset += node.getData().label().split(" ").length;
+        if(!node.getData().exitNode()) {
+          throw new StacklessCommandException(MessageKey.MALFORMED_COMMAND);
+        }
+
+        steps.add(new CommandInvocation.Step(node, arguments, true));
+        return new CommandInvocation(this, sender, line, steps);
       }
-    } catch(CommandException exception) {
-      handleException(sender, args, exception);
+
+      steps.add(new CommandInvocation.Step(node, arguments, !node.getData().exitNode()));
+      node = nextNode;
+      offset += node.getData().label().split(" ").length;
     }
+  }
 
-    return true;
+  /**
+   * Executes the nodes of an invocation, errors aren't handled but thrown back to the caller <br>
+   * The output of the context is flushed at the end, even on failure. <br><br>
+   * <p>
+   * If the invocation has async arguments, the method returns immediately and the nodes are executed once
+   * they are resolved, their errors are passed to {@link #handleException}.
+   */
+  public final void invoke(CommandContext context, CommandInvocation invocation) throws CommandException {
+    if(invocation.isPending()) {
+      invokeWhenResolved(context, invocation, outcome -> {});
+      return;
+    }
+
+    invokeSteps(context, invocation, false);
+  }
+
+  /**
+   * @param offMainThread true if the nodes are executed off the main thread, e.g. by an async node
+   */
+  private void invokeSteps(CommandContext context, CommandInvocation invocation, boolean offMainThread) throws CommandException {
+    try {
+      for(CommandInvocation.Step step : invocation.getSteps()) {
+        if(step.isExecutable()) {
+          executeNode(context, step.getNode(), step.getArguments(), invocation.getArgs(), offMainThread);
+        }
+
+        context.addArguments(step.getArguments());
+      }
+    } finally {
+      context.flushOutput();
+    }
+  }
+
+  /**
+   * @param onCompletion notified with the outcome once the nodes have been executed or the resolution has failed
+   */
+  private void invokeWhenResolved(
+          CommandContext context, CommandInvocation invocation, Consumer<CommandRecorder.Outcome> onCompletion
+  ) {
+    AsyncArgumentResolver resolver = rootNode.getCommandManager().getAsyncResolver();
+    resolver.resolve(invocation.getSender(), invocation.getPendingArguments(), error -> {
+      if(error != null) {
+        handleException(invocation.getSender(), invocation.getArgs(), error);
+        onCompletion.accept(getOutcome(error));
+        return;
+      }
+
+      CommandInvocation resolvedInvocation = invocation.resolve();
+      boolean async = resolvedInvocation.getNode().getData().async();
+      Runnable execution = () -> {
+        try {
+          invokeSteps(context, resolvedInvocation, async);
+        } catch(CommandException exception) {
+          handleException(invocation.getSender(), invocation.getArgs(), exception);
+          onCompletion.accept(getOutcome(exception));
+          return;
+        }
+
+        onCompletion.accept(CommandRecorder.Outcome.SUCCESS);
+      };
+
+      if(async) {
+        resolver.getExecutor().execute(execution);
+      } else {
+        execution.run();
+      }
+    });
   }
 
   protected void handleException(CommandSender sender, String[] args, CommandException exception) {
-    String message = exception.getMessage().replace("&r", "&c");
-    sender.sendMessage(ChatColor.translateAlternateColorCodes('&', prefix + "&c" + message));
+    sender.sendMessage(getMessages().formatError(exception));
 
     Throwable cause = exception.getCause();
     if(cause != null) {
@@ -89,11 +304,38 @@ public abstract class CommandExecutor extends Controller implements org.bukkit.c
     }
   }
 
-  private void executeNode(CommandContext context, Node node, List<Tuple<String, Object>> arguments) throws CommandException {
+  protected final Messages getMessages() {
+    Messages messages = rootNode.getCommandManager().getMessages();
+    applyLegacyMessages(messages);
+    return messages;
+  }
+
+  /**
+   * Copies the values assigned to the deprecated static messages into the messages of the command manager
+   */
+  @SuppressWarnings("deprecation")
+  private void applyLegacyMessages(Messages messages) {
+    String[] legacyMessages = {malformedCommandMSG, missingPermissionsMSG, runtimeErrorMSG, invalidSenderMSG};
+    for(int i = 0; i < legacyMessages.length; i++) {
+      if(legacyMessages[i] != appliedLegacyMessages[i]) {
+        messages.setMessage(LEGACY_KEYS[i], legacyMessages[i]);
+        appliedLegacyMessages[i] = legacyMessages[i];
+      }
+    }
+
+    if(prefix != appliedPrefix) {
+      messages.setPrefix(prefix);
+      appliedPrefix = prefix;
+    }
+  }
+
+  private void executeNode(
+          CommandContext context, Node node, List<Tuple<String, Object>> arguments, String[] tokens, boolean offMainThread
+  ) throws CommandException {
     Object[] args = new Object[arguments.size() + 1];
     args[0] = context.getSource(); //TODO: Move the sender into node execute method
     if(!node.getSenderType().isInstance(args[0])) {
-      throw new CommandException(invalidSenderMSG);
+      throw new StacklessCommandException(MessageKey.INVALID_SENDER);
     }
 
     int i = 1;
@@ -102,31 +344,77 @@ public abstract class CommandExecutor extends Controller implements org.bukkit.c
       i += 1;
     }
 
+    CommandWatchdog watchdog = rootNode.getCommandManager().getWatchdog();
+    Object result;
     try {
       addContext(context.getSource(), context);
-      node.executeNode(context, args);
+      if(watchdog == null) {
+        result = node.executeNode(context, args);
+      } else {
+        watchdog.enter(node, tokens);
+        try {
+          result = node.executeNode(context, args);
+        } finally {
+          watchdog.exit();
+        }
+      }
+
       removeContext(context.getSource());
+    } catch(CommandException e) {
+      throw e;
     } catch(Exception e) {
       if(e.getCause() instanceof CommandException) {
         throw (CommandException) e.getCause();
       }
 
-      throw new CommandException(runtimeErrorMSG, e);
+      throw new StacklessCommandException(MessageKey.RUNTIME_ERROR, e);
+    }
+
+    if(result instanceof ResumableTask) {
+      ResumableTask task = (ResumableTask) result;
+      if(offMainThread) {
+        //The task runner is stepped by the main thread
+        Plugin plugin = pluginCommand.getPlugin();
+        plugin.getServer().getScheduler().runTask(plugin, () -> submitTask(context, node, task));
+      } else {
+        submitTask(context, node, task);
+      }
     }
   }
 
-  private List<Tuple<String, Object>> parseArguments(ParameterParser<?>[] parsers, String[] args, int offset) {
+  private void submitTask(CommandContext context, Node node, ResumableTask task) {
+    context.setRunningTask(
+            rootNode.getCommandManager().getTaskRunner().submit(context.getSource(), node, task)
+    );
+  }
+
+  /**
+   * @param pendingArguments filled with the async arguments that are still being resolved
+   */
+  private List<Tuple<String, Object>> parseArguments(
+          ParameterParser<?>[] parsers, ArgumentLine line, int offset, List<CompletableFuture<?>> pendingArguments
+  ) {
     List<Tuple<String, Object>> arguments = new ArrayList<>();
 
     for(ParameterParser<?> parser : parsers) {
-      if(offset >= args.length) {
+      if(offset >= line.size()) {
         if(parser.isOptional()) {
           arguments.add(Tuple.of(parser.getLabel(), parser.getDefaultValue()));
         } else {
-          throw new CommandException(malformedCommandMSG);
+          throw new StacklessCommandException(MessageKey.MALFORMED_COMMAND);
+        }
+      } else if(parser instanceof AsyncParser) {
+        CompletableFuture<?> value = ((AsyncParser<?>) parser).parseAsync(
+                rootNode.getCommandManager().getAsyncResolver().getExecutor(), offset, line.getTokens()
+        );
+        if(value.isDone()) {
+          arguments.add(Tuple.of(parser.getLabel(), getCompletedValue(value)));
+        } else {
+          pendingArguments.add(value);
+          arguments.add(Tuple.of(parser.getLabel(), new CommandInvocation.PendingArgument(value)));
         }
       } else {
-        arguments.add(Tuple.of(parser.getLabel(), parser.parse(offset, args)));
+        arguments.add(Tuple.of(parser.getLabel(), parser.tryParse(line, offset).orElseThrow()));
       }
       offset += 1;
     }
@@ -134,16 +422,64 @@ public abstract class CommandExecutor extends Controller implements org.bukkit.c
     return arguments;
   }
 
+  //Async values already available, e.g. cached ones, don't delay the execution
+  private static Object getCompletedValue(CompletableFuture<?> value) {
+    try {
+      return value.join();
+    } catch(CompletionException | CancellationException e) {
+      Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+      if(cause instanceof CommandException) {
+        throw (CommandException) cause;
+      }
+
+      throw new StacklessCommandException(MessageKey.RUNTIME_ERROR, cause);
+    }
+  }
+
   public PluginCommand build(CommandManager commandManager) {
-    logger = commandManager.getPlugin().getLogger();
-    rootNode = Node.buildCommandTree(commandManager, this);
     //No need to check existence of the annotation, it's already done in the CommandNode
-    pluginCommand = PluginCommandUtils.of(getClass().getAnnotation(CommandNode.class), commandManager.getPlugin());
+    Node root = Node.buildCommandTree(commandManager, this);
+    return build(commandManager, root, PluginCommandUtils.of(getClass().getAnnotation(CommandNode.class), commandManager.getPlugin()));
+  }
+
+  /**
+   * Binds the command tree to a plugin command that can be already registered, replacing its executor <br>
+   * The tree is swapped atomically, executions in progress keep using the previous one.
+   */
+  public PluginCommand build(CommandManager commandManager, Node root, PluginCommand pluginCommand) {
+    logger = commandManager.getPlugin().getLogger();
+    this.pluginCommand = pluginCommand;
+    rootNode = root;
+    invalidateHelpMenu();
     pluginCommand.setExecutor(this);
-    helpMenu = new HelpMenuService(pluginCommand.getPlugin().getName(), rootNode);
     return pluginCommand;
   }
 
+  /**
+   * @return the help menu of the current command tree, it's built on first use
+   */
+  public HelpMenuService getHelpMenu() {
+    HelpMenuService menu = helpMenu;
+    if(menu == null) {
+      synchronized(this) {
+        menu = helpMenu;
+        if(menu == null) {
+          menu = new HelpMenuService(pluginCommand.getPlugin().getName(), rootNode);
+          helpMenu = menu;
+        }
+      }
+    }
+
+    return menu;
+  }
+
+  /**
+   * Discards the help menu, so that it's rebuilt from the current tree on the next use
+   */
+  public final synchronized void invalidateHelpMenu() {
+    helpMenu = null;
+  }
+
   public void unregister() {
     CommandMapUtils.unregisterCommand(pluginCommand);
   }
@@ -0,0 +1,37 @@
+package ml.empee.commandsManager.command;
+
+/**
+ * Wraps the execution of the command nodes, e.g. to audit, measure or disable them <br><br>
+ * <p>
+ * Interceptors are linked into a chain for every node when the command tree is built, an interceptor that
+ * doesn't apply to a node isn't part of its chain and costs nothing. <br>
+ * Interceptors registered on the {@link ml.empee.commandsManager.CommandManager} wrap the ones registered
+ * on the controller of the node.
+ */
+@FunctionalInterface
+public interface CommandInterceptor {
+
+  /**
+   * @param args the arguments of the node method, the first one is the sender
+   * @param next the rest of the chain, it can be skipped to prevent the execution of the node
+   * @return the value returned by the node method or a replacement of it
+   * @throws Exception thrown back to the caller, throw a {@link org.bukkit.command.CommandException} to
+   *                   send an error message to the sender
+   */
+  Object intercept(CommandContext context, Node node, Object[] args, Chain next) throws Exception;
+
+  /**
+   * Called once per node, when the command tree is built
+   *
+   * @return false to exclude the interceptor from the chain of the node
+   */
+  default boolean appliesTo(Node node) {
+    return true;
+  }
+
+  @FunctionalInterface
+  interface Chain {
+    Object proceed(CommandContext context, Object[] args) throws Exception;
+  }
+
+}
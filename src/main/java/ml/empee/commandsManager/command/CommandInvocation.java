@@ -0,0 +1,131 @@
+package ml.empee.commandsManager.command;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ml.empee.commandsManager.utils.helpers.Tuple;
+import org.bukkit.command.CommandSender;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A command already matched against the command tree, it contains the resolved nodes together with
+ * their parsed arguments and can be executed multiple times without being parsed again.
+ *
+ * @see CommandExecutor#parse(CommandSender, String...)
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public final class CommandInvocation {
+
+  private final CommandExecutor command;
+  private final CommandSender sender;
+  @Getter(AccessLevel.NONE)
+  private final ArgumentLine line;
+  private final List<Step> steps;
+
+  public String[] getArgs() {
+    return line.getTokens();
+  }
+
+  /**
+   * @return the node that terminates the invocation
+   */
+  public Node getNode() {
+    return steps.get(steps.size() - 1).getNode();
+  }
+
+  /**
+   * @return true if some arguments are still being resolved by async parsers
+   */
+  public boolean isPending() {
+    return !getPendingArguments().isEmpty();
+  }
+
+  List<CompletableFuture<?>> getPendingArguments() {
+    List<CompletableFuture<?>> pendingArguments = new ArrayList<>();
+    for(Step step : steps) {
+      for(Tuple<String, Object> argument : step.arguments) {
+        if(argument.getSecond() instanceof PendingArgument) {
+          pendingArguments.add(((PendingArgument) argument.getSecond()).future);
+        }
+      }
+    }
+
+    return pendingArguments;
+  }
+
+  /**
+   * @return a copy of the invocation with the values of the completed async arguments
+   */
+  CommandInvocation resolve() {
+    List<Step> resolvedSteps = new ArrayList<>(steps.size());
+    for(Step step : steps) {
+      List<Tuple<String, Object>> arguments = new ArrayList<>(step.arguments.size());
+      for(Tuple<String, Object> argument : step.arguments) {
+        Object value = argument.getSecond();
+        if(value instanceof PendingArgument) {
+          value = ((PendingArgument) value).future.join();
+        }
+
+        arguments.add(Tuple.of(argument.getFirst(), value));
+      }
+
+      resolvedSteps.add(new Step(step.node, arguments, step.executable));
+    }
+
+    return new CommandInvocation(command, sender, line, resolvedSteps);
+  }
+
+  /**
+   * @return true if the object is the sender or one of the parsed arguments
+   */
+  public boolean references(Object value) {
+    if(sender == value) {
+      return true;
+    }
+
+    for(Step step : steps) {
+      for(Tuple<String, Object> argument : step.arguments) {
+        if(argument.getSecond() == value) {
+          return true;
+        }
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * @return the invocation as a command line, without the leading slash
+   */
+  public String toCommandLine() {
+    String name = command.getPluginCommand().getName();
+    return line.size() == 0 ? name : name + " " + line.getRaw();
+  }
+
+  /**
+   * A node traversed by the invocation
+   */
+  @Getter
+  @RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+  public static final class Step {
+    private final Node node;
+    private final List<Tuple<String, Object>> arguments;
+    /**
+     * False when the node is traversed only to reach its children
+     */
+    private final boolean executable;
+  }
+
+  /**
+   * An argument that is being resolved by an async parser
+   */
+  @RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+  static final class PendingArgument {
+    private final CompletableFuture<?> future;
+  }
+
+}
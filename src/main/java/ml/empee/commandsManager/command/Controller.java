@@ -4,12 +4,15 @@ import org.bukkit.command.CommandSender;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public abstract class Controller {
-  private final HashMap<CommandSender, CommandContext> contexts = new HashMap<>();
+  //Concurrent, async nodes are executed off the main thread
+  private final Map<CommandSender, CommandContext> contexts = new ConcurrentHashMap<>();
   private final List<Controller> subControllers = new ArrayList<>();
+  private final List<CommandInterceptor> interceptors = new ArrayList<>();
 
   public final void addSubController(Controller controller) {
     subControllers.add(controller);
@@ -19,6 +22,17 @@ public abstract class Controller {
     return Collections.unmodifiableList(subControllers);
   }
 
+  /**
+   * Adds an interceptor to the nodes of this controller, it must be added before building the command
+   */
+  public final void addInterceptor(CommandInterceptor interceptor) {
+    interceptors.add(interceptor);
+  }
+
+  public final List<CommandInterceptor> getInterceptors() {
+    return Collections.unmodifiableList(interceptors);
+  }
+
   protected final CommandContext getContext(CommandSender sender) {
     return contexts.get(sender);
   }
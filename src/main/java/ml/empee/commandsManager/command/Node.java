@@ -7,10 +7,13 @@ import ml.empee.commandsManager.command.annotations.CommandNode;
 import ml.empee.commandsManager.command.annotations.Context;
 import ml.empee.commandsManager.parsers.ParameterParser;
 import ml.empee.commandsManager.parsers.types.greedy.GreedyParser;
+import ml.empee.commandsManager.utils.BKTree;
+import ml.empee.commandsManager.utils.helpers.Tuple;
 import org.bukkit.ChatColor;
 import org.bukkit.command.CommandSender;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
@@ -20,6 +23,8 @@ import java.util.stream.Collectors;
 @Getter
 public final class Node {
 
+  private static final int MAX_SIMILAR_LABELS = 3;
+
   private final CommandManager commandManager;
   private final Controller controller;
   private final CommandNode data;
@@ -32,6 +37,11 @@ public final class Node {
   private Node parent;
   private String id;
   private Node[] children;
+  @Getter(AccessLevel.NONE)
+  private CommandInterceptor.Chain chain;
+  //Children labels indexed by their number of words
+  @Getter(AccessLevel.NONE)
+  private BKTree<Node>[] labelIndexes;
 
   private Node(Controller controller, CommandManager commandManager) {
     this.controller = controller;
@@ -72,6 +82,12 @@ public final class Node {
     nodes.forEach(
             Node::validateNode
     );
+    nodes.forEach(
+            Node::linkInterceptors
+    );
+    if(!nodes.contains(root)) {
+      root.linkInterceptors();
+    }
 
     return root;
   }
@@ -88,6 +104,7 @@ public final class Node {
             .filter(n -> root.id.endsWith(n.data.parent().toLowerCase()))
             .toArray(Node[]::new);
 
+    root.labelIndexes = buildLabelIndexes(root.children);
     for(Node node : root.children) {
       node.parent = root;
       node.id = root.id + "." + node.data.label().toLowerCase();
@@ -95,6 +112,26 @@ public final class Node {
     }
   }
 
+  @SuppressWarnings("unchecked")
+  private static BKTree<Node>[] buildLabelIndexes(Node[] children) {
+    int maxWords = 0;
+    for(Node child : children) {
+      maxWords = Math.max(maxWords, child.data.label().split(" ").length);
+    }
+
+    BKTree<Node>[] indexes = new BKTree[maxWords + 1];
+    for(Node child : children) {
+      int words = child.data.label().split(" ").length;
+      if(indexes[words] == null) {
+        indexes[words] = new BKTree<>();
+      }
+
+      indexes[words].add(child.data.label(), child);
+    }
+
+    return indexes;
+  }
+
   private static List<Node> buildCommandNodes(CommandManager commandManager, Controller controller) {
     List<Node> nodes = new ArrayList<>();
 
@@ -178,7 +215,7 @@ public final class Node {
 
   private void validateGreedyParsers() {
     for(int i = 0; i < parameterParsers.length; i++) {
-      if(parameterParsers[i] instanceof GreedyParser) {
+      if(parameterParsers[i] instanceof GreedyParser && ((GreedyParser) parameterParsers[i]).isGreedy()) {
         if(i != parameterParsers.length - 1) {
           throw new IllegalArgumentException(
                   "The greedy parser must be the last one inside the node " + data.label()
@@ -221,11 +258,48 @@ public final class Node {
     }
   }
 
-  public void executeNode(CommandContext context, Object... args) throws InvocationTargetException, IllegalAccessException {
+  private void linkInterceptors() {
+    chain = this::invokeExecutor;
+    if(executor == null) {
+      return;
+    }
+
+    List<CommandInterceptor> interceptors = new ArrayList<>(commandManager.getInterceptors());
+    interceptors.addAll(controller.getInterceptors());
+    interceptors.add(commandManager.getCommandCache());
+    for(int i = interceptors.size() - 1; i >= 0; i--) {
+      CommandInterceptor interceptor = interceptors.get(i);
+      if(interceptor.appliesTo(this)) {
+        chain = linkInterceptor(interceptor, chain);
+      }
+    }
+  }
+
+  private CommandInterceptor.Chain linkInterceptor(CommandInterceptor interceptor, CommandInterceptor.Chain next) {
+    return (context, args) -> interceptor.intercept(context, this, args, next);
+  }
+
+  /**
+   * @return the annotation of the node method or null if it's not present
+   */
+  @Nullable
+  public <T extends Annotation> T getAnnotation(Class<T> type) {
+    return executor == null ? null : executor.getAnnotation(type);
+  }
+
+  /**
+   * Executes the node method through the interceptors of the node
+   *
+   * @return the value returned by the node method, e.g. a {@link ResumableTask}
+   */
+  public Object executeNode(CommandContext context, Object... args) throws Exception {
+    return chain.proceed(context, args);
+  }
+
+  private Object invokeExecutor(CommandContext context, Object[] args) throws InvocationTargetException, IllegalAccessException {
     if(executor != null) {
       if(parameters.length == args.length) {
-        executor.invoke(controller, args);
-        return;
+        return executor.invoke(controller, args);
       }
 
       Object[] arguments = new Object[parameters.length];
@@ -244,7 +318,71 @@ public final class Node {
         }
       }
 
-      executor.invoke(controller, arguments);
+      return executor.invoke(controller, arguments);
+    }
+
+    return null;
+  }
+
+  /**
+   * @return the labels of the children that are similar to the arguments and that the sender can use,
+   * sorted from the most similar
+   */
+  public List<String> findSimilarLabels(CommandSender sender, String[] args, int offset) {
+    List<Tuple<Integer, Node>> matches = new ArrayList<>();
+    for(int words = 1; words < labelIndexes.length && offset + words <= args.length; words++) {
+      if(labelIndexes[words] != null) {
+        String query = String.join(" ", Arrays.asList(args).subList(offset, offset + words));
+        matches.addAll(labelIndexes[words].search(query, BKTree.maxDistance(query)));
+      }
+    }
+
+    matches.sort(Comparator.comparingInt(Tuple::getFirst));
+    List<String> labels = new ArrayList<>();
+    for(Tuple<Integer, Node> match : matches) {
+      String permission = match.getSecond().data.permission();
+      if(permission.isEmpty() || sender.hasPermission(permission)) {
+        labels.add(match.getSecond().data.label());
+        if(labels.size() == MAX_SIMILAR_LABELS) {
+          break;
+        }
+      }
+    }
+
+    return labels;
+  }
+
+  /**
+   * @return a description of the subtree structure, trees with the same signature accept the same commands <br><br>
+   * <p>
+   * It contains the annotations of the nodes, of their parameters and the configuration of their parsers.
+   * The body of the node methods isn't part of it, a changed body is loaded only with a new class.
+   */
+  public String getSignature() {
+    StringBuilder signature = new StringBuilder();
+    appendSignature(signature);
+    return signature.toString();
+  }
+
+  private void appendSignature(StringBuilder signature) {
+    signature.append(id).append('|').append(controller.getClass().getName());
+    if(executor == null) {
+      signature.append('|').append(Arrays.toString(controller.getClass().getAnnotations()));
+    } else {
+      signature.append('|').append(executor.toGenericString())
+              .append('|').append(Arrays.toString(executor.getAnnotations()))
+              .append('|').append(Arrays.deepToString(executor.getParameterAnnotations()));
+    }
+
+    for(ParameterParser<?> parser : parameterParsers) {
+      signature.append('|').append(parser.getClass().getName()).append(':').append(parser.getLabel())
+              .append(':').append(parser.isOptional())
+              .append(':').append(parser.getDescriptionBuilder().getDescription());
+    }
+
+    signature.append('\n');
+    for(Node child : children) {
+      child.appendSignature(signature);
     }
   }
 
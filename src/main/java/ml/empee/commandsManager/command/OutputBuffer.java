@@ -0,0 +1,125 @@
+package ml.empee.commandsManager.command;
+
+import lombok.NonNull;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.TextComponent;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Collects the lines sent to a sender during a command invocation, so that they are sent with the minimum
+ * number of chat packets when it's flushed <br><br>
+ * <p>
+ * Players receive the lines joined into multi-line components, other senders receive a single
+ * legacy string.
+ */
+public final class OutputBuffer {
+
+  //Limit of the plain text of a packet, the serialized json is larger but far below the protocol limit
+  private static final int MAX_PACKET_LENGTH = 4096;
+  private static final BaseComponent[] NEW_LINE = TextComponent.fromLegacyText("\n");
+
+  private final CommandSender target;
+  //Each line is either a legacy string or an array of components
+  private final List<Object> lines = new ArrayList<>();
+
+  public OutputBuffer(@NonNull CommandSender target) {
+    this.target = target;
+  }
+
+  public void send(@NonNull String message) {
+    lines.add(message);
+  }
+
+  public void send(@NonNull BaseComponent... components) {
+    lines.add(components);
+  }
+
+  public int size() {
+    return lines.size();
+  }
+
+  /**
+   * @return the lines added after the given number of lines, each one is a string or a component array
+   */
+  public Object[] copyLines(int from) {
+    return lines.subList(from, lines.size()).toArray();
+  }
+
+  /**
+   * Adds lines previously copied through {@link #copyLines(int)}
+   */
+  public void sendLines(@NonNull Object[] lines) {
+    this.lines.addAll(Arrays.asList(lines));
+  }
+
+  public void flush() {
+    if(lines.isEmpty()) {
+      return;
+    }
+
+    if(target instanceof Player) {
+      flushComponents((Player) target);
+    } else {
+      StringBuilder message = new StringBuilder();
+      for(Object line : lines) {
+        if(message.length() > 0) {
+          message.append('\n');
+        }
+
+        message.append(line instanceof String ? (String) line : BaseComponent.toLegacyText((BaseComponent[]) line));
+      }
+
+      target.sendMessage(message.toString());
+    }
+
+    lines.clear();
+  }
+
+  private void flushComponents(Player player) {
+    List<BaseComponent> packet = new ArrayList<>();
+    Object firstLine = null;
+    int packetLines = 0;
+    int packetLength = 0;
+    for(Object line : lines) {
+      BaseComponent[] components = line instanceof String
+              ? TextComponent.fromLegacyText((String) line) : (BaseComponent[]) line;
+      int length = 0;
+      for(BaseComponent component : components) {
+        length += component.toPlainText().length();
+      }
+
+      if(packetLines > 0 && packetLength + length > MAX_PACKET_LENGTH) {
+        sendPacket(player, packet, firstLine, packetLines);
+        packet.clear();
+        packetLines = 0;
+        packetLength = 0;
+      }
+
+      if(packetLines == 0) {
+        firstLine = line;
+      } else {
+        packet.addAll(Arrays.asList(NEW_LINE));
+      }
+
+      packet.addAll(Arrays.asList(components));
+      packetLines += 1;
+      packetLength += length + 1;
+    }
+
+    sendPacket(player, packet, firstLine, packetLines);
+  }
+
+  private static void sendPacket(Player player, List<BaseComponent> packet, Object firstLine, int packetLines) {
+    if(packetLines == 1 && firstLine instanceof String) {
+      player.sendMessage((String) firstLine);
+    } else {
+      player.spigot().sendMessage(packet.toArray(new BaseComponent[0]));
+    }
+  }
+
+}
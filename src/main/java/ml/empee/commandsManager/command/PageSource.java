@@ -0,0 +1,90 @@
+package ml.empee.commandsManager.command;
+
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A lazy source of the rows shown by the {@link ml.empee.commandsManager.services.PaginationService} <br><br>
+ * <p>
+ * Only the rows of the requested page are fetched, so a source can be backed by a query or a cursor
+ * instead of a complete list.
+ */
+@FunctionalInterface
+public interface PageSource {
+
+  /**
+   * @return at most limit rows starting from the offset, fewer if the source ends before
+   */
+  List<String> getRows(int offset, int limit);
+
+  /**
+   * @return the total number of rows or a negative number if unknown
+   */
+  default int size() {
+    return -1;
+  }
+
+  static PageSource of(@NonNull List<String> rows) {
+    return new PageSource() {
+      @Override
+      public List<String> getRows(int offset, int limit) {
+        if(offset >= rows.size()) {
+          return Collections.emptyList();
+        }
+
+        return rows.subList(offset, Math.min(rows.size(), offset + limit));
+      }
+
+      @Override
+      public int size() {
+        return rows.size();
+      }
+    };
+  }
+
+  /**
+   * Creates a source that walks an iterator, the iterator is kept between the pages so that reading the
+   * pages in order never skips rows. Going back to a previous page restarts it from a new iterator.
+   */
+  static PageSource of(@NonNull Supplier<? extends Iterator<String>> iterators) {
+    return new PageSource() {
+      private Iterator<String> iterator;
+      private int position;
+      //The rows returned by the last call, pages that overlap them don't restart the iterator
+      private List<String> lastRows = Collections.emptyList();
+      private int lastOffset;
+
+      @Override
+      public List<String> getRows(int offset, int limit) {
+        List<String> rows = new ArrayList<>(limit);
+        if(iterator != null && offset >= lastOffset && offset < lastOffset + lastRows.size()) {
+          int start = offset - lastOffset;
+          rows.addAll(lastRows.subList(start, Math.min(lastRows.size(), start + limit)));
+        } else if(iterator == null || offset < position) {
+          iterator = iterators.get();
+          position = 0;
+        }
+
+        while(position < offset && iterator.hasNext()) {
+          iterator.next();
+          position += 1;
+        }
+
+        while(rows.size() < limit && iterator.hasNext()) {
+          rows.add(iterator.next());
+          position += 1;
+        }
+
+        lastRows = rows;
+        lastOffset = offset;
+        return rows;
+      }
+    };
+  }
+
+}
@@ -0,0 +1,73 @@
+package ml.empee.commandsManager.command;
+
+import lombok.NonNull;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * A unit of work that can be returned by a command node to be executed across ticks <br><br>
+ * <p>
+ * The task is executed on the server thread, one step at a time, until the tick budget of the
+ * framework is spent. Every step should take a small fraction of a millisecond.
+ */
+@FunctionalInterface
+public interface ResumableTask {
+
+  /**
+   * Executes the next step of the task
+   *
+   * @return false if the task is completed
+   */
+  boolean step();
+
+  /**
+   * @return the completed percentage, between 0 and 100, or a negative number if unknown
+   */
+  default double getProgress() {
+    return -1;
+  }
+
+  /**
+   * Creates a task that consumes an element every step
+   */
+  static <T> ResumableTask forEach(@NonNull Collection<T> elements, @NonNull Consumer<? super T> action) {
+    Iterator<T> iterator = elements.iterator();
+    int size = elements.size();
+    return new ResumableTask() {
+      private int consumed;
+
+      @Override
+      public boolean step() {
+        if(!iterator.hasNext()) {
+          return false;
+        }
+
+        action.accept(iterator.next());
+        consumed += 1;
+        return iterator.hasNext();
+      }
+
+      @Override
+      public double getProgress() {
+        return size == 0 ? 100 : consumed * 100.0 / size;
+      }
+    };
+  }
+
+  /**
+   * Creates a task that consumes an element every step, the progress is unknown
+   */
+  static <T> ResumableTask forEach(@NonNull Iterator<T> iterator, @NonNull Consumer<? super T> action) {
+    return () -> {
+      if(!iterator.hasNext()) {
+        return false;
+      }
+
+      action.accept(iterator.next());
+      return iterator.hasNext();
+    };
+  }
+
+}
@@ -0,0 +1,40 @@
+package ml.empee.commandsManager.command.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the messages sent by a read-only command node, executions with the same arguments replay them
+ * instead of invoking the node until they expire <br><br>
+ * <p>
+ * Only the messages sent through the sender {@code sendMessage} methods or the context output are cached,
+ * the node shouldn't have other effects. Executions that send messages through {@code Player.spigot()}
+ * aren't cached.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD})
+public @interface Cacheable {
+
+  /**
+   * The name of the cache, used to invalidate it, by default it's the node id
+   */
+  String value() default "";
+
+  long ttl() default 60;
+
+  TimeUnit unit() default TimeUnit.SECONDS;
+
+  /**
+   * The maximum number of cached executions, the least recently used ones are evicted first
+   */
+  int maxSize() default 256;
+
+  /**
+   * If true, the executions of different senders are cached separately
+   */
+  boolean perSender() default false;
+
+}
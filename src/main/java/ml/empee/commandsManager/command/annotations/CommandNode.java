@@ -25,4 +25,10 @@ public @interface CommandNode {
    */
   boolean exitNode() default true;
 
+  /**
+   * If true, a node with async parameters is executed off the main thread once they are resolved <br>
+   * A {@link ml.empee.commandsManager.command.ResumableTask} returned by the node is started on the main thread.
+   */
+  boolean async() default false;
+
 }
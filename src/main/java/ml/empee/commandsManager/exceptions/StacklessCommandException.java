@@ -0,0 +1,63 @@
+package ml.empee.commandsManager.exceptions;
+
+import lombok.Getter;
+import ml.empee.commandsManager.messages.MessageKey;
+import ml.empee.commandsManager.messages.Messages;
+import org.bukkit.command.CommandException;
+
+/**
+ * A {@link CommandException} that only carries a message back to the command sender. <br>
+ * It doesn't capture a stack trace, since it's thrown for every rejected command.
+ * <br><br>
+ * When built from a {@link MessageKey} the message is rendered only if requested, using the
+ * messages of the command manager that handles the exception.
+ */
+@Getter
+public class StacklessCommandException extends CommandException {
+
+  private static final Object[] NO_ARGS = new Object[0];
+
+  private final MessageKey messageKey;
+  private final Object[] messageArgs;
+
+  public StacklessCommandException(String message) {
+    this(message, null);
+  }
+
+  public StacklessCommandException(String message, Throwable cause) {
+    super(message, cause);
+    this.messageKey = null;
+    this.messageArgs = NO_ARGS;
+  }
+
+  public StacklessCommandException(MessageKey messageKey, Object... messageArgs) {
+    super(null);
+    this.messageKey = messageKey;
+    this.messageArgs = messageArgs;
+  }
+
+  public StacklessCommandException(MessageKey messageKey, Throwable cause) {
+    super(null, cause);
+    this.messageKey = messageKey;
+    this.messageArgs = NO_ARGS;
+  }
+
+  /**
+   * @return the message rendered with the default messages, use {@link Messages#format(CommandException)} to
+   * render it with the messages of a command manager
+   */
+  @Override
+  public String getMessage() {
+    if(messageKey != null) {
+      return messageKey.getDefaultTemplate().render(messageArgs);
+    }
+
+    return super.getMessage();
+  }
+
+  @Override
+  public synchronized Throwable fillInStackTrace() {
+    return this;
+  }
+
+}
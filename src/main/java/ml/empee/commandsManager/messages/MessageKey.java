@@ -0,0 +1,57 @@
+package ml.empee.commandsManager.messages;
+
+import lombok.Getter;
+
+/**
+ * The messages sent by the framework, each one can be overridden through {@link Messages} <br><br>
+ * <p>
+ * The {@link #arguments} are the placeholders (e.g. {@code %value%}) that the message can use.
+ */
+@Getter
+public enum MessageKey {
+
+  MALFORMED_COMMAND("The command is missing arguments, check the help menu"),
+  MISSING_PERMISSIONS("You haven't enough permissions"),
+  RUNTIME_ERROR("Error while executing the command"),
+  ASYNC_TIMEOUT("The command took too long to complete"),
+  INVALID_SENDER("You aren't an allowed sender type of this command"),
+  INVALID_PAGE("The page number is invalid"),
+
+  INVALID_INTEGER("The value &e%value%&r must be an integer", "value"),
+  INVALID_NUMBER("The number &e%value%&r isn't valid", "value"),
+  LOWER_THAN_MIN("&e%value%&r must be equal or greater then &e%limit%", "value", "limit"),
+  GREATER_THAN_MAX("&e%value%&r must be equal or lower then &e%limit%", "value", "limit"),
+  INVALID_VALUE("The value &e%value%&r isn't valid", "value"),
+  INVALID_COLOR("The color &e%value%&r isn't valid", "value"),
+  INVALID_MATERIAL("The value &e%value%&r must be a material", "value"),
+  INVALID_BLOCK("The value &e%value%&r must be a block", "value"),
+  OFFLINE_PLAYER("The player &e%value%&r isn't online", "value"),
+  TOO_FEW_ELEMENTS("You must specify at least &e%limit%&r values, found &e%value%", "value", "limit"),
+  TOO_MANY_ELEMENTS("You can't specify more than &e%limit%&r values, found &e%value%", "value", "limit"),
+  DID_YOU_MEAN("&e%value%&r isn't valid, did you mean &e%suggestions%&r?", "value", "suggestions"),
+  UNKNOWN_FLAG("The flag &e%flag%&r doesn't exist", "flag"),
+  DUPLICATED_FLAG("The flag &e%flag%&r has been specified more than once", "flag"),
+  MISSING_FLAG_VALUE("The flag &e%flag%&r needs a value", "flag"),
+  INVALID_UUID("The value &e%value%&r must be an UUID", "value"),
+  UNKNOWN_COMMAND("The command &e%label%&r doesn't exist", "label"),
+
+  BATCH_PROGRESS("&7Batch progress: &e%executed%&7/&e%total% &7commands, &c%failed% &7failed", "executed", "total", "failed"),
+  BATCH_SUMMARY("&aBatch completed: &e%executed% &acommands in &e%time%ms&a, &c%failed% &afailed", "executed", "time", "failed"),
+  BATCH_FAILURE(" &c#%line% &7%command% &8- &f%error%", "line", "command", "error"),
+  TASK_PROGRESS("&7Task &e%node%&7 progress: &e%progress%%", "node", "progress"),
+  TASK_COMPLETED("&aTask &e%node% &acompleted in &e%time%ms", "node", "time"),
+  TASK_CANCELLED("&cTask &e%node% &chas been cancelled", "node"),
+  PAGE_FOOTER("\n &7Page &e%page% &7of &e%pages%", "page", "pages"),
+  NO_ACTIVE_PAGES("There isn't any page to navigate");
+
+  private final String defaultMessage;
+  private final String[] arguments;
+  private final MessageTemplate defaultTemplate;
+
+  MessageKey(String defaultMessage, String... arguments) {
+    this.defaultMessage = defaultMessage;
+    this.arguments = arguments;
+    this.defaultTemplate = MessageTemplate.compile(defaultMessage, arguments);
+  }
+
+}
@@ -0,0 +1,117 @@
+package ml.empee.commandsManager.messages;
+
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.TextComponent;
+import org.bukkit.ChatColor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A message parsed once into literal segments, with the color codes already translated, and
+ * {@code %placeholder%} slots <br><br>
+ * <p>
+ * Only the placeholders listed when compiling the template are replaced, the arguments of
+ * {@link #render(Object...)} follow the same order. <br>
+ * Templates without placeholders cache both their legacy text and their components.
+ */
+public final class MessageTemplate {
+
+  private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(128));
+
+  private final String[] literals;
+  private final int[] arguments;
+  private final String legacy;
+  private BaseComponent[] components;
+
+  private MessageTemplate(String[] literals, int[] arguments) {
+    this.literals = literals;
+    this.arguments = arguments;
+    this.legacy = arguments.length == 0 ? literals[0] : null;
+  }
+
+  public static MessageTemplate compile(String source, String... argumentNames) {
+    List<String> names = Arrays.asList(argumentNames);
+    List<String> literals = new ArrayList<>();
+    List<Integer> arguments = new ArrayList<>();
+
+    StringBuilder literal = new StringBuilder();
+    int i = 0;
+    while(i < source.length()) {
+      int end = source.charAt(i) == '%' ? source.indexOf('%', i + 1) : -1;
+      int argument = end != -1 ? names.indexOf(source.substring(i + 1, end)) : -1;
+      if(argument == -1) {
+        literal.append(source.charAt(i));
+        i += 1;
+        continue;
+      }
+
+      literals.add(translate(literal));
+      arguments.add(argument);
+      literal.setLength(0);
+      i = end + 1;
+    }
+
+    literals.add(translate(literal));
+    return new MessageTemplate(
+            literals.toArray(new String[0]),
+            arguments.stream().mapToInt(Integer::intValue).toArray()
+    );
+  }
+
+  private static String translate(CharSequence literal) {
+    return ChatColor.translateAlternateColorCodes('&', literal.toString());
+  }
+
+  /**
+   * @return a builder owned by the current thread, cleared and ready to be used
+   */
+  static StringBuilder reusableBuilder() {
+    StringBuilder builder = BUILDER.get();
+    builder.setLength(0);
+    return builder;
+  }
+
+  public boolean hasPlaceholders() {
+    return legacy == null;
+  }
+
+  public String render(Object... args) {
+    if(legacy != null) {
+      return legacy;
+    }
+
+    return renderTo(reusableBuilder(), args).toString();
+  }
+
+  public StringBuilder renderTo(StringBuilder builder, Object... args) {
+    builder.append(literals[0]);
+    for(int i = 0; i < arguments.length; i++) {
+      if(arguments[i] < args.length) {
+        builder.append(args[arguments[i]]);
+      }
+
+      builder.append(literals[i + 1]);
+    }
+
+    return builder;
+  }
+
+  /**
+   * @return the rendered message as components, templates without placeholders return
+   * always the same (cached) array that must not be modified.
+   */
+  public BaseComponent[] toComponents(Object... args) {
+    if(legacy == null) {
+      return TextComponent.fromLegacyText(render(args));
+    }
+
+    if(components == null) {
+      components = TextComponent.fromLegacyText(legacy);
+    }
+
+    return components;
+  }
+
+}
@@ -0,0 +1,136 @@
+package ml.empee.commandsManager.messages;
+
+import lombok.NonNull;
+import ml.empee.commandsManager.exceptions.StacklessCommandException;
+import org.bukkit.command.CommandException;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The messages used by a command manager, overriding a message compiles it once, so that
+ * sending it only requires the placeholders replacement. <br><br>
+ * <p>
+ * Every message is available both as it is ({@link #format(MessageKey, Object...)}) and as an error
+ * ({@link #formatError(MessageKey, Object...)}), errors are compiled together with the
+ * {@link #setPrefix(String) prefix} and with the reset code (&r) replaced by the error color. <br>
+ * The compiled maps are replaced on every change, so that they can be read without locking.
+ */
+public final class Messages {
+
+  private static final String ERROR_COLOR = "&c";
+  private static final int MAX_CACHED_ERRORS = 256;
+
+  private volatile Map<MessageKey, String> messages = new EnumMap<>(MessageKey.class);
+  private volatile Map<MessageKey, MessageTemplate> templates = new EnumMap<>(MessageKey.class);
+  private volatile Map<MessageKey, MessageTemplate> errors;
+  private final Map<String, MessageTemplate> customErrors = new ConcurrentHashMap<>();
+  private volatile String prefix = "&4&l > ";
+
+  public Messages() {
+    for(MessageKey key : MessageKey.values()) {
+      messages.put(key, key.getDefaultMessage());
+      templates.put(key, key.getDefaultTemplate());
+    }
+
+    errors = compileErrors(messages);
+  }
+
+  public synchronized void setPrefix(@NonNull String prefix) {
+    this.prefix = prefix;
+    customErrors.clear();
+    errors = compileErrors(messages);
+  }
+
+  public String getPrefix() {
+    return prefix;
+  }
+
+  public synchronized void setMessage(@NonNull MessageKey key, @NonNull String message) {
+    Map<MessageKey, String> messages = new EnumMap<>(this.messages);
+    Map<MessageKey, MessageTemplate> templates = new EnumMap<>(this.templates);
+    Map<MessageKey, MessageTemplate> errors = new EnumMap<>(this.errors);
+    messages.put(key, message);
+    templates.put(key, MessageTemplate.compile(message, key.getArguments()));
+    errors.put(key, compileError(message, key.getArguments()));
+
+    this.messages = messages;
+    this.templates = templates;
+    this.errors = errors;
+  }
+
+  public String getMessage(MessageKey key) {
+    return messages.get(key);
+  }
+
+  private Map<MessageKey, MessageTemplate> compileErrors(Map<MessageKey, String> messages) {
+    Map<MessageKey, MessageTemplate> errors = new EnumMap<>(MessageKey.class);
+    for(Map.Entry<MessageKey, String> message : messages.entrySet()) {
+      errors.put(message.getKey(), compileError(message.getValue(), message.getKey().getArguments()));
+    }
+
+    return errors;
+  }
+
+  private MessageTemplate compileError(String message, String... arguments) {
+    return MessageTemplate.compile(prefix + ERROR_COLOR + message.replace("&r", ERROR_COLOR), arguments);
+  }
+
+  public MessageTemplate getTemplate(MessageKey key) {
+    return templates.get(key);
+  }
+
+  public String format(MessageKey key, Object... args) {
+    return templates.get(key).render(args);
+  }
+
+  public MessageTemplate getError(MessageKey key) {
+    return errors.get(key);
+  }
+
+  public String formatError(MessageKey key, Object... args) {
+    return errors.get(key).render(args);
+  }
+
+  /**
+   * Formats the message of an exception without the error prefix, e.g. to log it
+   */
+  public String format(CommandException exception) {
+    if(exception instanceof StacklessCommandException) {
+      StacklessCommandException error = (StacklessCommandException) exception;
+      if(error.getMessageKey() != null) {
+        return format(error.getMessageKey(), error.getMessageArgs());
+      }
+    }
+
+    return String.valueOf(exception.getMessage());
+  }
+
+  /**
+   * Formats the message of an exception thrown while executing a command, messages that aren't
+   * part of the framework are compiled once and then cached
+   */
+  public String formatError(CommandException exception) {
+    if(exception instanceof StacklessCommandException) {
+      StacklessCommandException error = (StacklessCommandException) exception;
+      if(error.getMessageKey() != null) {
+        return formatError(error.getMessageKey(), error.getMessageArgs());
+      }
+    }
+
+    String message = String.valueOf(exception.getMessage());
+    MessageTemplate template = customErrors.get(message);
+    if(template == null) {
+      if(customErrors.size() >= MAX_CACHED_ERRORS) {
+        customErrors.clear();
+      }
+
+      template = compileError(message);
+      customErrors.put(message, template);
+    }
+
+    return template.render();
+  }
+
+}
@@ -0,0 +1,24 @@
+package ml.empee.commandsManager.parsers;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * A parser whose value is resolved off the main thread, e.g. through a database query <br><br>
+ * <p>
+ * It must be implemented by a {@link ParameterParser}, whose synchronous parse is still used for the default
+ * value. The async parameters of a command are resolved concurrently, the node is executed once all of
+ * them are completed. <br>
+ * The returned future is cancelled when its value isn't needed anymore, e.g. another argument of the command
+ * is invalid, so the parser can skip the lookup.
+ */
+public interface AsyncParser<T> {
+
+  /**
+   * @param executor an executor that runs the tasks off the main thread
+   * @return the parsed value, complete it exceptionally with a {@link org.bukkit.command.CommandException}
+   * to send an error message to the sender
+   */
+  CompletableFuture<T> parseAsync(Executor executor, int offset, String... args);
+
+}
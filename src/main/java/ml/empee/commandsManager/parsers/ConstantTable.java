@@ -0,0 +1,127 @@
+package ml.empee.commandsManager.parsers;
+
+import ml.empee.commandsManager.parsers.types.annotations.EnumAlias;
+import ml.empee.commandsManager.utils.BKTree;
+import ml.empee.commandsManager.utils.CaseInsensitiveIndex;
+import ml.empee.commandsManager.utils.helpers.Tuple;
+import org.bukkit.Material;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * An immutable table of enum constants, shared by every parser of the same type and filter <br><br>
+ * <p>
+ * Tables are created once for every (type, filter) pair and used both to parse the constants and to suggest
+ * them. Constants are looked up by their case-insensitive name or by one of their {@link EnumAlias aliases}
+ * through an open-addressed table, without allocating.
+ */
+public final class ConstantTable<T extends Enum<T>> {
+
+  //Tables by type and filter id, keyed by the class so that types with the same name don't share a table
+  private static final ConcurrentHashMap<Class<?>, ConcurrentHashMap<String, ConstantTable<?>>> TABLES =
+          new ConcurrentHashMap<>();
+
+  private final CaseInsensitiveIndex<T> constants;
+  private final List<String> names;
+  private volatile BKTree<String> similarNames;
+
+  private ConstantTable(Class<T> type, Predicate<T> filter) {
+    List<T> filteredConstants = new ArrayList<>();
+    List<String> names = new ArrayList<>();
+    int keys = 0;
+    for(T constant : type.getEnumConstants()) {
+      if(filter.test(constant)) {
+        filteredConstants.add(constant);
+        names.add(constant.name());
+        keys += 1 + getAliases(type, constant).length;
+      }
+    }
+
+    constants = new CaseInsensitiveIndex<>(keys);
+    for(T constant : filteredConstants) {
+      constants.put(constant.name(), constant);
+    }
+
+    //Aliases are added after the names, so that a name always wins against an alias
+    for(T constant : filteredConstants) {
+      for(String alias : getAliases(type, constant)) {
+        constants.put(alias, constant);
+      }
+    }
+
+    this.names = Collections.unmodifiableList(names);
+  }
+
+  private static <T extends Enum<T>> String[] getAliases(Class<T> type, T constant) {
+    try {
+      EnumAlias aliases = type.getField(constant.name()).getAnnotation(EnumAlias.class);
+      return aliases == null ? new String[0] : aliases.value();
+    } catch(NoSuchFieldException e) {
+      return new String[0];
+    }
+  }
+
+  public static <T extends Enum<T>> ConstantTable<T> of(Class<T> type) {
+    return of(type, "all", c -> true);
+  }
+
+  /**
+   * @param filterId identifies the filter among the filters of the same type
+   */
+  @SuppressWarnings("unchecked")
+  public static <T extends Enum<T>> ConstantTable<T> of(Class<T> type, String filterId, Predicate<T> filter) {
+    return (ConstantTable<T>) TABLES.computeIfAbsent(type, k -> new ConcurrentHashMap<>())
+            .computeIfAbsent(filterId, k -> new ConstantTable<>(type, filter));
+  }
+
+  /**
+   * @return the table of every material or only of the blocks, parsers should keep it instead of looking it up
+   */
+  public static ConstantTable<Material> ofMaterials(boolean onlyBlocks) {
+    return onlyBlocks ? of(Material.class, "blocks", Material::isBlock) : of(Material.class);
+  }
+
+  /**
+   * @return the constant with the given case-insensitive name or alias, null if it doesn't exist
+   */
+  public T get(String name) {
+    return constants.get(name);
+  }
+
+  /**
+   * @return the immutable list of the constant names
+   */
+  public List<String> getNames() {
+    return names;
+  }
+
+  /**
+   * @return the names most similar to the given one, the index is built on first use
+   */
+  public List<String> findSimilar(String name, int limit) {
+    BKTree<String> tree = similarNames;
+    if(tree == null) {
+      BKTree<String> index = new BKTree<>();
+      constants.forEach((key, constant) -> index.add(key, constant.name()));
+      tree = index;
+
+      similarNames = tree;
+    }
+
+    List<String> similar = new ArrayList<>(limit);
+    for(Tuple<Integer, String> match : tree.search(name, BKTree.maxDistance(name))) {
+      if(similar.size() == limit) {
+        break;
+      } else if(!similar.contains(match.getSecond())) {
+        similar.add(match.getSecond());
+      }
+    }
+
+    return similar;
+  }
+
+}
@@ -5,6 +5,9 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import ml.empee.commandsManager.command.ArgumentLine;
+import ml.empee.commandsManager.exceptions.StacklessCommandException;
+import org.bukkit.command.CommandException;
 import org.bukkit.command.CommandSender;
 
 import java.util.ArrayList;
@@ -52,6 +55,35 @@ public abstract class ParameterParser<T> {
 
   public abstract T parse(int offset, String... args);
 
+  /**
+   * Parses the argument without using exceptions to report an invalid value <br><br>
+   * <p>
+   * The default implementation wraps {@link #parse(int, String...)}, parsers that are able to
+   * validate their input should override it.
+   */
+  public ParseResult<T> tryParse(int offset, String... args) {
+    try {
+      return ParseResult.success(parse(offset, args));
+    } catch(StacklessCommandException e) {
+      if(e.getMessageKey() != null) {
+        return ParseResult.failure(e.getMessageKey(), e.getMessageArgs());
+      }
+
+      return ParseResult.failure(e.getMessage());
+    } catch(CommandException e) {
+      return ParseResult.failure(e.getMessage());
+    }
+  }
+
+  /**
+   * Parses the argument from the arguments line, greedy parsers can override it to read the
+   * raw remaining input. <br>
+   * The default implementation uses {@link #tryParse(int, String...)} over the line tokens.
+   */
+  public ParseResult<T> tryParse(ArgumentLine line, int index) {
+    return tryParse(index, line.getTokens());
+  }
+
   public final List<String> getSuggestions(CommandSender source, int offset, String[] args) {
     List<String> suggestions = buildSuggestions(source, offset, args);
 
@@ -0,0 +1,98 @@
+package ml.empee.commandsManager.parsers;
+
+import ml.empee.commandsManager.exceptions.StacklessCommandException;
+import ml.empee.commandsManager.messages.MessageKey;
+import ml.empee.commandsManager.messages.Messages;
+
+/**
+ * The outcome of a parser, it holds either the parsed value or an error descriptor <br><br>
+ * <p>
+ * The error is a {@link MessageKey} (or a plain message for custom parsers) together with its
+ * arguments, the message is rendered only when it's actually sent.
+ */
+public final class ParseResult<T> {
+
+  private static final Object[] NO_ARGS = new Object[0];
+
+  private final T value;
+  private final MessageKey error;
+  private final String errorMessage;
+  private final Object[] errorArgs;
+
+  private ParseResult(T value, MessageKey error, String errorMessage, Object[] errorArgs) {
+    this.value = value;
+    this.error = error;
+    this.errorMessage = errorMessage;
+    this.errorArgs = errorArgs;
+  }
+
+  public static <T> ParseResult<T> success(T value) {
+    return new ParseResult<>(value, null, null, NO_ARGS);
+  }
+
+  public static <T> ParseResult<T> failure(MessageKey error, Object... errorArgs) {
+    return new ParseResult<>(null, error, null, errorArgs);
+  }
+
+  public static <T> ParseResult<T> failure(String errorMessage) {
+    return new ParseResult<>(null, null, errorMessage, NO_ARGS);
+  }
+
+  public boolean isSuccess() {
+    return error == null && errorMessage == null;
+  }
+
+  public T getValue() {
+    return value;
+  }
+
+  /**
+   * @return the default error message or null if the parsing succeeded
+   * @see #getError(Messages)
+   */
+  public String getError() {
+    if(error != null) {
+      return error.getDefaultTemplate().render(errorArgs);
+    }
+
+    return errorMessage;
+  }
+
+  /**
+   * @return the error message rendered with the messages of a command manager or null if the parsing succeeded
+   */
+  public String getError(Messages messages) {
+    if(error != null) {
+      return messages.format(error, errorArgs);
+    }
+
+    return errorMessage;
+  }
+
+  /**
+   * Casts a failed result to another type, so that it can be propagated
+   */
+  @SuppressWarnings("unchecked")
+  public <R> ParseResult<R> asFailure() {
+    if(isSuccess()) {
+      throw new IllegalStateException("The parsing succeeded");
+    }
+
+    return (ParseResult<R>) this;
+  }
+
+  /**
+   * @return the parsed value
+   * @throws StacklessCommandException if the parsing failed
+   */
+  public T orElseThrow() {
+    if(error != null) {
+      throw new StacklessCommandException(error, errorArgs);
+    } else if(errorMessage != null) {
+      throw new StacklessCommandException(errorMessage);
+    }
+
+    return value;
+  }
+
+}
@@ -1,12 +1,17 @@
 package ml.empee.commandsManager.parsers;
 
 import lombok.SneakyThrows;
+import ml.empee.commandsManager.parsers.types.CollectionParser;
 import ml.empee.commandsManager.parsers.types.EnumParser;
+import ml.empee.commandsManager.parsers.types.FlagsParser;
+import ml.empee.commandsManager.parsers.types.annotations.CollectionParam;
 import org.jetbrains.annotations.Nullable;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -40,27 +45,107 @@ public final class ParserManager {
 
   @Nullable
   public ParameterParser<?> getParameterParser(Parameter parameter) {
-    Annotation identifier = findIdentifier(parameter.getAnnotations());
-    ParameterParser<?> parser;
-    if(identifier != null) {
-      parser = buildParser(identifier);
-    } else if(parameter.getType().isEnum()) {
-      parser = EnumParser.builder().label("values").build();
-    } else {
-      parser = defaultParsers.get(parameter.getType());
-      if(parser == null) {
-        return null;
-      } else {
-        parser = parser.copyParser();
-      }
+    Class<?> elementType = getElementType(parameter);
+    if(elementType != null) {
+      return getCollectionParser(parameter, elementType);
+    }
+
+    ParameterParser<?> parser = buildParser(parameter, parameter.getType());
+    if(parser == null) {
+      return null;
     }
 
     if(parameter.isNamePresent()) {
       parser.setLabel(parameter.getName());
     }
 
+    return cacheParser(parser);
+  }
+
+  @Nullable
+  private ParameterParser<?> buildParser(Parameter parameter, Class<?> type) {
+    Annotation identifier = findIdentifier(parameter.getAnnotations());
+    if(identifier == null) {
+      return getDefaultParser(type);
+    }
+
+    ParameterParser<?> parser = buildParser(identifier);
     if(parser instanceof EnumParser) {
-      ((EnumParser) parser).setEnumType(parameter.getType());
+      ((EnumParser) parser).setEnumType(type);
+    } else if(parser instanceof FlagsParser) {
+      ((FlagsParser) parser).compile(this);
+    }
+
+    return parser;
+  }
+
+  /**
+   * @return a copy of the default parser of the type, or null if the type doesn't have one
+   */
+  @Nullable
+  public ParameterParser<?> getDefaultParser(Class<?> type) {
+    if(type.isEnum()) {
+      EnumParser parser = EnumParser.builder().label("values").build();
+      parser.setEnumType(type);
+      return parser;
+    }
+
+    ParameterParser<?> parser = defaultParsers.get(type);
+    return parser == null ? null : parser.copyParser();
+  }
+
+  /**
+   * @return the element type if the parameter is an array or a collection without a registered parser
+   */
+  @Nullable
+  private Class<?> getElementType(Parameter parameter) {
+    Class<?> type = parameter.getType();
+    if(defaultParsers.containsKey(type)) {
+      return null;
+    }
+
+    if(type.isArray()) {
+      return type.getComponentType();
+    }
+
+    if(type == List.class || type == Set.class || type == Collection.class) {
+      Type genericType = parameter.getParameterizedType();
+      if(genericType instanceof ParameterizedType) {
+        Type elementType = ((ParameterizedType) genericType).getActualTypeArguments()[0];
+        if(elementType instanceof Class) {
+          return (Class<?>) elementType;
+        }
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Builds a parser for an array or a collection, the elements are parsed by the parser of the element type,
+   * that can be configured by the parameter annotations
+   */
+  @Nullable
+  private ParameterParser<?> getCollectionParser(Parameter parameter, Class<?> elementType) {
+    ParameterParser<?> elementParser = buildParser(parameter, elementType);
+    if(elementParser == null) {
+      return null;
+    }
+
+    CollectionParam settings = parameter.getAnnotation(CollectionParam.class);
+    boolean varArgs = parameter.isVarArgs() && settings == null;
+    CollectionParser parser = CollectionParser.builder()
+            .label(settings != null && !settings.label().isEmpty() ? settings.label() : elementParser.getLabel())
+            .elementParser(elementParser)
+            .collectionType(parameter.getType())
+            .separator(varArgs ? "" : (settings != null ? settings.separator() : ","))
+            .minSize(settings != null ? settings.minSize() : 0)
+            .maxSize(settings != null ? settings.maxSize() : Integer.MAX_VALUE)
+            .optional(varArgs || (settings != null && settings.optional()))
+            .build();
+
+    if(parameter.isNamePresent() && (settings == null || settings.label().isEmpty())) {
+      parser.setLabel(parameter.getName());
     }
 
     return cacheParser(parser);
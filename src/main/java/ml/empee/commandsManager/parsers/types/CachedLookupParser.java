@@ -0,0 +1,495 @@
+package ml.empee.commandsManager.parsers.types;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.SuperBuilder;
+import ml.empee.commandsManager.exceptions.StacklessCommandException;
+import ml.empee.commandsManager.messages.MessageKey;
+import ml.empee.commandsManager.parsers.AsyncParser;
+import ml.empee.commandsManager.parsers.DescriptionBuilder;
+import ml.empee.commandsManager.parsers.ParameterParser;
+import ml.empee.commandsManager.parsers.ParseResult;
+import ml.empee.commandsManager.utils.helpers.Tuple;
+import org.bukkit.command.CommandSender;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Parses a value looked up by its key through a loader, e.g. a warp or a kit stored inside a database <br><br>
+ * <p>
+ * The loaded values are kept in a bounded LRU cache, with an optional time-to-live and refresh-ahead, keys
+ * without a value can be cached too. The cache is shared by the copies of the parser. <br>
+ * Loads on a miss run off the main thread, as the parser is an {@link AsyncParser}. <br>
+ * The known keys are indexed in memory to provide the suggestions, without querying the loader, the keys loader
+ * runs in background on the first completion and its keys are suggested once it has finished.
+ */
+@SuperBuilder
+@Getter
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class CachedLookupParser<T> extends ParameterParser<T> implements AsyncParser<T> {
+
+  private static final int DEFAULT_MAX_SIZE = 1024;
+  private static final int GENERATION_STRIPES = 64;
+
+  /**
+   * Loads the value of a key, null if it doesn't exist
+   */
+  private Function<String, T> loader;
+  /**
+   * Loads the existing keys to fill the suggestions, optional
+   */
+  private Supplier<Collection<String>> keysLoader;
+  /**
+   * The maximum number of cached keys, by default 1024
+   */
+  private int maxSize;
+  /**
+   * Milliseconds after which a value expires, 0 if it never expires
+   */
+  private long ttl;
+  /**
+   * Milliseconds after which a value is reloaded in background while it's still returned, 0 to disable it
+   */
+  private long refreshAfter;
+  /**
+   * Milliseconds for which a missing key is cached, 0 to always query the loader
+   */
+  private long negativeTtl;
+  private boolean caseSensitive;
+
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  private LookupCache<T> cache;
+
+  @Override
+  public DescriptionBuilder getDescriptionBuilder() {
+    return new DescriptionBuilder(
+            "value", "This parameter must be an existing value",
+            Tuple.of("Default value: ", (getDefaultValue() == null ? "none" : getDefaultValue().toString()))
+    );
+  }
+
+  @Override
+  public T parse(int offset, String... args) {
+    return tryParse(offset, args).orElseThrow();
+  }
+
+  /**
+   * Loads the value on the calling thread if it isn't cached, so it blocks the main thread on a miss <br>
+   * The commands resolve the parser through {@link #parseAsync(Executor, int, String...)}, this is only for
+   * direct calls from code that can afford a blocking lookup.
+   */
+  @Override
+  public ParseResult<T> tryParse(int offset, String... args) {
+    T value = getCache().get(args[offset]);
+    if(value == null) {
+      return ParseResult.failure(MessageKey.INVALID_VALUE, args[offset]);
+    }
+
+    return ParseResult.success(value);
+  }
+
+  /**
+   * @return an already completed future if the value is cached, cancelling it stops the load once no other
+   * parse is waiting for the same key
+   */
+  @Override
+  public CompletableFuture<T> parseAsync(Executor executor, int offset, String... args) {
+    String key = args[offset];
+    CompletableFuture<T> load = getCache().getAsync(key, executor);
+    CompletableFuture<T> result = load.thenApply(value -> {
+      if(value == null) {
+        throw new StacklessCommandException(MessageKey.INVALID_VALUE, key);
+      }
+
+      return value;
+    });
+
+    result.whenComplete((value, error) -> {
+      if(result.isCancelled()) {
+        load.cancel(false);
+      }
+    });
+
+    return result;
+  }
+
+  @Override
+  protected List<String> buildSuggestions(CommandSender source, String arg) {
+    return getCache().getKeys(arg);
+  }
+
+  /**
+   * Removes a key from the cache, e.g. when its value is changed or deleted
+   */
+  public void invalidate(String key) {
+    getCache().invalidate(key);
+  }
+
+  /**
+   * Removes every cached value and reloads the keys index on the next use
+   */
+  public void invalidateAll() {
+    getCache().invalidateAll();
+  }
+
+  public Stats getStats() {
+    return getCache().getStats();
+  }
+
+  private synchronized LookupCache<T> getCache() {
+    if(cache == null) {
+      cache = new LookupCache<>(this);
+    }
+
+    return cache;
+  }
+
+  @Override
+  public ParameterParser<T> copyParser() {
+    CachedLookupParser<T> parser = copyParser(new CachedLookupParser<>());
+    parser.loader = loader;
+    parser.keysLoader = keysLoader;
+    parser.maxSize = maxSize;
+    parser.ttl = ttl;
+    parser.refreshAfter = refreshAfter;
+    parser.negativeTtl = negativeTtl;
+    parser.caseSensitive = caseSensitive;
+    parser.cache = getCache();
+    return parser;
+  }
+
+  @Getter
+  @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+  public static final class Stats {
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final int size;
+  }
+
+  private static final class LookupCache<T> {
+    private final Function<String, T> loader;
+    private final Supplier<Collection<String>> keysLoader;
+    private final long ttl;
+    private final long refreshAfter;
+    private final long negativeTtl;
+    private final boolean caseSensitive;
+
+    private final LinkedHashMap<String, CachedValue<T>> entries;
+    private final Map<String, Load<T>> loading = new ConcurrentHashMap<>();
+    //Normalized key to displayed key, replaced as a whole when the keys loader completes
+    private volatile ConcurrentSkipListMap<String, String> keys = new ConcurrentSkipListMap<>();
+    private final AtomicBoolean keysLoading = new AtomicBoolean();
+    private volatile boolean keysLoaded;
+    //Incremented by the invalidations to discard the values loaded before them, one for each stripe of keys
+    private final long[] generations = new long[GENERATION_STRIPES];
+    //Incremented by invalidateAll() to discard the keys of an outdated load
+    private int keysGeneration;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private LookupCache(CachedLookupParser<T> parser) {
+      this.loader = parser.loader;
+      this.keysLoader = parser.keysLoader;
+      this.ttl = parser.ttl;
+      this.refreshAfter = parser.refreshAfter;
+      this.negativeTtl = parser.negativeTtl;
+      this.caseSensitive = parser.caseSensitive;
+
+      int maxSize = parser.maxSize > 0 ? parser.maxSize : DEFAULT_MAX_SIZE;
+      this.entries = new LinkedHashMap<String, CachedValue<T>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedValue<T>> eldest) {
+          if(size() > maxSize) {
+            evictions.increment();
+            return true;
+          }
+
+          return false;
+        }
+      };
+    }
+
+    private T get(String key) {
+      String normalizedKey = normalize(key);
+      CachedValue<T> entry = getEntry(normalizedKey, ForkJoinPool.commonPool());
+      if(entry != null) {
+        return entry.value;
+      }
+
+      long generation = getGeneration(normalizedKey);
+      return store(key, normalizedKey, loader.apply(key), generation);
+    }
+
+    /**
+     * @return a future that shares the load of the key with the other callers, cancelling it stops the load
+     * once every caller has cancelled its future
+     */
+    private CompletableFuture<T> getAsync(String key, Executor executor) {
+      String normalizedKey = normalize(key);
+      CachedValue<T> entry = getEntry(normalizedKey, executor);
+      if(entry != null) {
+        return CompletableFuture.completedFuture(entry.value);
+      }
+
+      while(true) {
+        Load<T> load = new Load<>();
+        Load<T> currentLoad = loading.putIfAbsent(normalizedKey, load);
+        if(currentLoad == null) {
+          CompletableFuture<T> waiter = load.addWaiter();
+          long generation = getGeneration(normalizedKey);
+          executor.execute(() -> load(key, normalizedKey, load, generation));
+          return waiter;
+        }
+
+        CompletableFuture<T> waiter = currentLoad.addWaiter();
+        if(waiter != null) {
+          return waiter;
+        }
+
+        loading.remove(normalizedKey, currentLoad);
+      }
+    }
+
+    private void load(String key, String normalizedKey, Load<T> load, long generation) {
+      try {
+        if(!load.isDone()) {
+          load.complete(store(key, normalizedKey, loader.apply(key), generation));
+        }
+      } catch(Throwable e) {
+        load.completeExceptionally(e);
+      } finally {
+        loading.remove(normalizedKey, load);
+      }
+    }
+
+    /**
+     * @return the entry if it's cached and not expired, starting its refresh when needed
+     */
+    private CachedValue<T> getEntry(String normalizedKey, Executor executor) {
+      CachedValue<T> entry;
+      long generation;
+      long now = System.currentTimeMillis();
+      synchronized(this) {
+        entry = entries.get(normalizedKey);
+        generation = generations[getStripe(normalizedKey)];
+        if(entry != null && entry.isExpired(now)) {
+          entries.remove(normalizedKey);
+          misses.increment();
+          return null;
+        }
+      }
+
+      if(entry == null) {
+        misses.increment();
+        return null;
+      }
+
+      hits.increment();
+      if(entry.value != null && refreshAfter > 0 && now - entry.loadedAt >= refreshAfter && !entry.refreshing) {
+        entry.refreshing = true;
+        executor.execute(() -> refresh(entry.key, normalizedKey, entry, generation));
+      }
+
+      return entry;
+    }
+
+    private void refresh(String key, String normalizedKey, CachedValue<T> entry, long generation) {
+      try {
+        store(key, normalizedKey, loader.apply(key), generation);
+      } catch(RuntimeException ignored) {
+        //The entry is refreshed again on the next use
+      } finally {
+        entry.refreshing = false;
+      }
+    }
+
+    /**
+     * Caches the loaded value, unless the cache has been invalidated since the load started
+     *
+     * @param generation the generation of the cache when the load started
+     */
+    private T store(String key, String normalizedKey, T value, long generation) {
+      long now = System.currentTimeMillis();
+      if(value == null) {
+        synchronized(this) {
+          if(generation != generations[getStripe(normalizedKey)]) {
+            return null;
+          }
+
+          keys.remove(normalizedKey);
+          if(negativeTtl > 0) {
+            entries.put(normalizedKey, new CachedValue<>(key, null, now, negativeTtl));
+          } else {
+            entries.remove(normalizedKey);
+          }
+        }
+      } else {
+        synchronized(this) {
+          if(generation != generations[getStripe(normalizedKey)]) {
+            return value;
+          }
+
+          keys.putIfAbsent(normalizedKey, key);
+          entries.put(normalizedKey, new CachedValue<>(key, value, now, ttl));
+        }
+      }
+
+      return value;
+    }
+
+    /**
+     * @return the known keys starting with the prefix, the loaded keys are included only once their load has finished
+     */
+    private List<String> getKeys(String prefix) {
+      if(!keysLoaded && keysLoader != null && keysLoading.compareAndSet(false, true)) {
+        ForkJoinPool.commonPool().execute(this::loadKeys);
+      }
+
+      String normalizedPrefix = normalize(prefix);
+      return new ArrayList<>(keys.subMap(normalizedPrefix, normalizedPrefix + Character.MAX_VALUE).values());
+    }
+
+    /**
+     * Fills a new index with the loaded keys and the ones stored meanwhile, then publishes it
+     */
+    private void loadKeys() {
+      int generation;
+      synchronized(this) {
+        generation = keysGeneration;
+      }
+
+      try {
+        ConcurrentSkipListMap<String, String> loadedKeys = new ConcurrentSkipListMap<>();
+        for(String key : keysLoader.get()) {
+          loadedKeys.putIfAbsent(normalize(key), key);
+        }
+
+        synchronized(this) {
+          if(generation == keysGeneration) {
+            loadedKeys.putAll(keys);
+            keys = loadedKeys;
+            keysLoaded = true;
+          }
+        }
+      } finally {
+        keysLoading.set(false);
+      }
+    }
+
+    private void invalidate(String key) {
+      String normalizedKey = normalize(key);
+      synchronized(this) {
+        generations[getStripe(normalizedKey)] += 1;
+        loading.remove(normalizedKey);
+        keys.remove(normalizedKey);
+        entries.remove(normalizedKey);
+      }
+    }
+
+    private void invalidateAll() {
+      synchronized(this) {
+        for(int i = 0; i < generations.length; i++) {
+          generations[i] += 1;
+        }
+
+        keysGeneration += 1;
+        loading.clear();
+        keys = new ConcurrentSkipListMap<>();
+        keysLoaded = false;
+        entries.clear();
+      }
+    }
+
+    private synchronized long getGeneration(String normalizedKey) {
+      return generations[getStripe(normalizedKey)];
+    }
+
+    private static int getStripe(String normalizedKey) {
+      return normalizedKey.hashCode() & (GENERATION_STRIPES - 1);
+    }
+
+    private synchronized Stats getStats() {
+      return new Stats(hits.sum(), misses.sum(), evictions.sum(), entries.size());
+    }
+
+    private String normalize(String key) {
+      return caseSensitive ? key : key.toLowerCase(Locale.ROOT);
+    }
+  }
+
+  /**
+   * A load shared by the callers waiting for the same key, cancelled when all of them have cancelled
+   */
+  private static final class Load<T> extends CompletableFuture<T> {
+    private int waiters;
+
+    /**
+     * @return a future completed with the load, null if the load has been cancelled
+     */
+    private synchronized CompletableFuture<T> addWaiter() {
+      if(isCancelled()) {
+        return null;
+      }
+
+      waiters += 1;
+      CompletableFuture<T> waiter = thenApply(value -> value);
+      waiter.whenComplete((value, error) -> {
+        if(waiter.isCancelled()) {
+          removeWaiter();
+        }
+      });
+
+      return waiter;
+    }
+
+    private synchronized void removeWaiter() {
+      waiters -= 1;
+      if(waiters == 0) {
+        cancel(false);
+      }
+    }
+  }
+
+  private static final class CachedValue<T> {
+    private final String key;
+    //Null if the key doesn't exist
+    private final T value;
+    private final long loadedAt;
+    private final long ttl;
+    private volatile boolean refreshing;
+
+    private CachedValue(String key, T value, long loadedAt, long ttl) {
+      this.key = key;
+      this.value = value;
+      this.loadedAt = loadedAt;
+      this.ttl = ttl;
+    }
+
+    private boolean isExpired(long now) {
+      return ttl > 0 && now - loadedAt >= ttl;
+    }
+  }
+
+}
@@ -0,0 +1,238 @@
+package ml.empee.commandsManager.parsers.types;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+import ml.empee.commandsManager.messages.MessageKey;
+import ml.empee.commandsManager.parsers.DescriptionBuilder;
+import ml.empee.commandsManager.parsers.ParameterParser;
+import ml.empee.commandsManager.parsers.ParseResult;
+import ml.empee.commandsManager.parsers.types.greedy.GreedyParser;
+import ml.empee.commandsManager.utils.helpers.Tuple;
+import org.bukkit.command.CommandSender;
+
+import java.lang.reflect.Array;
+import java.util.*;
+
+/**
+ * Parses an array, a list or a set using the parser of its elements <br><br>
+ * <p>
+ * The elements are either separated by the {@link #separator} inside a single argument or, when the
+ * separator is empty, they are all the remaining arguments. The elements are parsed in place, without
+ * joining or splitting the arguments, and the size limits are checked before parsing them and, for a set,
+ * again on its distinct elements.
+ */
+@SuperBuilder
+@Getter
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class CollectionParser extends ParameterParser<Object> implements GreedyParser {
+
+  private ParameterParser<?> elementParser;
+  /**
+   * The parameter type: an array class, {@code List}, {@code Set} or {@code Collection}
+   */
+  private Class<?> collectionType;
+  @Setter
+  private String separator;
+  @Setter
+  private int minSize;
+  @Setter
+  private int maxSize;
+
+  @Override
+  public boolean isGreedy() {
+    return separator == null || separator.isEmpty();
+  }
+
+  @Override
+  public DescriptionBuilder getDescriptionBuilder() {
+    DescriptionBuilder elementDescription = elementParser.getDescriptionBuilder();
+    return new DescriptionBuilder(elementDescription.getFallbackLabel() + "...",
+            isGreedy() ? "This parameter can contain multiple values separated by spaces"
+                    : "This parameter can contain multiple values separated by '" + separator + "'",
+            Tuple.of("Min values: ", minSize + ""),
+            Tuple.of("Max values: ", (maxSize != Integer.MAX_VALUE ? maxSize + "" : "+∞")),
+            Tuple.of("Default value: ", describeDefaultValue())
+    );
+  }
+
+  private String describeDefaultValue() {
+    Object value = getDefaultValue();
+    if(value == null) {
+      return "none";
+    } else if(value.getClass().isArray()) {
+      String description = Arrays.deepToString(new Object[] {value});
+      return description.substring(1, description.length() - 1);
+    }
+
+    return value.toString();
+  }
+
+  /**
+   * @return an empty collection if the parser is optional and doesn't have a default value
+   */
+  @Override
+  public Object getDefaultValue() {
+    if(defaultValue == null && optional) {
+      return newCollection(0);
+    }
+
+    return defaultValue;
+  }
+
+  @Override
+  public void setDefaultValue(String value) {
+    if(value.trim().isEmpty()) {
+      return;
+    }
+
+    defaultValue = isGreedy() ? parse(0, value.split(" ")) : parse(0, value);
+  }
+
+  @Override
+  public Object parse(int offset, String... args) {
+    return tryParse(offset, args).orElseThrow();
+  }
+
+  @Override
+  public ParseResult<Object> tryParse(int offset, String... args) {
+    if(isGreedy()) {
+      int size = args.length - offset;
+      ParseResult<Object> sizeError = checkSize(size);
+      if(sizeError != null) {
+        return sizeError;
+      }
+
+      Object collection = newCollection(size);
+      for(int i = 0; i < size; i++) {
+        ParseResult<?> element = elementParser.tryParse(offset + i, args);
+        if(!element.isSuccess()) {
+          return element.asFailure();
+        }
+
+        add(collection, i, element.getValue());
+      }
+
+      return checkDistinctSize(collection);
+    }
+
+    String arg = args[offset];
+    int size = countElements(arg);
+    ParseResult<Object> sizeError = checkSize(size);
+    if(sizeError != null) {
+      return sizeError;
+    }
+
+    Object collection = newCollection(size);
+    String[] element = new String[1];
+    int start = 0;
+    for(int i = 0; start <= arg.length(); i++) {
+      int end = arg.indexOf(separator, start);
+      if(end == -1) {
+        end = arg.length();
+      }
+
+      element[0] = arg.substring(start, end);
+      ParseResult<?> result = elementParser.tryParse(0, element);
+      if(!result.isSuccess()) {
+        return result.asFailure();
+      }
+
+      add(collection, i, result.getValue());
+      start = end + separator.length();
+    }
+
+    return checkDistinctSize(collection);
+  }
+
+  private int countElements(String arg) {
+    int count = 1;
+    for(int i = arg.indexOf(separator); i != -1; i = arg.indexOf(separator, i + separator.length())) {
+      count += 1;
+    }
+
+    return count;
+  }
+
+  private ParseResult<Object> checkSize(int size) {
+    if(size < minSize) {
+      return ParseResult.failure(MessageKey.TOO_FEW_ELEMENTS, size, minSize);
+    } else if(size > maxSize) {
+      return ParseResult.failure(MessageKey.TOO_MANY_ELEMENTS, size, maxSize);
+    }
+
+    return null;
+  }
+
+  /**
+   * A set drops the duplicated elements, so its size is checked again once built
+   */
+  private ParseResult<Object> checkDistinctSize(Object collection) {
+    if(collection instanceof Set) {
+      ParseResult<Object> sizeError = checkSize(((Set<?>) collection).size());
+      if(sizeError != null) {
+        return sizeError;
+      }
+    }
+
+    return ParseResult.success(collection);
+  }
+
+    private Object newCollection(int size) {
+    if(collectionType.isArray()) {
+      return Array.newInstance(collectionType.getComponentType(), size);
+    } else if(Set.class.isAssignableFrom(collectionType)) {
+      return new LinkedHashSet<>(Math.max(16, size * 2));
+    }
+
+    return new ArrayList<>(size);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void add(Object collection, int index, Object element) {
+    if(collection instanceof Collection) {
+      ((Collection<Object>) collection).add(element);
+    } else {
+      Array.set(collection, index, element);
+    }
+  }
+
+  /**
+   * Suggests only the element that is being written
+   */
+  @Override
+  protected List<String> buildSuggestions(CommandSender source, int offset, String[] args) {
+    if(isGreedy()) {
+      return elementParser.getSuggestions(source, offset, args);
+    }
+
+    String arg = args[offset];
+    int lastSeparator = arg.lastIndexOf(separator);
+    if(lastSeparator == -1) {
+      return elementParser.getSuggestions(source, offset, args);
+    }
+
+    String typed = arg.substring(0, lastSeparator + separator.length());
+    List<String> suggestions = elementParser.getSuggestions(source, 0, new String[] {arg.substring(typed.length())});
+    List<String> result = new ArrayList<>(suggestions.size());
+    for(String suggestion : suggestions) {
+      result.add(typed + suggestion);
+    }
+
+    return result;
+  }
+
+  @Override
+  public ParameterParser<Object> copyParser() {
+    CollectionParser parser = copyParser(new CollectionParser());
+    parser.elementParser = elementParser.copyParser();
+    parser.collectionType = collectionType;
+    parser.separator = separator;
+    parser.minSize = minSize;
+    parser.maxSize = maxSize;
+    return parser;
+  }
+}
@@ -3,43 +3,71 @@ package ml.empee.commandsManager.parsers.types;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
+import ml.empee.commandsManager.messages.MessageKey;
 import ml.empee.commandsManager.parsers.DescriptionBuilder;
 import ml.empee.commandsManager.parsers.ParameterParser;
+import ml.empee.commandsManager.parsers.ParseResult;
+import ml.empee.commandsManager.utils.CaseInsensitiveIndex;
 import ml.empee.commandsManager.utils.helpers.Tuple;
 import net.md_5.bungee.api.ChatColor;
-import org.bukkit.command.CommandException;
 import org.bukkit.command.CommandSender;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Locale;
 
+/**
+ * Parses a named color, case-insensitively, or a hex color in the format RRGGBB or #RRGGBB <br><br>
+ * <p>
+ * Hex colors need a server with RGB support, otherwise they are approximated to the nearest named color.
+ */
 @SuperBuilder
 @NoArgsConstructor
 @EqualsAndHashCode(callSuper = true)
 public class ColorParser extends ParameterParser<ChatColor> {
-  private static final List<String> COLORS;
+  private static final List<String> COLORS = Collections.unmodifiableList(Arrays.asList(
+          "BLACK",
+          "DARK_BLUE",
+          "DARK_GREEN",
+          "DARK_AQUA",
+          "DARK_RED",
+          "DARK_PURPLE",
+          "GOLD",
+          "GRAY",
+          "DARK_GRAY",
+          "BLUE",
+          "GREEN",
+          "AQUA",
+          "RED",
+          "LIGHT_PURPLE",
+          "YELLOW",
+          "WHITE"
+  ));
+
+  //RGB values of the named colors, in the same order of COLORS
+  private static final int[] COLORS_RGB = {
+          0x000000, 0x0000AA, 0x00AA00, 0x00AAAA, 0xAA0000, 0xAA00AA, 0xFFAA00, 0xAAAAAA,
+          0x555555, 0x5555FF, 0x55FF55, 0x55FFFF, 0xFF5555, 0xFF55FF, 0xFFFF55, 0xFFFFFF
+  };
+
+  private static final ChatColor[] NAMED_COLORS = new ChatColor[COLORS.size()];
+  private static final CaseInsensitiveIndex<ChatColor> COLORS_BY_NAME = new CaseInsensitiveIndex<>(COLORS.size());
+
+  //Direct-mapped cache of the last hex colors, a slot keeps the most recent color that hashed into it
+  private static final int HEX_CACHE_SIZE = 256;
+  private static final HexColor[] HEX_CACHE = new HexColor[HEX_CACHE_SIZE];
+
+  //ChatColor.of(String), only available on servers with RGB support
+  private static final MethodHandle OF_HEX = findHexFactory();
 
   static {
-    COLORS = Collections.unmodifiableList(Arrays.asList(
-            "BLACK",
-            "DARK_BLUE",
-            "DARK_GREEN",
-            "DARK_AQUA",
-            "DARK_RED",
-            "DARK_PURPLE",
-            "GOLD",
-            "GRAY",
-            "DARK_GRAY",
-            "BLUE",
-            "GREEN",
-            "AQUA",
-            "RED",
-            "LIGHT_PURPLE",
-            "YELLOW",
-            "WHITE"
-    ));
+    for(int i = 0; i < COLORS.size(); i++) {
+      NAMED_COLORS[i] = ChatColor.valueOf(COLORS.get(i));
+      COLORS_BY_NAME.put(COLORS.get(i), NAMED_COLORS[i]);
+    }
   }
 
   @Override
@@ -52,19 +80,115 @@ public class ColorParser extends ParameterParser<ChatColor> {
 
   @Override
   public ChatColor parse(int offset, String... strings) {
-    try {
-      strings[offset] = strings[offset].toUpperCase(Locale.ENGLISH);
-      if(!COLORS.contains(strings[offset])) {
-        if(strings[offset].length() == 6) {
-          strings[offset] = "#" + strings[offset];
-        } else {
-          throw new CommandException("The color &e" + strings[offset] + "&r isn't valid");
-        }
+    return tryParse(offset, strings).orElseThrow();
+  }
+
+  @Override
+  public ParseResult<ChatColor> tryParse(int offset, String... strings) {
+    String arg = strings[offset];
+    ChatColor color = COLORS_BY_NAME.get(arg);
+    if(color == null) {
+      int rgb = decodeHex(arg);
+      if(rgb == -1) {
+        return ParseResult.failure(MessageKey.INVALID_COLOR, arg);
+      }
+
+      color = getHexColor(rgb);
+    }
+
+    return ParseResult.success(color);
+  }
+
+  /**
+   * @return the rgb value of a RRGGBB or #RRGGBB string, -1 if it isn't a valid hex color
+   */
+  private static int decodeHex(String arg) {
+    int start = arg.length() == 7 && arg.charAt(0) == '#' ? 1 : 0;
+    if(arg.length() - start != 6) {
+      return -1;
+    }
+
+    int rgb = 0;
+    for(int i = start; i < arg.length(); i++) {
+      int nibble = decodeNibble(arg.charAt(i));
+      if(nibble == -1) {
+        return -1;
+      }
+
+      rgb = (rgb << 4) | nibble;
+    }
+
+    return rgb;
+  }
+
+  private static int decodeNibble(char c) {
+    if(c >= '0' && c <= '9') {
+      return c - '0';
+    }
+
+    c |= 0x20; //Lower case
+    if(c >= 'a' && c <= 'f') {
+      return c - 'a' + 10;
+    }
+
+    return -1;
+  }
+
+  private static ChatColor getHexColor(int rgb) {
+    int slot = (rgb ^ (rgb >>> 8) ^ (rgb >>> 16)) & (HEX_CACHE_SIZE - 1);
+    HexColor cached = HEX_CACHE[slot];
+    if(cached != null && cached.rgb == rgb) {
+      return cached.color;
+    }
+
+    ChatColor color = createHexColor(rgb);
+    HEX_CACHE[slot] = new HexColor(rgb, color);
+    return color;
+  }
+
+  private static ChatColor createHexColor(int rgb) {
+    if(OF_HEX != null) {
+      char[] hex = new char[7];
+      hex[0] = '#';
+      for(int i = 6; i > 0; i--) {
+        hex[i] = Character.forDigit(rgb & 0xF, 16);
+        rgb >>>= 4;
+      }
+
+      try {
+        return (ChatColor) OF_HEX.invoke(new String(hex));
+      } catch(Throwable e) {
+        throw new IllegalStateException("Unable to create the hex color " + new String(hex), e);
+      }
+    }
+
+    return findNearestColor(rgb);
+  }
+
+  private static ChatColor findNearestColor(int rgb) {
+    int nearest = 0;
+    int nearestDistance = Integer.MAX_VALUE;
+    for(int i = 0; i < COLORS_RGB.length; i++) {
+      int red = ((rgb >> 16) & 0xFF) - ((COLORS_RGB[i] >> 16) & 0xFF);
+      int green = ((rgb >> 8) & 0xFF) - ((COLORS_RGB[i] >> 8) & 0xFF);
+      int blue = (rgb & 0xFF) - (COLORS_RGB[i] & 0xFF);
+      int distance = red * red + green * green + blue * blue;
+      if(distance < nearestDistance) {
+        nearest = i;
+        nearestDistance = distance;
       }
+    }
+
+    return NAMED_COLORS[nearest];
+  }
 
-      return ChatColor.valueOf(strings[offset]);
-    } catch(IllegalArgumentException e) {
-      throw new CommandException("The color &e" + strings[offset] + "&r isn't valid");
+  private static MethodHandle findHexFactory() {
+    try {
+      return MethodHandles.publicLookup().findStatic(
+              ChatColor.class, "of", MethodType.methodType(ChatColor.class, String.class)
+      );
+    } catch(NoSuchMethodException | IllegalAccessException e) {
+      return null;
     }
   }
 
@@ -78,4 +202,15 @@ public class ColorParser extends ParameterParser<ChatColor> {
     return copyParser(new ColorParser());
   }
 
+  //Immutable, so that a cache slot can be safely read while another thread replaces it
+  private static final class HexColor {
+    private final int rgb;
+    private final ChatColor color;
+
+    private HexColor(int rgb, ChatColor color) {
+      this.rgb = rgb;
+      this.color = color;
+    }
+  }
+
 }
@@ -5,16 +5,19 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import ml.empee.commandsManager.messages.MessageKey;
 import ml.empee.commandsManager.parsers.DescriptionBuilder;
 import ml.empee.commandsManager.parsers.ParameterParser;
+import ml.empee.commandsManager.parsers.ParseResult;
+import ml.empee.commandsManager.utils.NumberUtils;
 import ml.empee.commandsManager.utils.helpers.Tuple;
-import org.bukkit.command.CommandException;
 
 @SuperBuilder
 @Getter
 @NoArgsConstructor
 @EqualsAndHashCode(callSuper = true)
 public class DoubleParser extends ParameterParser<Double> {
+
   @Setter
   private double min;
   @Setter
@@ -31,19 +34,23 @@ public class DoubleParser extends ParameterParser<Double> {
 
   @Override
   public Double parse(int offset, String... args) {
-    try {
-      double result = Double.parseDouble(args[offset]);
-
-      if(result < min) {
-        throw new CommandException("&e" + result + "&r must be equal or greater then &e" + min);
-      } else if(result > max) {
-        throw new CommandException("&e" + result + "&r must be equal or lower then &e" + min);
-      }
-
-      return result;
-    } catch(NumberFormatException e) {
-      throw new CommandException("The number &e" + args[offset] + "&r isn't valid");
+    return tryParse(offset, args).orElseThrow();
+  }
+
+  @Override
+  public ParseResult<Double> tryParse(int offset, String... args) {
+    if(!NumberUtils.isDecimal(args[offset])) {
+      return ParseResult.failure(MessageKey.INVALID_NUMBER, args[offset]);
     }
+
+    double result = Double.parseDouble(args[offset]);
+    if(result < min) {
+      return ParseResult.failure(MessageKey.LOWER_THAN_MIN, result, min);
+    } else if(result > max) {
+      return ParseResult.failure(MessageKey.GREATER_THAN_MAX, result, max);
+    }
+
+    return ParseResult.success(result);
   }
 
   @Override
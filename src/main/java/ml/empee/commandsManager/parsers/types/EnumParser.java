@@ -1,20 +1,20 @@
 package ml.empee.commandsManager.parsers.types;
 
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
+import ml.empee.commandsManager.messages.MessageKey;
+import ml.empee.commandsManager.parsers.ConstantTable;
 import ml.empee.commandsManager.parsers.DescriptionBuilder;
 import ml.empee.commandsManager.parsers.ParameterParser;
+import ml.empee.commandsManager.parsers.ParseResult;
 import ml.empee.commandsManager.utils.helpers.Tuple;
-import org.bukkit.command.CommandException;
 import org.bukkit.command.CommandSender;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.Locale;
-import java.util.stream.Collectors;
 
 @Getter
 @SuperBuilder
@@ -22,17 +22,28 @@ import java.util.stream.Collectors;
 @EqualsAndHashCode(callSuper = true)
 public class EnumParser<T extends Enum<T>> extends ParameterParser<T> {
 
+  private static final int MAX_SIMILAR_NAMES = 3;
+
   private Class<T> enumType;
-  private List<String> suggestions;
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  private ConstantTable<T> constants;
 
   public void setEnumType(Class<T> enumType) {
     this.enumType = enumType;
-    this.suggestions = Arrays.stream(enumType.getEnumConstants()).map(Enum::name).collect(Collectors.toList());
+    this.constants = ConstantTable.of(enumType);
+  }
+
+  /**
+   * @return the names of the enum constants, shared by the parsers of the same enum
+   */
+  public List<String> getSuggestions() {
+    return constants.getNames();
   }
 
   @Override
   public List<String> buildSuggestions(CommandSender source, String arg) {
-    return suggestions;
+    return constants.getNames();
   }
 
   @Override
@@ -49,11 +60,22 @@ public class EnumParser<T extends Enum<T>> extends ParameterParser<T> {
 
   @Override
   public T parse(int offset, String... args) {
-    try {
-      return Enum.valueOf(enumType, args[offset].toUpperCase(Locale.ENGLISH));
-    } catch(IllegalArgumentException e) {
-      throw new CommandException("The value &e" + args[offset] + "&r isn't valid");
+    return tryParse(offset, args).orElseThrow();
+  }
+
+  @Override
+  public ParseResult<T> tryParse(int offset, String... args) {
+    T constant = constants.get(args[offset]);
+    if(constant == null) {
+      List<String> similarNames = constants.findSimilar(args[offset], MAX_SIMILAR_NAMES);
+      if(!similarNames.isEmpty()) {
+        return ParseResult.failure(MessageKey.DID_YOU_MEAN, args[offset], String.join(", ", similarNames));
+      }
+
+      return ParseResult.failure(MessageKey.INVALID_VALUE, args[offset]);
     }
+
+    return ParseResult.success(constant);
   }
 
   @Override
@@ -0,0 +1,43 @@
+package ml.empee.commandsManager.parsers.types;
+
+/**
+ * The flags specified by a command sender, parsed by a {@link FlagsParser}
+ */
+@SuppressWarnings("unchecked")
+public final class Flags {
+
+  private final FlagsParser parser;
+  private final boolean[] present;
+  private final Object[] values;
+
+  Flags(FlagsParser parser, boolean[] present, Object[] values) {
+    this.parser = parser;
+    this.present = present;
+    this.values = values;
+  }
+
+  /**
+   * @return true if the flag has been specified
+   */
+  public boolean has(String name) {
+    return present[indexOf(name)];
+  }
+
+  /**
+   * @return the value of the flag or its default value if it hasn't been specified
+   */
+  public <T> T get(String name) {
+    int index = indexOf(name);
+    return present[index] ? (T) values[index] : (T) parser.getFlagDefault(index);
+  }
+
+  private int indexOf(String name) {
+    int index = parser.indexOf(name);
+    if(index == -1) {
+      throw new IllegalArgumentException("The flag " + name + " isn't declared");
+    }
+
+    return index;
+  }
+
+}
@@ -0,0 +1,254 @@
+package ml.empee.commandsManager.parsers.types;
+
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+import ml.empee.commandsManager.messages.MessageKey;
+import ml.empee.commandsManager.parsers.DescriptionBuilder;
+import ml.empee.commandsManager.parsers.ParameterParser;
+import ml.empee.commandsManager.parsers.ParseResult;
+import ml.empee.commandsManager.parsers.ParserManager;
+import ml.empee.commandsManager.parsers.types.annotations.Flag;
+import ml.empee.commandsManager.parsers.types.greedy.GreedyParser;
+import ml.empee.commandsManager.utils.PerfectHashIndex;
+import ml.empee.commandsManager.utils.helpers.Tuple;
+import org.bukkit.command.CommandSender;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parses the unordered flags that follow the positional arguments, e.g. {@code --silent -f --radius 30} <br><br>
+ * <p>
+ * When the parser is compiled the long names are indexed by a {@link PerfectHashIndex} and the short names by
+ * an array indexed by their character, so that every token is classified in constant time. <br>
+ * Short boolean flags can be grouped ({@code -sf}), a flag with a value reads it from the next argument.
+ */
+@SuperBuilder
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class FlagsParser extends ParameterParser<Flags> implements GreedyParser {
+
+  private static final int SHORT_NAMES = 128;
+
+  @Setter
+  private Flag[] value;
+
+  @EqualsAndHashCode.Exclude
+  private PerfectHashIndex tokenIndex;
+  @EqualsAndHashCode.Exclude
+  private PerfectHashIndex nameIndex;
+  @EqualsAndHashCode.Exclude
+  private int[] shortIndex;
+  @EqualsAndHashCode.Exclude
+  private ParameterParser<?>[] valueParsers;
+  @EqualsAndHashCode.Exclude
+  private Object[] defaults;
+
+  /**
+   * Builds the lookup tables and resolves the parsers of the flag values
+   */
+  public void compile(ParserManager parserManager) {
+    String[] tokens = new String[value.length];
+    String[] names = new String[value.length];
+    int[] shortIndex = new int[SHORT_NAMES];
+    Arrays.fill(shortIndex, -1);
+    ParameterParser<?>[] valueParsers = new ParameterParser[value.length];
+    Object[] defaults = new Object[value.length];
+
+    for(int i = 0; i < value.length; i++) {
+      Flag flag = value[i];
+      names[i] = flag.name();
+      tokens[i] = "--" + flag.name();
+
+      char shortName = flag.shortName();
+      if(shortName != ' ') {
+        if(shortName >= SHORT_NAMES || shortIndex[shortName] != -1) {
+          throw new IllegalArgumentException("Invalid or duplicated short name of the flag " + flag.name());
+        }
+
+        shortIndex[shortName] = i;
+      }
+
+      if(!isSwitch(flag)) {
+        valueParsers[i] = parserManager.getDefaultParser(flag.type());
+        if(valueParsers[i] == null) {
+          throw new IllegalArgumentException("Can't find a parser for the value of the flag " + flag.name());
+        }
+
+        valueParsers[i].setLabel(flag.name());
+        defaults[i] = flag.defaultValue().isEmpty() ? null : valueParsers[i].parse(flag.defaultValue());
+      } else {
+        defaults[i] = false;
+      }
+    }
+
+    this.tokenIndex = new PerfectHashIndex(tokens);
+    this.nameIndex = new PerfectHashIndex(names);
+    this.shortIndex = shortIndex;
+    this.valueParsers = valueParsers;
+    this.defaults = defaults;
+  }
+
+  private static boolean isSwitch(Flag flag) {
+    return flag.type() == boolean.class || flag.type() == Boolean.class;
+  }
+
+  int indexOf(String name) {
+    return nameIndex.indexOf(name);
+  }
+
+  Object getFlagDefault(int index) {
+    return defaults[index];
+  }
+
+  @Override
+  public DescriptionBuilder getDescriptionBuilder() {
+    Tuple<String, String>[] flags = new Tuple[value.length];
+    for(int i = 0; i < value.length; i++) {
+      Flag flag = value[i];
+      flags[i] = Tuple.of(
+              "--" + flag.name() + (flag.shortName() != ' ' ? " (-" + flag.shortName() + ")" : "")
+                      + (isSwitch(flag) ? "" : " <" + flag.type().getSimpleName().toLowerCase(Locale.ROOT) + ">") + ": ",
+              flag.description()
+      );
+    }
+
+    return new DescriptionBuilder("flags", "This parameter can contain the following flags in any order", flags);
+  }
+
+  /**
+   * @return the flags with their default values
+   */
+  @Override
+  public Flags getDefaultValue() {
+    if(value == null) {
+      return null;
+    }
+
+    return new Flags(this, new boolean[value.length], new Object[value.length]);
+  }
+
+  @Override
+  public Flags parse(int offset, String... args) {
+    return tryParse(offset, args).orElseThrow();
+  }
+
+  @Override
+  public ParseResult<Flags> tryParse(int offset, String... args) {
+    boolean[] present = new boolean[value.length];
+    Object[] values = new Object[value.length];
+
+    for(int i = offset; i < args.length; i++) {
+      String token = args[i];
+      int[] flags = classify(token);
+      if(flags == null) {
+        return ParseResult.failure(MessageKey.UNKNOWN_FLAG, token);
+      }
+
+      for(int f = 0; f < flags.length; f++) {
+        int flag = flags[f];
+        if(present[flag]) {
+          return ParseResult.failure(MessageKey.DUPLICATED_FLAG, value[flag].name());
+        }
+
+        present[flag] = true;
+        if(valueParsers[flag] == null) {
+          values[flag] = true;
+        } else if(f != flags.length - 1 || i + 1 == args.length) {
+          return ParseResult.failure(MessageKey.MISSING_FLAG_VALUE, value[flag].name());
+        } else {
+          i += 1;
+          ParseResult<?> result = valueParsers[flag].tryParse(i, args);
+          if(!result.isSuccess()) {
+            return result.asFailure();
+          }
+
+          values[flag] = result.getValue();
+        }
+      }
+    }
+
+    return ParseResult.success(new Flags(this, present, values));
+  }
+
+  /**
+   * @return the flags referenced by the token, null if the token isn't a known flag
+   */
+  private int[] classify(String token) {
+    if(token.length() < 2 || token.charAt(0) != '-') {
+      return null;
+    }
+
+    if(token.charAt(1) == '-') {
+      int flag = tokenIndex.indexOf(token);
+      return flag == -1 ? null : new int[] {flag};
+    }
+
+    int[] flags = new int[token.length() - 1];
+    for(int i = 1; i < token.length(); i++) {
+      char c = token.charAt(i);
+      if(c >= SHORT_NAMES || shortIndex[c] == -1) {
+        return null;
+      }
+
+      flags[i - 1] = shortIndex[c];
+    }
+
+    return flags;
+  }
+
+  /**
+   * Suggests the value of the previous flag or the flags that haven't been used yet <br>
+   * The arguments must start with the first flag, as the completer passes to greedy parsers only their arguments
+   */
+  @Override
+  protected List<String> buildSuggestions(CommandSender source, int offset, String[] args) {
+    boolean[] used = new boolean[value.length];
+    int pendingValue = -1;
+    for(int i = 0; i < offset; i++) {
+      if(pendingValue != -1) {
+        pendingValue = -1;
+        continue;
+      }
+
+      int[] flags = classify(args[i]);
+      if(flags != null) {
+        for(int flag : flags) {
+          used[flag] = true;
+        }
+
+        int last = flags[flags.length - 1];
+        pendingValue = valueParsers[last] != null ? last : -1;
+      }
+    }
+
+    if(pendingValue != -1) {
+      return valueParsers[pendingValue].getSuggestions(source, offset, args);
+    }
+
+    List<String> suggestions = new ArrayList<>();
+    for(int i = 0; i < value.length; i++) {
+      if(!used[i]) {
+        suggestions.add("--" + value[i].name());
+      }
+    }
+
+    return suggestions;
+  }
+
+  @Override
+  public ParameterParser<Flags> copyParser() {
+    FlagsParser parser = copyParser(new FlagsParser());
+    parser.value = value;
+    parser.tokenIndex = tokenIndex;
+    parser.nameIndex = nameIndex;
+    parser.shortIndex = shortIndex;
+    parser.valueParsers = valueParsers;
+    parser.defaults = defaults;
+    return parser;
+  }
+}
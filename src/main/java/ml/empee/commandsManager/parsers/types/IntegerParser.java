@@ -5,10 +5,12 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import ml.empee.commandsManager.messages.MessageKey;
 import ml.empee.commandsManager.parsers.DescriptionBuilder;
 import ml.empee.commandsManager.parsers.ParameterParser;
+import ml.empee.commandsManager.parsers.ParseResult;
+import ml.empee.commandsManager.utils.NumberUtils;
 import ml.empee.commandsManager.utils.helpers.Tuple;
-import org.bukkit.command.CommandException;
 
 @SuperBuilder
 @Getter
@@ -32,19 +34,23 @@ public class IntegerParser extends ParameterParser<Integer> {
 
   @Override
   public Integer parse(int offset, String... args) {
-    try {
-      int result = Integer.parseInt(args[offset]);
-
-      if(result < min) {
-        throw new CommandException("&e" + result + "&r must be equal or greater then &e" + min);
-      } else if(result > max) {
-        throw new CommandException("&e" + result + "&r must be equal or lower then &e" + min);
-      }
-
-      return result;
-    } catch(NumberFormatException e) {
-      throw new CommandException("The value &e" + args[offset] + "&r must be an integer");
+    return tryParse(offset, args).orElseThrow();
+  }
+
+  @Override
+  public ParseResult<Integer> tryParse(int offset, String... args) {
+    if(!NumberUtils.isInteger(args[offset])) {
+      return ParseResult.failure(MessageKey.INVALID_INTEGER, args[offset]);
     }
+
+    int result = Integer.parseInt(args[offset]);
+    if(result < min) {
+      return ParseResult.failure(MessageKey.LOWER_THAN_MIN, result, min);
+    } else if(result > max) {
+      return ParseResult.failure(MessageKey.GREATER_THAN_MAX, result, max);
+    }
+
+    return ParseResult.success(result);
   }
 
   @Override
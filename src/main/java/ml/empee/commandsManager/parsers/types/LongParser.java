@@ -5,10 +5,12 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import ml.empee.commandsManager.messages.MessageKey;
 import ml.empee.commandsManager.parsers.DescriptionBuilder;
 import ml.empee.commandsManager.parsers.ParameterParser;
+import ml.empee.commandsManager.parsers.ParseResult;
+import ml.empee.commandsManager.utils.NumberUtils;
 import ml.empee.commandsManager.utils.helpers.Tuple;
-import org.bukkit.command.CommandException;
 
 @SuperBuilder
 @Getter
@@ -32,19 +34,23 @@ public class LongParser extends ParameterParser<Long> {
 
   @Override
   public Long parse(int offset, String... args) {
-    try {
-      long result = Long.parseLong(args[offset]);
-
-      if(result < min) {
-        throw new CommandException("&e" + result + "&r must be equal or greater then &e" + min);
-      } else if(result > max) {
-        throw new CommandException("&e" + result + "&r must be equal or lower then &e" + min);
-      }
-
-      return result;
-    } catch(NumberFormatException e) {
-      throw new CommandException("The number &e" + args[offset] + "&r isn't valid");
+    return tryParse(offset, args).orElseThrow();
+  }
+
+  @Override
+  public ParseResult<Long> tryParse(int offset, String... args) {
+    if(!NumberUtils.isLong(args[offset])) {
+      return ParseResult.failure(MessageKey.INVALID_NUMBER, args[offset]);
     }
+
+    long result = Long.parseLong(args[offset]);
+    if(result < min) {
+      return ParseResult.failure(MessageKey.LOWER_THAN_MIN, result, min);
+    } else if(result > max) {
+      return ParseResult.failure(MessageKey.GREATER_THAN_MAX, result, max);
+    }
+
+    return ParseResult.success(result);
   }
 
   @Override
@@ -3,25 +3,29 @@ package ml.empee.commandsManager.parsers.types;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
+import ml.empee.commandsManager.messages.MessageKey;
+import ml.empee.commandsManager.parsers.ConstantTable;
 import ml.empee.commandsManager.parsers.DescriptionBuilder;
 import ml.empee.commandsManager.parsers.ParameterParser;
+import ml.empee.commandsManager.parsers.ParseResult;
 import ml.empee.commandsManager.utils.helpers.Tuple;
 import org.bukkit.Material;
-import org.bukkit.command.CommandException;
 import org.bukkit.command.CommandSender;
 
-import java.util.Arrays;
 import java.util.List;
-import java.util.Locale;
-import java.util.stream.Collectors;
 
 @SuperBuilder
 @NoArgsConstructor
 @EqualsAndHashCode(callSuper = true)
 public class MaterialParser extends ParameterParser<Material> {
 
+  private static final int MAX_SIMILAR_NAMES = 3;
+
   private boolean onlyBlocks;
-  private List<String> materials;
+  @EqualsAndHashCode.Exclude
+  private final ConstantTable<Material> materials = ConstantTable.ofMaterials(false);
+  @EqualsAndHashCode.Exclude
+  private final ConstantTable<Material> blocks = ConstantTable.ofMaterials(true);
 
   @Override
   public DescriptionBuilder getDescriptionBuilder() {
@@ -36,26 +40,31 @@ public class MaterialParser extends ParameterParser<Material> {
 
   @Override
   public Material parse(int offset, String... args) {
-    Material material = Material.getMaterial(args[offset].toUpperCase(Locale.ROOT));
-    if(material == null) {
-      throw new CommandException("The value &e" + args[offset] + "&r must be a material");
-    } else if(onlyBlocks && !material.isBlock()) {
-      throw new CommandException("The value &e" + args[offset] + "&r must be a block");
+    return tryParse(offset, args).orElseThrow();
+  }
+
+  @Override
+  public ParseResult<Material> tryParse(int offset, String... args) {
+    Material material = materials.get(args[offset]);
+    if(material == null || (onlyBlocks && !material.isBlock())) {
+      List<String> similarNames = getAllowedMaterials().findSimilar(args[offset], MAX_SIMILAR_NAMES);
+      if(!similarNames.isEmpty()) {
+        return ParseResult.failure(MessageKey.DID_YOU_MEAN, args[offset], String.join(", ", similarNames));
+      }
+
+      return ParseResult.failure(material == null ? MessageKey.INVALID_MATERIAL : MessageKey.INVALID_BLOCK, args[offset]);
     }
 
-    return material;
+    return ParseResult.success(material);
   }
 
   @Override
   public List<String> buildSuggestions(CommandSender source, String arg) {
-    if(materials == null) {
-      materials = Arrays.stream(Material.values())
-              .filter(m -> !onlyBlocks || m.isBlock())
-              .map(Material::name)
-              .collect(Collectors.toList());
-    }
+    return getAllowedMaterials().getNames();
+  }
 
-    return materials;
+  private ConstantTable<Material> getAllowedMaterials() {
+    return onlyBlocks ? blocks : materials;
   }
 
   @Override
@@ -5,12 +5,13 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import ml.empee.commandsManager.messages.MessageKey;
 import ml.empee.commandsManager.parsers.DescriptionBuilder;
 import ml.empee.commandsManager.parsers.ParameterParser;
+import ml.empee.commandsManager.parsers.ParseResult;
 import ml.empee.commandsManager.utils.helpers.Tuple;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
-import org.bukkit.command.CommandException;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
@@ -40,21 +41,45 @@ public class PlayerParser extends ParameterParser<OfflinePlayer> {
 
   @Override
   public OfflinePlayer parse(int offset, String... args) {
+    return tryParse(offset, args).orElseThrow();
+  }
 
+  @Override
+  public ParseResult<OfflinePlayer> tryParse(int offset, String... args) {
     OfflinePlayer player = Bukkit.getPlayer(args[offset]);
     if(player == null) {
       if(onlyOnline) {
-        throw new CommandException("The player &e" + args[offset] + "&r isn't online");
+        return ParseResult.failure(MessageKey.OFFLINE_PLAYER, args[offset]);
+      } else if(!isUUID(args[offset])) {
+        return ParseResult.failure(MessageKey.INVALID_UUID, args[offset]);
       }
 
-      try {
-        player = Bukkit.getOfflinePlayer(UUID.fromString(args[offset]));
-      } catch(IllegalArgumentException e) {
-        throw new CommandException("The value &e" + args[offset] + "&r must be an UUID");
+      player = Bukkit.getOfflinePlayer(UUID.fromString(args[offset]));
+    }
+
+    return ParseResult.success(player);
+  }
+
+  /**
+   * Checks if the value is an UUID in its canonical form (8-4-4-4-12 hex digits)
+   */
+  private static boolean isUUID(String value) {
+    if(value.length() != 36) {
+      return false;
+    }
+
+    for(int i = 0; i < 36; i++) {
+      char c = value.charAt(i);
+      if(i == 8 || i == 13 || i == 18 || i == 23) {
+        if(c != '-') {
+          return false;
+        }
+      } else if(Character.digit(c, 16) == -1) {
+        return false;
       }
     }
 
-    return player;
+    return true;
   }
 
   @Override
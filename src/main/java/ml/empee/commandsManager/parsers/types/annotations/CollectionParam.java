@@ -0,0 +1,28 @@
+package ml.empee.commandsManager.parsers.types.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Configures an array, {@code List}, {@code Set} or {@code Collection} parameter, the elements are parsed
+ * by the parser of the element type
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CollectionParam {
+  String label() default "";
+
+  /**
+   * The separator of the elements inside a single argument, if empty the parameter consumes all the
+   * remaining arguments
+   */
+  String separator() default ",";
+
+  int minSize() default 0;
+
+  int maxSize() default Integer.MAX_VALUE;
+
+  boolean optional() default false;
+}
@@ -0,0 +1,15 @@
+package ml.empee.commandsManager.parsers.types.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the alternative names, case-insensitive, accepted for an enum constant
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EnumAlias {
+  String[] value();
+}
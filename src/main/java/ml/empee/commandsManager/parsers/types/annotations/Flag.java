@@ -0,0 +1,29 @@
+package ml.empee.commandsManager.parsers.types.annotations;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * A named option of a {@link FlagsParam} parameter, used as {@code --name} or {@code -s}
+ */
+@Target({})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Flag {
+  String name();
+
+  /**
+   * The single character alias of the flag, a space if the flag doesn't have one
+   */
+  char shortName() default ' ';
+
+  /**
+   * The type of the flag value, a boolean flag doesn't have a value and it's enabled by its presence.
+   * The other values are parsed by the default parser of their type
+   */
+  Class<?> type() default boolean.class;
+
+  String defaultValue() default "";
+
+  String description() default "";
+}
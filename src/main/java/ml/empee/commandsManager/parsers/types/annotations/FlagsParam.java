@@ -0,0 +1,17 @@
+package ml.empee.commandsManager.parsers.types.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the unordered flags accepted by a {@code Flags} parameter, it must be the last parameter of the node
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface FlagsParam {
+  String label() default "";
+
+  Flag[] value();
+}
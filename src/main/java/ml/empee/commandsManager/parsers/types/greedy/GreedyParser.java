@@ -1,4 +1,19 @@
 package ml.empee.commandsManager.parsers.types.greedy;
 
+/**
+ * A parser that consumes all the remaining arguments, it must be the last parser of a node without children <br><br>
+ * <p>
+ * The tab completer asks a greedy parser for the suggestions of every argument after its position,
+ * e.g. a {@link MsgParser} keeps showing its label while each word of the message is typed. The parser receives
+ * only the arguments starting from its position.
+ */
 public interface GreedyParser {
+
+  /**
+   * @return false if the parser instance consumes a single argument
+   */
+  default boolean isGreedy() {
+    return true;
+  }
+
 }
@@ -3,8 +3,10 @@ package ml.empee.commandsManager.parsers.types.greedy;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
+import ml.empee.commandsManager.command.ArgumentLine;
 import ml.empee.commandsManager.parsers.DescriptionBuilder;
 import ml.empee.commandsManager.parsers.ParameterParser;
+import ml.empee.commandsManager.parsers.ParseResult;
 import ml.empee.commandsManager.utils.helpers.Tuple;
 
 @SuperBuilder
@@ -29,6 +31,14 @@ public class MsgParser extends ParameterParser<String> implements GreedyParser {
     return string.toString();
   }
 
+  /**
+   * Reads the remaining input as it was written, without joining the tokens
+   */
+  @Override
+  public ParseResult<String> tryParse(ArgumentLine line, int index) {
+    return ParseResult.success(line.getRemaining(index).toString());
+  }
+
   @Override
   public ParameterParser<String> copyParser() {
     return copyParser(new MsgParser());
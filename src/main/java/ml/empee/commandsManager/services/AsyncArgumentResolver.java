@@ -0,0 +1,138 @@
+package ml.empee.commandsManager.services;
+
+import ml.empee.commandsManager.exceptions.StacklessCommandException;
+import ml.empee.commandsManager.messages.MessageKey;
+import org.bukkit.command.CommandException;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Waits for the arguments resolved by the {@link ml.empee.commandsManager.parsers.AsyncParser}s <br><br>
+ * <p>
+ * The callbacks are called on the main thread, with the error that failed the resolution or null.
+ * A resolution that exceeds the timeout fails, while the resolutions of a player that quits are
+ * cancelled without calling their callback.
+ */
+public final class AsyncArgumentResolver implements Listener {
+
+  private final Plugin plugin;
+  private final long timeoutTicks;
+  private final Executor executor;
+  private final Map<CommandSender, List<Resolution>> resolutions = new HashMap<>();
+
+  public AsyncArgumentResolver(Plugin plugin, long timeout, TimeUnit unit) {
+    this.plugin = plugin;
+    this.timeoutTicks = Math.max(1, unit.toMillis(timeout) / 50);
+    this.executor = task -> plugin.getServer().getScheduler().runTaskAsynchronously(plugin, task);
+  }
+
+  /**
+   * @return an executor that runs the tasks off the main thread
+   */
+  public Executor getExecutor() {
+    return executor;
+  }
+
+  /**
+   * Must be called from the main thread
+   */
+  public void resolve(CommandSender sender, List<CompletableFuture<?>> arguments, Consumer<CommandException> callback) {
+    Resolution resolution = new Resolution(sender, arguments, callback);
+    resolutions.computeIfAbsent(sender, s -> new ArrayList<>()).add(resolution);
+
+    resolution.timeoutTask = plugin.getServer().getScheduler().runTaskLater(
+            plugin, () -> resolution.complete(new StacklessCommandException(MessageKey.ASYNC_TIMEOUT)), timeoutTicks
+    );
+
+    CompletableFuture.allOf(arguments.toArray(new CompletableFuture[0])).whenComplete(
+            (result, error) -> plugin.getServer().getScheduler().runTask(plugin, () -> resolution.complete(toCommandException(error)))
+    );
+  }
+
+  private static CommandException toCommandException(Throwable error) {
+    if(error instanceof CompletionException && error.getCause() != null) {
+      error = error.getCause();
+    }
+
+    if(error == null || error instanceof CommandException) {
+      return (CommandException) error;
+    }
+
+    return new StacklessCommandException(MessageKey.RUNTIME_ERROR, error);
+  }
+
+  @EventHandler
+  public void onPlayerQuit(PlayerQuitEvent event) {
+    List<Resolution> pending = resolutions.remove(event.getPlayer());
+    if(pending != null) {
+      for(Resolution resolution : new ArrayList<>(pending)) {
+        resolution.cancel();
+      }
+    }
+  }
+
+  private final class Resolution {
+    private final CommandSender sender;
+    private final List<CompletableFuture<?>> arguments;
+    private final Consumer<CommandException> callback;
+    private BukkitTask timeoutTask;
+    private boolean done;
+
+    private Resolution(CommandSender sender, List<CompletableFuture<?>> arguments, Consumer<CommandException> callback) {
+      this.sender = sender;
+      this.arguments = arguments;
+      this.callback = callback;
+    }
+
+    private void complete(CommandException error) {
+      if(done) {
+        return;
+      }
+
+      finish(error != null);
+      if(!(sender instanceof Player) || ((Player) sender).isOnline()) {
+        callback.accept(error);
+      }
+    }
+
+    private void cancel() {
+      if(!done) {
+        finish(true);
+      }
+    }
+
+    private void finish(boolean cancelArguments) {
+      done = true;
+      timeoutTask.cancel();
+      if(cancelArguments) {
+        for(CompletableFuture<?> argument : arguments) {
+          argument.cancel(true);
+        }
+      }
+
+      List<Resolution> pending = resolutions.get(sender);
+      if(pending != null) {
+        pending.remove(this);
+        if(pending.isEmpty()) {
+          resolutions.remove(sender);
+        }
+      }
+    }
+  }
+
+}
@@ -0,0 +1,335 @@
+package ml.empee.commandsManager.services;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Append-only audit trail of the command executions <br><br>
+ * <p>
+ * Executions are claimed on a pre-allocated lock-free ring buffer, a background thread drains it and
+ * appends the records as JSON lines to segmented files, every drained batch is written and flushed
+ * to the disk at once. Segments are rotated when they exceed the configured size. <br>
+ * The writer sleeps while the buffer is empty and is woken up by the next appended record. <br>
+ * When the buffer is full the record is dropped or the caller waits, depending on the {@link OverflowPolicy}.
+ */
+public final class AuditLog implements Closeable {
+
+  private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private final Slot[] slots;
+  private final int mask;
+  private final AtomicLong claimedSequence = new AtomicLong();
+  private volatile long consumedSequence;
+  private final OverflowPolicy overflowPolicy;
+  private final LongAdder dropped = new LongAdder();
+
+  private final File directory;
+  private final long segmentSize;
+  private final Logger logger;
+  private final Thread writer;
+  private volatile boolean running = true;
+  //Set by the writer before parking, so that only the records appended while it sleeps unpark it
+  private volatile boolean writerIdle;
+
+  private final StringBuilder line = new StringBuilder(256);
+  private ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+  private FileChannel segment;
+  private int segmentIndex;
+
+  /**
+   * @param capacity    the size of the ring buffer, rounded up to a power of two
+   * @param segmentSize the size in bytes after which a new file is started
+   */
+  public AuditLog(File directory, int capacity, long segmentSize, OverflowPolicy overflowPolicy, Logger logger) {
+    if(!directory.isDirectory() && !directory.mkdirs()) {
+      throw new IllegalArgumentException("Unable to create the audit directory " + directory);
+    }
+
+    int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+    this.slots = new Slot[size];
+    for(int i = 0; i < size; i++) {
+      slots[i] = new Slot();
+    }
+
+    this.mask = size - 1;
+    this.directory = directory;
+    this.segmentSize = segmentSize;
+    this.overflowPolicy = overflowPolicy;
+    this.logger = logger;
+
+    writer = new Thread(this::drainLoop, "CommandManager-AuditLog");
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  /**
+   * @return the number of records dropped because the buffer was full or the log was closed
+   */
+  public long getDroppedCount() {
+    return dropped.sum();
+  }
+
+  /**
+   * Adds a record to the buffer, the main thread only pays for claiming and filling a slot
+   *
+   * @param command the plugin command label
+   * @param node    the id of the executed node
+   * @return false if the record has been dropped
+   */
+  public boolean append(
+          String command, String node, CommandSender sender, String[] args,
+          CommandRecorder.Outcome outcome, long durationNanos
+  ) {
+    if(!running) {
+      dropped.increment();
+      return false;
+    }
+
+    long sequence = claim();
+    if(sequence < 0) {
+      return false;
+    }
+
+    Slot slot = slots[(int) sequence & mask];
+    slot.timestamp = System.currentTimeMillis();
+    slot.command = command;
+    slot.node = node;
+    slot.senderId = sender instanceof Player ? ((Player) sender).getUniqueId() : null;
+    slot.senderName = sender.getName();
+    slot.args = args;
+    slot.outcome = outcome;
+    slot.duration = durationNanos;
+    slot.published = sequence;
+    if(writerIdle) {
+      writerIdle = false;
+      LockSupport.unpark(writer);
+    }
+
+    return true;
+  }
+
+  private long claim() {
+    while(true) {
+      long sequence = claimedSequence.get();
+      if(sequence - consumedSequence >= slots.length) {
+        if(overflowPolicy == OverflowPolicy.DROP || !running) {
+          dropped.increment();
+          return -1;
+        }
+
+        LockSupport.parkNanos(IDLE_PARK_NANOS);
+      } else if(claimedSequence.compareAndSet(sequence, sequence + 1)) {
+        return sequence;
+      }
+    }
+  }
+
+  private void drainLoop() {
+    try {
+      while(running) {
+        if(!drain()) {
+          awaitRecords();
+        }
+      }
+
+      drain();
+    } catch(IOException e) {
+      logger.log(Level.SEVERE, "The audit log has been stopped", e);
+      running = false;
+    } finally {
+      closeSegment();
+    }
+  }
+
+  /**
+   * Parks the writer until a record is published or the log is closed
+   */
+  private void awaitRecords() {
+    writerIdle = true;
+    //Checked again after raising the flag, a record published before it wouldn't unpark the writer
+    if(running && slots[(int) consumedSequence & mask].published != consumedSequence) {
+      LockSupport.park(this);
+    }
+
+    writerIdle = false;
+  }
+
+  /**
+   * Writes every published record as a single group commit
+   *
+   * @return false if there wasn't anything to write
+   */
+  private boolean drain() throws IOException {
+    long next = consumedSequence;
+    long start = next;
+    Slot slot;
+    while((slot = slots[(int) next & mask]).published == next) {
+      encode(slot);
+      slot.args = null;
+      next += 1;
+      consumedSequence = next;
+    }
+
+    if(next == start) {
+      return false;
+    }
+
+    commit();
+    return true;
+  }
+
+  private void encode(Slot slot) throws IOException {
+    line.setLength(0);
+    line.append("{\"time\":").append(slot.timestamp);
+    line.append(",\"command\":");
+    appendString(slot.command);
+    line.append(",\"node\":");
+    appendString(slot.node);
+    line.append(",\"sender\":");
+    appendString(slot.senderName);
+    if(slot.senderId != null) {
+      line.append(",\"uuid\":\"").append(slot.senderId).append('"');
+    }
+
+    line.append(",\"args\":[");
+    for(int i = 0; i < slot.args.length; i++) {
+      if(i > 0) {
+        line.append(',');
+      }
+
+      appendString(slot.args[i]);
+    }
+
+    line.append("],\"outcome\":\"").append(slot.outcome.name()).append('"');
+    line.append(",\"duration\":").append(slot.duration).append("}\n");
+
+    byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+    if(bytes.length > buffer.remaining()) {
+      writeBuffer();
+      if(bytes.length > buffer.capacity()) {
+        buffer = ByteBuffer.allocateDirect(bytes.length);
+      }
+    }
+
+    buffer.put(bytes);
+  }
+
+  private void appendString(String value) {
+    if(value == null) {
+      line.append("null");
+      return;
+    }
+
+    line.append('"');
+    for(int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if(c == '"' || c == '\\') {
+        line.append('\\').append(c);
+      } else if(c < 0x20) {
+        line.append(String.format("\\u%04x", (int) c));
+      } else {
+        line.append(c);
+      }
+    }
+
+    line.append('"');
+  }
+
+  private void commit() throws IOException {
+    writeBuffer();
+    segment.force(false);
+  }
+
+  private void writeBuffer() throws IOException {
+    if(segment == null || segment.size() >= segmentSize) {
+      rotate();
+    }
+
+    buffer.flip();
+    while(buffer.hasRemaining()) {
+      segment.write(buffer);
+    }
+
+    buffer.clear();
+  }
+
+  private void rotate() throws IOException {
+    closeSegment();
+
+    String date = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+    File file;
+    do {
+      file = new File(directory, "audit-" + date + "-" + segmentIndex + ".log");
+      segmentIndex += 1;
+    } while(file.exists());
+
+    segment = FileChannel.open(file.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+  }
+
+  private void closeSegment() {
+    if(segment != null) {
+      try {
+        segment.close();
+      } catch(IOException e) {
+        logger.log(Level.WARNING, "Unable to close the audit segment", e);
+      }
+
+      segment = null;
+    }
+  }
+
+  /**
+   * Stops the writer after writing the pending records
+   */
+  @Override
+  public void close() {
+    running = false;
+    LockSupport.unpark(writer);
+    try {
+      writer.join();
+    } catch(InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  public enum OverflowPolicy {
+    /**
+     * Discard the record, the executing thread is never blocked
+     */
+    DROP,
+    /**
+     * Wait until the writer frees a slot
+     */
+    BLOCK
+  }
+
+  private static final class Slot {
+    private volatile long published = -1;
+    private long timestamp;
+    private String command;
+    private String node;
+    private UUID senderId;
+    private String senderName;
+    private String[] args;
+    private CommandRecorder.Outcome outcome;
+    private long duration;
+  }
+
+}
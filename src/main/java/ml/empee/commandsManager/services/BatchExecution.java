@@ -0,0 +1,153 @@
+package ml.empee.commandsManager.services;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ml.empee.commandsManager.CommandManager;
+import ml.empee.commandsManager.command.CommandContext;
+import ml.empee.commandsManager.command.CommandInvocation;
+import ml.empee.commandsManager.messages.MessageKey;
+import ml.empee.commandsManager.messages.Messages;
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandException;
+import org.bukkit.command.CommandSender;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Executes a list of command lines through the command trees of a command manager, spreading them
+ * across ticks so that every tick spends at most the given time budget. <br><br>
+ * <p>
+ * Instead of a message for every line, the sender receives a periodic progress report and a summary
+ * with the failed lines. A failure doesn't abort the batch. <br>
+ * Blank lines and lines starting with '#' are skipped.
+ */
+public final class BatchExecution extends BukkitRunnable {
+
+  private static final long PROGRESS_INTERVAL = TimeUnit.SECONDS.toNanos(5);
+  private static final int MAX_REPORTED_FAILURES = 20;
+
+  private final CommandManager commandManager;
+  private final Logger logger;
+  private final CommandSender sender;
+  private final List<String> commands;
+  private final long tickBudget;
+  private final CommandContext context;
+  private final List<Failure> failures = new ArrayList<>();
+
+  @Getter
+  private int executed;
+  @Getter
+  private boolean completed;
+  private long startTime;
+  private long lastProgressTime;
+
+  public BatchExecution(CommandManager commandManager, Logger logger, CommandSender sender, List<String> commands, long tickBudgetMillis) {
+    this.commandManager = commandManager;
+    this.logger = logger;
+    this.sender = sender;
+    this.commands = new ArrayList<>(commands);
+    this.tickBudget = TimeUnit.MILLISECONDS.toNanos(tickBudgetMillis);
+    this.context = new CommandContext(sender);
+  }
+
+  public int getTotal() {
+    return commands.size();
+  }
+
+  public List<Failure> getFailures() {
+    return Collections.unmodifiableList(failures);
+  }
+
+  @Override
+  public void run() {
+    long tickStart = System.nanoTime();
+    if(startTime == 0) {
+      startTime = tickStart;
+      lastProgressTime = tickStart;
+    }
+
+    while(executed < commands.size()) {
+      try {
+        execute(executed, commands.get(executed));
+      } finally {
+        executed += 1;
+      }
+
+      if(System.nanoTime() - tickStart >= tickBudget) {
+        break;
+      }
+    }
+
+    if(executed == commands.size()) {
+      completed = true;
+      cancel();
+      sendSummary();
+    } else if(tickStart - lastProgressTime >= PROGRESS_INTERVAL) {
+      lastProgressTime = tickStart;
+      sender.sendMessage(getMessages().format(MessageKey.BATCH_PROGRESS, executed, commands.size(), failures.size()));
+    }
+  }
+
+  private void execute(int index, String line) {
+    line = line.trim();
+    if(line.isEmpty() || line.charAt(0) == '#') {
+      return;
+    }
+
+    context.reset();
+    try {
+      CommandInvocation invocation = commandManager.parse(sender, line);
+      invocation.getCommand().invoke(context, invocation);
+    } catch(CommandException exception) {
+      failures.add(new Failure(index + 1, line, getMessages().formatError(exception)));
+
+      Throwable cause = exception.getCause();
+      if(cause != null) {
+        if(cause instanceof InvocationTargetException) {
+          cause = cause.getCause();
+        }
+
+        logger.log(Level.SEVERE, "Error while executing the batch line " + (index + 1) + ": " + line, cause);
+      }
+    } catch(RuntimeException exception) {
+      failures.add(new Failure(index + 1, line, getMessages().formatError(MessageKey.RUNTIME_ERROR)));
+      logger.log(Level.SEVERE, "Error while executing the batch line " + (index + 1) + ": " + line, exception);
+    }
+  }
+
+  private void sendSummary() {
+    Messages messages = getMessages();
+    long time = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    sender.sendMessage(messages.format(MessageKey.BATCH_SUMMARY, executed, time, failures.size()));
+
+    for(int i = 0; i < failures.size(); i++) {
+      Failure failure = failures.get(i);
+      String message = messages.format(MessageKey.BATCH_FAILURE, failure.getLine(), failure.getCommand(), failure.getError());
+      if(i < MAX_REPORTED_FAILURES) {
+        sender.sendMessage(message);
+      }
+
+      logger.warning(ChatColor.stripColor(message));
+    }
+  }
+
+  private Messages getMessages() {
+    return commandManager.getMessages();
+  }
+
+  @Getter
+  @RequiredArgsConstructor
+  public static final class Failure {
+    private final int line;
+    private final String command;
+    private final String error;
+  }
+
+}
@@ -0,0 +1,274 @@
+package ml.empee.commandsManager.services;
+
+import lombok.NonNull;
+import ml.empee.commandsManager.command.CommandContext;
+import ml.empee.commandsManager.command.CommandInterceptor;
+import ml.empee.commandsManager.command.Node;
+import ml.empee.commandsManager.command.annotations.Cacheable;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Entity;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Memoizes the messages sent by the nodes annotated with {@link Cacheable} <br><br>
+ * <p>
+ * On a miss the node is executed with a sender that records its messages, together with the lines it writes
+ * to the context output, on a hit they are replayed to the sender without executing the node. <br>
+ * It's linked as the innermost interceptor of the cacheable nodes, so the other interceptors run
+ * on every execution. <br>
+ * The nodes with the same cache name share the region of the first one, so that they are invalidated together.
+ * Messages sent through {@code Player.spigot()} can't be recorded, the executions that use it aren't cached:
+ * send the components through the context output instead.
+ */
+public final class CommandCache implements CommandInterceptor {
+
+  private final Map<String, Region> regionsByName = new HashMap<>();
+  private final Map<Node, Region> regionsByNode = new WeakHashMap<>();
+
+  @Override
+  public synchronized boolean appliesTo(Node node) {
+    Cacheable cacheable = node.getAnnotation(Cacheable.class);
+    if(cacheable == null) {
+      return false;
+    }
+
+    String name = cacheable.value().isEmpty() ? node.getId() : cacheable.value();
+    regionsByNode.put(node, regionsByName.computeIfAbsent(name, k -> new Region(cacheable)));
+    return true;
+  }
+
+  @Override
+  public Object intercept(CommandContext context, Node node, Object[] args, Chain next) throws Exception {
+    Region region;
+    synchronized(this) {
+      region = regionsByNode.get(node);
+    }
+
+    CommandSender sender = (CommandSender) args[0];
+    Key key = new Key(node.getId(), region.perSender ? sender.getName() : null, args);
+    CachedOutput cached = region.get(key);
+    if(cached != null) {
+      for(String message : cached.messages) {
+        sender.sendMessage(message);
+      }
+
+      context.getOutput().sendLines(cached.bufferedLines);
+      return null;
+    }
+
+    MessageRecorder recorder = new MessageRecorder(sender);
+    CommandSender proxy = recorder.newProxy();
+    if(proxy == null) {
+      return next.proceed(context, args);
+    }
+
+    Object[] recordedArgs = args.clone();
+    recordedArgs[0] = proxy;
+    int bufferedLines = context.getOutput().size();
+    Object result = next.proceed(context, recordedArgs);
+    if(result == null && !recorder.unrecordedOutput) {
+      region.put(key, recorder.messages.toArray(new String[0]), context.getOutput().copyLines(bufferedLines));
+    }
+
+    return result;
+  }
+
+  /**
+   * Removes the cached executions of a cache, e.g. when the data shown by its node changes
+   *
+   * @param name the name of the cache or the id of the node
+   */
+  public void invalidate(@NonNull String name) {
+    Region region;
+    synchronized(this) {
+      region = regionsByName.get(name);
+    }
+
+    if(region != null) {
+      region.clear();
+    }
+  }
+
+  public void invalidateAll() {
+    List<Region> regions;
+    synchronized(this) {
+      regions = new ArrayList<>(regionsByName.values());
+    }
+
+    for(Region region : regions) {
+      region.clear();
+    }
+  }
+
+  public synchronized Set<String> getCacheNames() {
+    return Collections.unmodifiableSet(new LinkedHashSet<>(regionsByName.keySet()));
+  }
+
+  private static final class Region {
+    private final long ttl;
+    private final boolean perSender;
+    private final LinkedHashMap<Key, CachedOutput> entries;
+
+    private Region(Cacheable cacheable) {
+      this.ttl = cacheable.unit().toNanos(cacheable.ttl());
+      this.perSender = cacheable.perSender();
+      int maxSize = cacheable.maxSize();
+      this.entries = new LinkedHashMap<Key, CachedOutput>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, CachedOutput> eldest) {
+          return size() > maxSize;
+        }
+      };
+    }
+
+    private synchronized CachedOutput get(Key key) {
+      CachedOutput entry = entries.get(key);
+      if(entry == null) {
+        return null;
+      }
+
+      if(System.nanoTime() - entry.expiresAt >= 0) {
+        entries.remove(key);
+        return null;
+      }
+
+      return entry;
+    }
+
+    private synchronized void put(Key key, String[] messages, Object[] bufferedLines) {
+      entries.put(key, new CachedOutput(messages, bufferedLines, System.nanoTime() + ttl));
+    }
+
+    private synchronized void clear() {
+      entries.clear();
+    }
+  }
+
+  private static final class CachedOutput {
+    private final String[] messages;
+    //The lines written to the output buffer of the context
+    private final Object[] bufferedLines;
+    private final long expiresAt;
+
+    private CachedOutput(String[] messages, Object[] bufferedLines, long expiresAt) {
+      this.messages = messages;
+      this.bufferedLines = bufferedLines;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+  //The node id, the sender name if the cache is per sender and the arguments except the sender
+  private static final class Key {
+    private final Object[] values;
+    private final int hash;
+
+    private Key(String nodeId, String sender, Object[] args) {
+      values = new Object[args.length + 1];
+      values[0] = nodeId;
+      values[1] = sender;
+      for(int i = 1; i < args.length; i++) {
+        values[i + 1] = toKeyValue(args[i]);
+      }
+
+      hash = Arrays.deepHashCode(values);
+    }
+
+    /**
+     * Players and worlds are identified by their id, so that the cache doesn't keep them loaded
+     */
+    private static Object toKeyValue(Object arg) {
+      if(arg instanceof Entity) {
+        return ((Entity) arg).getUniqueId();
+      } else if(arg instanceof OfflinePlayer) {
+        return ((OfflinePlayer) arg).getUniqueId();
+      } else if(arg instanceof World) {
+        return ((World) arg).getUID();
+      }
+
+      return arg;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Key && hash == ((Key) o).hash && Arrays.deepEquals(values, ((Key) o).values);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
+  /**
+   * Forwards every call to the sender, recording the messages sent to it <br>
+   * Equality is forwarded too, so the proxy can be used to look up the sender context.
+   */
+  private static final class MessageRecorder implements InvocationHandler {
+    private final CommandSender sender;
+    private final List<String> messages = new ArrayList<>();
+    //Player.Spigot is a class, so the messages sent through it can't be recorded
+    private boolean unrecordedOutput;
+
+    private MessageRecorder(CommandSender sender) {
+      this.sender = sender;
+    }
+
+    /**
+     * @return null if the interfaces of the sender can't be proxied
+     */
+    private CommandSender newProxy() {
+      Set<Class<?>> interfaces = new LinkedHashSet<>();
+      for(Class<?> type = sender.getClass(); type != null; type = type.getSuperclass()) {
+        interfaces.addAll(Arrays.asList(type.getInterfaces()));
+      }
+
+      try {
+        return (CommandSender) Proxy.newProxyInstance(
+                sender.getClass().getClassLoader(), interfaces.toArray(new Class<?>[0]), this
+        );
+      } catch(IllegalArgumentException e) {
+        return null;
+      }
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      if(method.getName().equals("spigot") && args == null) {
+        unrecordedOutput = true;
+      } else if(method.getName().equals("sendMessage") && args != null && args.length == 1) {
+        if(args[0] instanceof String) {
+          messages.add((String) args[0]);
+        } else if(args[0] instanceof String[]) {
+          messages.addAll(Arrays.asList((String[]) args[0]));
+        }
+      }
+
+      if(args != null && args.length == 1 && args[0] == proxy) {
+        args = new Object[] {sender};
+      }
+
+      try {
+        return method.invoke(sender, args);
+      } catch(InvocationTargetException e) {
+        throw e.getCause();
+      }
+    }
+  }
+
+}
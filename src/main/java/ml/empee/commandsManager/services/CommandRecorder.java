@@ -0,0 +1,276 @@
+package ml.empee.commandsManager.services;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.bukkit.command.CommandSender;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes the executed commands and the tab completions to a compact binary log, that can be replayed
+ * through a {@link CommandReplayer} <br><br>
+ * <p>
+ * Every record contains the time elapsed since the previous record, the sender class, the command label,
+ * the arguments, the outcome and the time spent handling the request. <br>
+ * Sender classes are written once and then referenced by index. <br><br>
+ * <p>
+ * Records are queued by the calling thread and written by a background thread, if the queue is full the
+ * record is dropped. An I/O error stops the recording and it's logged, it isn't thrown to the caller.
+ */
+public final class CommandRecorder implements Closeable {
+
+  private static final int MAGIC = 0x434d444c; //CMDL
+  private static final int VERSION = 1;
+  private static final int SENDER_DEFINITION = 0xFF;
+  private static final int DEFAULT_CAPACITY = 8192;
+  private static final long IDLE_POLL_MILLIS = 50;
+
+  private final DataOutputStream output;
+  private final BlockingQueue<PendingRecord> queue;
+  private final LongAdder dropped = new LongAdder();
+  private final Logger logger;
+  private final Thread writer;
+  private volatile boolean running = true;
+
+  //Accessed only by the writer
+  private final HashMap<Class<?>, Integer> senderIds = new HashMap<>();
+  private long lastTimestamp;
+  @Getter
+  private volatile long recordsCount;
+
+  public CommandRecorder(File file, Logger logger) throws IOException {
+    this(file, DEFAULT_CAPACITY, logger);
+  }
+
+  /**
+   * @param capacity the max number of records waiting to be written
+   */
+  public CommandRecorder(File file, int capacity, Logger logger) throws IOException {
+    output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+    output.writeInt(MAGIC);
+    output.writeInt(VERSION);
+    lastTimestamp = System.currentTimeMillis();
+
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.logger = logger;
+
+    writer = new Thread(this::writeLoop, "CommandManager-Recorder");
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  /**
+   * @return the number of records dropped because the queue was full or the recording was stopped
+   */
+  public long getDroppedCount() {
+    return dropped.sum();
+  }
+
+  /**
+   * Queues a record, the calling thread doesn't perform any I/O
+   *
+   * @return false if the record has been dropped
+   */
+  public boolean record(
+          Kind kind, CommandSender sender, String label, String[] args, Outcome outcome, long durationNanos
+  ) {
+    PendingRecord record = new PendingRecord(
+            kind, System.currentTimeMillis(), sender.getClass(), label, args, outcome, durationNanos
+    );
+
+    if(!running || !queue.offer(record)) {
+      dropped.increment();
+      return false;
+    }
+
+    return true;
+  }
+
+  private void writeLoop() {
+    List<PendingRecord> batch = new ArrayList<>();
+    try {
+      while(running || !queue.isEmpty()) {
+        PendingRecord record = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if(record == null) {
+          continue;
+        }
+
+        batch.add(record);
+        queue.drainTo(batch);
+        for(PendingRecord pendingRecord : batch) {
+          write(pendingRecord);
+        }
+
+        batch.clear();
+        output.flush();
+      }
+    } catch(IOException e) {
+      logger.log(Level.SEVERE, "The command recording has been stopped", e);
+      running = false;
+      queue.clear();
+    } catch(InterruptedException e) {
+      running = false;
+      Thread.currentThread().interrupt();
+    } finally {
+      try {
+        output.close();
+      } catch(IOException e) {
+        logger.log(Level.WARNING, "Unable to close the command log", e);
+      }
+    }
+  }
+
+  private void write(PendingRecord record) throws IOException {
+    Integer senderId = senderIds.get(record.senderClass);
+    if(senderId == null) {
+      senderId = senderIds.size();
+      senderIds.put(record.senderClass, senderId);
+      output.writeByte(SENDER_DEFINITION);
+      output.writeUTF(record.senderClass.getName());
+    }
+
+    output.writeByte(record.kind.ordinal());
+    writeVarLong(output, Math.max(0, record.timestamp - lastTimestamp));
+    writeVarLong(output, senderId);
+    output.writeUTF(record.label);
+    writeVarLong(output, record.args.length);
+    for(String arg : record.args) {
+      output.writeUTF(arg == null ? "" : arg);
+    }
+
+    output.writeByte(record.outcome.ordinal());
+    writeVarLong(output, record.durationNanos);
+
+    lastTimestamp = record.timestamp;
+    recordsCount += 1;
+  }
+
+  /**
+   * Stops the writer after writing the queued records
+   */
+  @Override
+  public void close() {
+    running = false;
+    try {
+      writer.join();
+    } catch(InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Reads all the records of a log
+   */
+  public static List<Record> read(File file) throws IOException {
+    List<Record> records = new ArrayList<>();
+    List<String> senderClasses = new ArrayList<>();
+    try(DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+      if(input.readInt() != MAGIC) {
+        throw new IOException("The file " + file.getName() + " isn't a command log");
+      }
+
+      int version = input.readInt();
+      if(version != VERSION) {
+        throw new IOException("Unsupported command log version " + version);
+      }
+
+      long timestamp = 0;
+      int type;
+      while((type = input.read()) != -1) {
+        if(type == SENDER_DEFINITION) {
+          senderClasses.add(input.readUTF());
+          continue;
+        }
+
+        timestamp += readVarLong(input);
+        String senderClass = senderClasses.get((int) readVarLong(input));
+        String label = input.readUTF();
+        String[] args = new String[(int) readVarLong(input)];
+        for(int i = 0; i < args.length; i++) {
+          args[i] = input.readUTF();
+        }
+
+        Outcome outcome = Outcome.values()[input.readByte()];
+        long duration = readVarLong(input);
+        records.add(new Record(Kind.values()[type], timestamp, senderClass, label, args, outcome, duration));
+      }
+    }
+
+    return records;
+  }
+
+  private static void writeVarLong(DataOutputStream output, long value) throws IOException {
+    while((value & ~0x7FL) != 0) {
+      output.writeByte((int) (value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+
+    output.writeByte((int) value);
+  }
+
+  private static long readVarLong(DataInputStream input) throws IOException {
+    long value = 0;
+    for(int shift = 0; shift < 64; shift += 7) {
+      byte b = input.readByte();
+      value |= (long) (b & 0x7F) << shift;
+      if((b & 0x80) == 0) {
+        return value;
+      }
+    }
+
+    throw new IOException("Malformed variable length number");
+  }
+
+  public enum Kind {
+    EXECUTION, COMPLETION
+  }
+
+  public enum Outcome {
+    SUCCESS,
+    /**
+     * The command has been rejected, e.g. invalid arguments or missing permissions
+     */
+    FAILURE,
+    /**
+     * The command has thrown an unexpected exception
+     */
+    ERROR
+  }
+
+  @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+  private static final class PendingRecord {
+    private final Kind kind;
+    private final long timestamp;
+    private final Class<?> senderClass;
+    private final String label;
+    private final String[] args;
+    private final Outcome outcome;
+    private final long durationNanos;
+  }
+
+  @Getter
+  @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+  public static final class Record {
+    private final Kind kind;
+    /**
+     * Milliseconds elapsed since the start of the recording
+     */
+    private final long timestamp;
+    private final String senderClass;
+    private final String label;
+    private final String[] args;
+    private final Outcome outcome;
+    private final long durationNanos;
+  }
+
+}
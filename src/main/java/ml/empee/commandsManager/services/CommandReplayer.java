@@ -0,0 +1,209 @@
+package ml.empee.commandsManager.services;
+
+import lombok.Getter;
+import lombok.Setter;
+import ml.empee.commandsManager.CommandManager;
+import ml.empee.commandsManager.command.CommandContext;
+import ml.empee.commandsManager.command.CommandExecutor;
+import org.bukkit.command.CommandException;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.PluginCommand;
+import org.bukkit.command.TabCompleter;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a log written by a {@link CommandRecorder} against the commands of a manager, without a running server <br><br>
+ * <p>
+ * The recorded requests are spread across a number of synthetic players, whose senders are created by a
+ * {@link SenderFactory} (e.g. mocks). Requests are replayed on the calling thread, like on the server main
+ * thread, either as fast as possible or respecting the recorded timings.
+ */
+public final class CommandReplayer {
+
+  private final CommandManager commandManager;
+  private final SenderFactory senderFactory;
+
+  /**
+   * Number of synthetic players, the n-th record is sent by the player n % players
+   */
+  @Setter
+  private int players = 1;
+  @Setter
+  private boolean recordedSpeed = false;
+
+  public CommandReplayer(CommandManager commandManager, SenderFactory senderFactory) {
+    this.commandManager = commandManager;
+    this.senderFactory = senderFactory;
+  }
+
+  public Report replay(List<CommandRecorder.Record> records) {
+    List<HashMap<String, CommandSender>> senders = new ArrayList<>(players);
+    for(int i = 0; i < players; i++) {
+      senders.add(new HashMap<>());
+    }
+
+    long[] latencies = new long[records.size()];
+    int failures = 0;
+    int skipped = 0;
+
+    ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    long allocationStart = getAllocatedBytes(threadBean);
+    long start = System.nanoTime();
+    long firstTimestamp = records.isEmpty() ? 0 : records.get(0).getTimestamp();
+
+    int executed = 0;
+    for(int i = 0; i < records.size(); i++) {
+      CommandRecorder.Record record = records.get(i);
+      CommandExecutor command = commandManager.getCommand(record.getLabel());
+      if(command == null) {
+        skipped += 1;
+        continue;
+      }
+
+      if(recordedSpeed) {
+        waitUntil(start + TimeUnit.MILLISECONDS.toNanos(record.getTimestamp() - firstTimestamp));
+      }
+
+      CommandSender sender = getSender(senders, i % players, record.getSenderClass());
+      long requestStart = System.nanoTime();
+      if(!replay(command, sender, record)) {
+        failures += 1;
+      }
+
+      latencies[executed] = System.nanoTime() - requestStart;
+      executed += 1;
+    }
+
+    long elapsed = System.nanoTime() - start;
+    long allocationEnd = getAllocatedBytes(threadBean);
+    long allocated = allocationStart < 0 || allocationEnd < 0 ? -1 : allocationEnd - allocationStart;
+
+    latencies = Arrays.copyOf(latencies, executed);
+    Arrays.sort(latencies);
+    return new Report(executed, failures, skipped, elapsed, latencies, allocated);
+  }
+
+  private boolean replay(CommandExecutor command, CommandSender sender, CommandRecorder.Record record) {
+    PluginCommand pluginCommand = command.getPluginCommand();
+    if(record.getKind() == CommandRecorder.Kind.COMPLETION) {
+      TabCompleter completer = pluginCommand.getTabCompleter();
+      if(completer != null) {
+        completer.onTabComplete(sender, pluginCommand, record.getLabel(), record.getArgs());
+      }
+
+      return true;
+    }
+
+    try {
+      command.dispatch(new CommandContext(sender), record.getArgs());
+      return true;
+    } catch(CommandException e) {
+      return false;
+    }
+  }
+
+  private CommandSender getSender(List<HashMap<String, CommandSender>> senders, int player, String senderClass) {
+    return senders.get(player).computeIfAbsent(senderClass, c -> senderFactory.create(c, player));
+  }
+
+  private static void waitUntil(long time) {
+    long remaining = time - System.nanoTime();
+    if(remaining > 0) {
+      try {
+        TimeUnit.NANOSECONDS.sleep(remaining);
+      } catch(InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private static long getAllocatedBytes(ThreadMXBean threadBean) {
+    if(threadBean instanceof com.sun.management.ThreadMXBean) {
+      com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) threadBean;
+      if(bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+        return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+      }
+    }
+
+    return -1;
+  }
+
+  @FunctionalInterface
+  public interface SenderFactory {
+    /**
+     * @param senderClass the class name of the recorded sender
+     * @param player      the index of the synthetic player
+     */
+    CommandSender create(String senderClass, int player);
+  }
+
+  @Getter
+  public static final class Report {
+    private final int requests;
+    private final int failures;
+    /**
+     * Records whose command isn't registered
+     */
+    private final int skipped;
+    private final long elapsedNanos;
+    private final long[] latencies;
+    /**
+     * Bytes allocated during the replay, -1 if the JVM doesn't support allocation tracking
+     */
+    private final long allocatedBytes;
+
+    private Report(int requests, int failures, int skipped, long elapsedNanos, long[] latencies, long allocatedBytes) {
+      this.requests = requests;
+      this.failures = failures;
+      this.skipped = skipped;
+      this.elapsedNanos = elapsedNanos;
+      this.latencies = latencies;
+      this.allocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * @return requests per second
+     */
+    public double getThroughput() {
+      return elapsedNanos == 0 ? 0 : requests / (elapsedNanos / 1e9);
+    }
+
+    /**
+     * @return allocated bytes per second, -1 if unknown
+     */
+    public double getAllocationRate() {
+      return allocatedBytes < 0 || elapsedNanos == 0 ? -1 : allocatedBytes / (elapsedNanos / 1e9);
+    }
+
+    /**
+     * @param percentile a value between 0 and 100
+     * @return the latency in nanoseconds
+     */
+    public long getLatency(double percentile) {
+      if(latencies.length == 0) {
+        return 0;
+      }
+
+      int index = (int) Math.ceil(percentile / 100 * latencies.length) - 1;
+      return latencies[Math.max(0, Math.min(index, latencies.length - 1))];
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+              "%d requests (%d failed, %d skipped) in %.1f ms - %.0f req/s - latency p50 %.1f us, p90 %.1f us, p99 %.1f us, max %.1f us - %s",
+              requests, failures, skipped, elapsedNanos / 1e6, getThroughput(),
+              getLatency(50) / 1e3, getLatency(90) / 1e3, getLatency(99) / 1e3, getLatency(100) / 1e3,
+              allocatedBytes < 0 ? "allocation rate unavailable" : String.format("%.1f MB/s allocated", getAllocationRate() / 1e6)
+      );
+    }
+  }
+
+}
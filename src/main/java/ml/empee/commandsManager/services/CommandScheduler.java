@@ -0,0 +1,228 @@
+package ml.empee.commandsManager.services;
+
+import lombok.Getter;
+import lombok.Setter;
+import ml.empee.commandsManager.CommandManager;
+import ml.empee.commandsManager.command.CommandInvocation;
+import ml.empee.commandsManager.utils.TimingWheel;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandException;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.io.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Executes commands after a delay or periodically, every command is parsed once when it's scheduled
+ * and stored on a {@link TimingWheel} that is advanced every tick. <br><br>
+ * <p>
+ * At most {@link #setMaxExecutionsPerTick(int) maxExecutionsPerTick} due commands are executed every
+ * tick, the remaining ones are postponed to the next ticks. <br>
+ * Scheduled commands can be saved to a file and loaded back after a restart, in that case they are
+ * parsed again when they become due. <br>
+ * When a player quits, the parsed invocations that reference it (as sender or as argument) are
+ * dropped, so that they are parsed again against the current players when they become due. <br><br>
+ * <p>
+ * The scheduler must be used from the main thread and registered as a listener.
+ */
+public final class CommandScheduler extends BukkitRunnable implements Listener {
+
+  private static final int FILE_VERSION = 1;
+
+  private final CommandManager commandManager;
+  private final Logger logger;
+  private final TimingWheel<ScheduledCommand> wheel = new TimingWheel<>(0);
+  private final ArrayDeque<ScheduledCommand> dueCommands = new ArrayDeque<>();
+  private final Consumer<ScheduledCommand> dueCommandsAppender = dueCommands::add;
+
+  @Setter
+  private int maxExecutionsPerTick = 200;
+
+  public CommandScheduler(CommandManager commandManager, Logger logger) {
+    this.commandManager = commandManager;
+    this.logger = logger;
+  }
+
+  public ScheduledCommand schedule(CommandSender sender, String commandLine, long delay) {
+    return schedule(sender, commandLine, delay, 0);
+  }
+
+  /**
+   * @param commandLine the command to execute, it's parsed immediately
+   * @param delay       ticks before the first execution
+   * @param period      ticks between the executions, 0 to execute the command once
+   * @throws CommandException if the command isn't valid
+   */
+  public ScheduledCommand schedule(CommandSender sender, String commandLine, long delay, long period) {
+    return schedule(commandManager.parse(sender, commandLine), delay, period);
+  }
+
+  public ScheduledCommand schedule(CommandInvocation invocation, long delay, long period) {
+    UUID senderId = invocation.getSender() instanceof Player ? ((Player) invocation.getSender()).getUniqueId() : null;
+    ScheduledCommand command = new ScheduledCommand(this, invocation.toCommandLine(), senderId, period);
+    command.persistent = senderId != null || invocation.getSender() instanceof ConsoleCommandSender;
+    command.invocation = invocation;
+
+    wheel.schedule(command, wheel.getCurrentTick() + delay);
+    return command;
+  }
+
+  /**
+   * @return the number of commands waiting to be executed
+   */
+  public int getPendingCount() {
+    return wheel.size() + dueCommands.size();
+  }
+
+  private void cancel(ScheduledCommand command) {
+    command.cancelled = true;
+    wheel.cancel(command);
+  }
+
+  @EventHandler
+  public void onPlayerQuit(PlayerQuitEvent event) {
+    Player player = event.getPlayer();
+    Consumer<ScheduledCommand> release = command -> {
+      if(command.invocation != null && command.invocation.references(player)) {
+        command.invocation = null;
+      }
+    };
+
+    wheel.forEach(release);
+    dueCommands.forEach(release);
+  }
+
+  @Override
+  public void run() {
+    wheel.advance(dueCommandsAppender);
+
+    int executions = 0;
+    while(executions < maxExecutionsPerTick && !dueCommands.isEmpty()) {
+      ScheduledCommand command = dueCommands.poll();
+      if(command.cancelled) {
+        continue;
+      }
+
+      execute(command);
+      executions += 1;
+
+      if(command.period > 0 && !command.cancelled) {
+        wheel.schedule(command, command.getDeadline() + command.period);
+      }
+    }
+  }
+
+  private void execute(ScheduledCommand command) {
+    if(command.invocation == null) {
+      CommandSender sender = command.senderId == null ? Bukkit.getConsoleSender() : Bukkit.getPlayer(command.senderId);
+      if(sender == null) {
+        logger.log(Level.FINE, "Skipping the scheduled command {0}, its sender is offline", command.commandLine);
+        return;
+      }
+
+      try {
+        command.invocation = commandManager.parse(sender, command.commandLine);
+      } catch(CommandException e) {
+        logger.log(Level.WARNING, "Unable to parse the scheduled command {0}: {1}", new Object[] {command.commandLine, commandManager.getMessages().format(e)});
+        command.cancelled = true;
+        return;
+      }
+    }
+
+    command.invocation.getCommand().execute(command.invocation);
+  }
+
+  /**
+   * Saves the scheduled commands, commands sent by senders that aren't players or the console are skipped
+   */
+  public void save(File file) throws IOException {
+    List<ScheduledCommand> commands = new ArrayList<>(dueCommands);
+    wheel.forEach(commands::add);
+    commands.removeIf(c -> c.cancelled || !c.persistent);
+
+    try(DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+      output.writeInt(FILE_VERSION);
+      output.writeInt(commands.size());
+      for(ScheduledCommand command : commands) {
+        output.writeBoolean(command.senderId != null);
+        if(command.senderId != null) {
+          output.writeLong(command.senderId.getMostSignificantBits());
+          output.writeLong(command.senderId.getLeastSignificantBits());
+        }
+
+        output.writeLong(command.isScheduled() ? command.getDeadline() - wheel.getCurrentTick() : 0);
+        output.writeLong(command.period);
+        output.writeUTF(command.commandLine);
+      }
+    }
+  }
+
+  /**
+   * Schedules the commands saved inside the file
+   *
+   * @return the loaded commands
+   */
+  public List<ScheduledCommand> load(File file) throws IOException {
+    List<ScheduledCommand> commands = new ArrayList<>();
+    try(DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+      int version = input.readInt();
+      if(version != FILE_VERSION) {
+        throw new IOException("Unsupported scheduled commands file version " + version);
+      }
+
+      int size = input.readInt();
+      for(int i = 0; i < size; i++) {
+        UUID senderId = input.readBoolean() ? new UUID(input.readLong(), input.readLong()) : null;
+        long delay = input.readLong();
+        long period = input.readLong();
+        String commandLine = input.readUTF();
+
+        ScheduledCommand command = new ScheduledCommand(this, commandLine, senderId, period);
+        wheel.schedule(command, wheel.getCurrentTick() + delay);
+        commands.add(command);
+      }
+    }
+
+    return commands;
+  }
+
+  /**
+   * A command waiting inside the scheduler
+   */
+  public static final class ScheduledCommand extends TimingWheel.Entry {
+    private final CommandScheduler scheduler;
+    @Getter
+    private final String commandLine;
+    private final UUID senderId;
+    @Getter
+    private final long period;
+    private CommandInvocation invocation;
+    private boolean persistent = true;
+    @Getter
+    private boolean cancelled;
+
+    private ScheduledCommand(CommandScheduler scheduler, String commandLine, UUID senderId, long period) {
+      this.scheduler = scheduler;
+      this.commandLine = commandLine;
+      this.senderId = senderId;
+      this.period = period;
+    }
+
+    public void cancel() {
+      scheduler.cancel(this);
+    }
+  }
+
+}
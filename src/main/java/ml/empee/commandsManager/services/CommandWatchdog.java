@@ -0,0 +1,238 @@
+package ml.empee.commandsManager.services;
+
+import lombok.Getter;
+import ml.empee.commandsManager.command.Node;
+
+import java.io.Closeable;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Detects node executions that take longer than a budget, sampling the stack of the executing thread <br><br>
+ * <p>
+ * Only the executions of the thread that created the watchdog (the server thread) are monitored. Entering and
+ * leaving a node costs a volatile write each, a monitor thread polls the running execution and, once it exceeds
+ * the budget, samples its stack until it ends. <br>
+ * Slow executions are logged as collapsed stacks and tracked inside a bounded table of the worst offenders. <br>
+ * Only the raw argument tokens are captured, so the monitor thread never touches the parsed values.
+ */
+public final class CommandWatchdog implements Closeable {
+
+  private static final int REPORTED_STACKS = 5;
+  private static final int REPORTED_FRAMES = 10;
+
+  private final Thread watchedThread;
+  private final long budget;
+  private final long sampleInterval;
+  private final int maxOffenders;
+  private final Logger logger;
+  private final Thread monitor;
+  private volatile boolean running = true;
+
+  //Written by the watched thread, published by the volatile sequence, odd while a node is executing
+  private volatile long sequence;
+  private int depth;
+  private Node node;
+  private String[] args;
+  private long start;
+  private long duration;
+
+  //Used only by the monitor thread
+  private final HashMap<String, Integer> samples = new HashMap<>();
+  private long sampledSequence = -1;
+  private Node slowNode;
+  private String[] slowArgs;
+  private long slowStart;
+
+  private final HashMap<String, Offender> offenders = new HashMap<>();
+
+  /**
+   * @param budget       the execution time after which a node is considered slow
+   * @param maxOffenders the size of the offenders table
+   */
+  public CommandWatchdog(long budget, TimeUnit unit, int maxOffenders, Logger logger) {
+    this.watchedThread = Thread.currentThread();
+    this.budget = unit.toNanos(budget);
+    this.sampleInterval = Math.max(TimeUnit.MICROSECONDS.toNanos(500), this.budget / 5);
+    this.maxOffenders = maxOffenders;
+    this.logger = logger;
+
+    monitor = new Thread(this::monitorLoop, "CommandManager-Watchdog");
+    monitor.setDaemon(true);
+    monitor.start();
+  }
+
+  /**
+   * @param args the raw argument tokens of the command
+   */
+  public void enter(Node node, String[] args) {
+    if(Thread.currentThread() != watchedThread || depth++ > 0) {
+      return;
+    }
+
+    this.node = node;
+    this.args = args;
+    this.start = System.nanoTime();
+    sequence += 1;
+  }
+
+  public void exit() {
+    if(Thread.currentThread() != watchedThread || --depth > 0) {
+      return;
+    }
+
+    duration = System.nanoTime() - start;
+    sequence += 1;
+  }
+
+  private void monitorLoop() {
+    while(running) {
+      LockSupport.parkNanos(sampleInterval);
+
+      long currentSequence = sequence;
+      if(sampledSequence != -1 && currentSequence != sampledSequence) {
+        long executionTime = duration;
+        if(currentSequence != sampledSequence + 1 || sequence != currentSequence) {
+          executionTime = System.nanoTime() - slowStart; //Another execution has already started
+        }
+
+        report(executionTime);
+      }
+
+      if((currentSequence & 1) == 1) {
+        Node currentNode = node;
+        String[] currentArgs = args;
+        long currentStart = start;
+        if(System.nanoTime() - currentStart > budget) {
+          String stack = collapse(watchedThread.getStackTrace());
+          if(sequence == currentSequence) {
+            if(sampledSequence != currentSequence) {
+              slowNode = currentNode;
+              slowArgs = currentArgs;
+              slowStart = currentStart;
+              sampledSequence = currentSequence;
+            }
+
+            samples.merge(stack, 1, Integer::sum);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Logs the samples of the last slow execution
+   */
+  private void report(long executionTime) {
+    String nodeId = slowNode.getId();
+    String arguments = Arrays.toString(slowArgs);
+
+    List<Map.Entry<String, Integer>> stacks = new ArrayList<>(samples.entrySet());
+    stacks.sort((a, b) -> b.getValue() - a.getValue());
+
+    StringBuilder report = new StringBuilder()
+            .append("The command node ").append(nodeId).append(" took ")
+            .append(TimeUnit.NANOSECONDS.toMillis(executionTime)).append("ms")
+            .append("\n\t - Arguments: ").append(arguments)
+            .append("\n\t - Hot stacks (samples):");
+    for(int i = 0; i < Math.min(REPORTED_STACKS, stacks.size()); i++) {
+      report.append("\n\t").append(stacks.get(i).getValue()).append(' ').append(stacks.get(i).getKey());
+    }
+
+    logger.log(Level.WARNING, report.toString());
+    track(nodeId, arguments, executionTime, stacks.get(0).getKey());
+
+    samples.clear();
+    slowNode = null;
+    slowArgs = null;
+    sampledSequence = -1;
+  }
+
+  private static String collapse(StackTraceElement[] stack) {
+    StringBuilder collapsed = new StringBuilder();
+    for(int i = Math.min(REPORTED_FRAMES, stack.length) - 1; i >= 0; i--) {
+      collapsed.append(stack[i].getClassName()).append('.').append(stack[i].getMethodName())
+              .append(':').append(stack[i].getLineNumber());
+      if(i > 0) {
+        collapsed.append(';');
+      }
+    }
+
+    return collapsed.toString();
+  }
+
+  private synchronized void track(String nodeId, String arguments, long executionTime, String hotStack) {
+    Offender offender = offenders.get(nodeId);
+    if(offender == null) {
+      if(offenders.size() >= maxOffenders) {
+        Offender fastest = Collections.min(offenders.values(), Comparator.comparingLong(Offender::getMaxDuration));
+        if(fastest.maxDuration >= executionTime) {
+          return;
+        }
+
+        offenders.remove(fastest.nodeId);
+      }
+
+      offender = new Offender(nodeId);
+      offenders.put(nodeId, offender);
+    }
+
+    offender.count += 1;
+    offender.totalDuration += executionTime;
+    if(executionTime > offender.maxDuration) {
+      offender.maxDuration = executionTime;
+      offender.slowestArguments = arguments;
+      offender.hotStack = hotStack;
+    }
+  }
+
+  /**
+   * @return the tracked offenders, sorted from the slowest
+   */
+  public synchronized List<Offender> getOffenders() {
+    List<Offender> result = new ArrayList<>(offenders.size());
+    for(Offender offender : offenders.values()) {
+      result.add(offender.copy());
+    }
+
+    result.sort(Comparator.comparingLong(Offender::getMaxDuration).reversed());
+    return result;
+  }
+
+  @Override
+  public void close() {
+    running = false;
+    LockSupport.unpark(monitor);
+  }
+
+  @Getter
+  public static final class Offender {
+    private final String nodeId;
+    private int count;
+    private long totalDuration;
+    private long maxDuration;
+    private String slowestArguments;
+    /**
+     * The most sampled collapsed stack of the slowest execution
+     */
+    private String hotStack;
+
+    private Offender(String nodeId) {
+      this.nodeId = nodeId;
+    }
+
+    private Offender copy() {
+      Offender copy = new Offender(nodeId);
+      copy.count = count;
+      copy.totalDuration = totalDuration;
+      copy.maxDuration = maxDuration;
+      copy.slowestArguments = slowestArguments;
+      copy.hotStack = hotStack;
+      return copy;
+    }
+  }
+
+}
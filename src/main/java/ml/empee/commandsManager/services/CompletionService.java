@@ -1,11 +1,14 @@
 package ml.empee.commandsManager.services;
 
 import lombok.RequiredArgsConstructor;
+import ml.empee.commandsManager.command.ArgumentLine;
 import ml.empee.commandsManager.command.CommandExecutor;
 import ml.empee.commandsManager.command.Node;
 import ml.empee.commandsManager.parsers.ParameterParser;
+import ml.empee.commandsManager.parsers.types.greedy.GreedyParser;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.PluginCommand;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -39,6 +42,10 @@ public final class CompletionService {
       return matchingChildren;
     }
 
+    private static boolean isGreedy(ParameterParser<?> parser) {
+      return parser instanceof GreedyParser && ((GreedyParser) parser).isGreedy();
+    }
+
     private static boolean matchAllLabels(String[] args, int offset, String[] childLabels, int suggestionChildIndex) {
       if(suggestionChildIndex > 0) {
         for(int i = 0; i < suggestionChildIndex; i++) {
@@ -60,6 +67,7 @@ public final class CompletionService {
       List<String> suggestions = parameterParser.getSuggestions(sender, offset, args);
 
       if(suggestions.isEmpty() && (args[args.length - 1] == null || args[args.length - 1].isEmpty())) {
+        suggestions = new ArrayList<>(1); //Parsers can return shared immutable lists
         if(parameterParser.isOptional()) {
           suggestions.add("[" + parameterParser.getLabel() + "]");
         } else {
@@ -75,9 +83,46 @@ public final class CompletionService {
         return Collections.emptyList();
       }
 
-      return getCompletions(sender, args).stream()
-              .filter(s -> s.toLowerCase(Locale.ROOT).startsWith(args[args.length - 1].toLowerCase(Locale.ROOT)))
-              .sorted().collect(Collectors.toList());
+      CommandRecorder recorder = rootNode.getCommandManager().getRecorder();
+      long start = recorder != null ? System.nanoTime() : 0;
+      String[] tokens = rootNode.getCommandManager().isQuotedArguments() ? tokenize(args) : args;
+      List<String> completions = Collections.emptyList();
+      if(tokens != null) {
+        String typed = tokens[tokens.length - 1].toLowerCase(Locale.ROOT);
+        completions = getCompletions(sender, tokens).stream()
+                .filter(s -> s.toLowerCase(Locale.ROOT).startsWith(typed))
+                .sorted().collect(Collectors.toList());
+      }
+
+      if(recorder != null) {
+        recorder.record(
+                CommandRecorder.Kind.COMPLETION, sender, command.getName(), args,
+                CommandRecorder.Outcome.SUCCESS, System.nanoTime() - start
+        );
+      }
+
+      return completions;
+    }
+
+    /**
+     * Splits the arguments like the executor does when the quoted arguments are enabled
+     *
+     * @return null if the last token isn't the last Bukkit argument (e.g. it's quoted), as Bukkit
+     * replaces only the last whitespace separated argument
+     */
+    @Nullable
+    private static String[] tokenize(String[] args) {
+      String last = args[args.length - 1];
+      ArgumentLine line = ArgumentLine.tokenize(String.join(" ", args));
+      if(last.isEmpty()) {
+        String[] tokens = Arrays.copyOf(line.getTokens(), line.size() + 1);
+        tokens[line.size()] = "";
+        return tokens;
+      } else if(line.size() == 0 || !line.getRawToken(line.size() - 1).toString().equals(last)) {
+        return null;
+      }
+
+      return line.getTokens();
     }
 
     private Collection<String> getCompletions(CommandSender sender, String[] args) {
@@ -91,7 +136,11 @@ public final class CompletionService {
         ParameterParser<?>[] parameterParsers = node.getParameterParsers();
         for(ParameterParser<?> parameterParser : parameterParsers) {
           offset += 1;
-          if(offset == args.length) {
+          //A greedy parser owns all the remaining arguments, so it completes the last one wherever it is
+          if(isGreedy(parameterParser) && offset <= args.length) {
+            String[] ownedArgs = Arrays.copyOfRange(args, offset - 1, args.length);
+            return getSuggestions(sender, ownedArgs, ownedArgs.length - 1, parameterParser);
+          } else if(offset == args.length) {
             return getSuggestions(sender, args, offset - 1, parameterParser);
           }
         }
@@ -1,137 +1,250 @@
 package ml.empee.commandsManager.services;
 
 import ml.empee.commandsManager.command.Node;
+import ml.empee.commandsManager.command.OutputBuffer;
+import ml.empee.commandsManager.exceptions.StacklessCommandException;
+import ml.empee.commandsManager.messages.MessageKey;
+import ml.empee.commandsManager.messages.MessageTemplate;
 import ml.empee.commandsManager.parsers.DescriptionBuilder;
 import ml.empee.commandsManager.parsers.ParameterParser;
+import ml.empee.commandsManager.utils.ChatPacketUtils;
 import net.md_5.bungee.api.ChatColor;
 import net.md_5.bungee.api.chat.BaseComponent;
 import net.md_5.bungee.api.chat.ClickEvent;
 import net.md_5.bungee.api.chat.HoverEvent;
 import net.md_5.bungee.api.chat.TextComponent;
-import org.bukkit.command.CommandException;
+import net.md_5.bungee.chat.ComponentSerializer;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
-
+import java.util.Map;
+
+/**
+ * An interactive help menu listing the leaves of a command tree <br><br>
+ * <p>
+ * Entries aren't stored as components: every entry is a chain of segments, one for each node of its path,
+ * and the segment of a node is shared by the entries of the leaves below it. Parameters with the same label and
+ * description share their component, hover events are interned by their text. The description of a leaf is
+ * kept as text, its hover is built with the page. <br>
+ * The components of a page are assembled, together with their serialized forms, the first time the page
+ * is requested.
+ */
 public class HelpMenuService {
 
-  public static final String INVALID_PAGE_ERROR = "The page number is invalid";
   public static final int HELP_PAGE_ROWS = 5;
+  /**
+   * @deprecated use {@link ml.empee.commandsManager.messages.Messages#setMessage(MessageKey, String)} with
+   * {@link MessageKey#INVALID_PAGE}
+   */
+  @Deprecated
+  public static final String INVALID_PAGE_ERROR = MessageKey.INVALID_PAGE.getDefaultMessage();
 
   private final int totalPages;
   private final BaseComponent[] header;
-  private final String legacyHeader;
-  private final BaseComponent[] body;
-  private final String[] legacyBody;
-
-  private final String footerTemplate;
-
+  private final MessageTemplate footerTemplate;
+  //The leaf segments, sorted by their command
+  private final Segment[] entries;
+  private final RenderedPage[] renderedPages;
 
   public HelpMenuService(String title, Node root) {
     header = fromLegacy(" &eInteractive Menu  &7-  &6" + title + "\n");
-    legacyHeader = toLegacy(header);
 
-    body = buildNodeEntries(root);
-    totalPages = (int) Math.ceil((double) body.length / HELP_PAGE_ROWS);
+    entries = new EntriesBuilder().build(root);
+    totalPages = (int) Math.ceil((double) entries.length / HELP_PAGE_ROWS);
+    renderedPages = new RenderedPage[totalPages];
 
-    legacyBody = new String[body.length];
-    for(int i = 0; i < body.length; i++) {
-      legacyBody[i] = toLegacy(body[i]);
-    }
-
-    footerTemplate = ChatColor.translateAlternateColorCodes('&', "\n &7Page &e%page_number% &7of &e" + totalPages);
+    footerTemplate = MessageTemplate.compile("\n &7Page &e%page_number% &7of &e" + totalPages, "page_number");
   }
 
   private static BaseComponent[] fromLegacy(String legacy) {
     return TextComponent.fromLegacyText(ChatColor.translateAlternateColorCodes('&', legacy));
   }
 
-  private static String toLegacy(BaseComponent... components) {
-    return ChatColor.stripColor(BaseComponent.toLegacyText(components));
-  }
+  /**
+   * Sends a page of the menu, players receive the pre-serialized page when the server allows it
+   */
+  public void sendHelpMenu(CommandSender target, Integer page) {
+    RenderedPage renderedPage = getPage(page);
 
-  private BaseComponent[] buildNodeEntries(Node root) {
-    ArrayList<BaseComponent> entries = new ArrayList<>();
+    if(target instanceof Player) {
+      Player player = (Player) target;
+      Object packet = renderedPage.packet;
+      if(packet == null) {
+        packet = ChatPacketUtils.createPacket(player, renderedPage.json);
+        renderedPage.packet = packet;
+      }
 
-    TextComponent baseEntry = new TextComponent(" /");
-    baseEntry.setColor(ChatColor.DARK_GRAY);
+      if(packet == null || !ChatPacketUtils.sendPacket(player, packet)) {
+        player.spigot().sendMessage(renderedPage.components);
+      }
+    } else {
+      target.sendMessage(renderedPage.legacy);
+    }
+  }
 
-    buildNodeEntries(entries, baseEntry, root);
+  /**
+   * Writes a page of the menu to an output, e.g. the one of the current command context
+   */
+  public void sendHelpMenu(OutputBuffer output, Integer page) {
+    output.send(getPage(page).components);
+  }
 
-    entries.sort(Comparator.comparing(a -> a.toPlainText()));
+  private RenderedPage getPage(Integer page) {
+    if(page < 1 || page > totalPages) {
+      throw new StacklessCommandException(MessageKey.INVALID_PAGE);
+    }
 
-    return entries.toArray(new BaseComponent[0]);
-  }
+    RenderedPage renderedPage = renderedPages[page - 1];
+    if(renderedPage == null) {
+      renderedPage = new RenderedPage(renderPage(page));
+      renderedPages[page - 1] = renderedPage;
+    }
 
-  private void buildNodeEntries(List<BaseComponent> entries, BaseComponent entry, Node node) {
+    return renderedPage;
+  }
 
-    TextComponent nodeLabel = new TextComponent(node.getData().label() + " ");
-    nodeLabel.setColor(ChatColor.GRAY);
-    entry.addExtra(nodeLabel);
+  private BaseComponent[] renderPage(int page) {
+    List<BaseComponent> components = new ArrayList<>(Arrays.asList(header));
+    for(int i = (page - 1) * HELP_PAGE_ROWS; i < page * HELP_PAGE_ROWS && i < entries.length; i++) {
+      components.add(new TextComponent("\n"));
+      components.add(renderEntry(entries[i]));
+    }
 
-    addParameters(entry, node);
-    Node[] children = node.getChildren();
-    if(children.length == 0) {
-      if(!node.getData().exitNode()) {
-        return;
-      }
+    components.add(new TextComponent("\n"));
+    components.addAll(Arrays.asList(footerTemplate.toComponents(page)));
+    return components.toArray(new BaseComponent[0]);
+  }
 
-      entry.setHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT, fromLegacy(node.getDescription())));
-      entry.setClickEvent(new ClickEvent(ClickEvent.Action.SUGGEST_COMMAND, ChatColor.stripColor(entry.toPlainText().trim())));
-      entries.add(entry);
-    } else {
-      for(Node child : children) {
-        buildNodeEntries(entries, entry.duplicate(), child);
+  private static BaseComponent renderEntry(Segment leaf) {
+    TextComponent entry = new TextComponent(" /");
+    entry.setColor(ChatColor.DARK_GRAY);
+    for(Segment segment : leaf.getPath()) {
+      for(BaseComponent component : segment.components) {
+        entry.addExtra(component.duplicate());
       }
     }
 
+    entry.setHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT, fromLegacy(leaf.description)));
+    entry.setClickEvent(new ClickEvent(ClickEvent.Action.SUGGEST_COMMAND, ChatColor.stripColor(entry.toPlainText().trim())));
+    return entry;
   }
 
-  private void addParameters(BaseComponent entry, Node node) {
-    for(ParameterParser<?> parameterParser : node.getParameterParsers()) {
-      String parameterLabel = parameterParser.getLabel();
-      DescriptionBuilder descriptionBuilder = parameterParser.getDescriptionBuilder();
+  /**
+   * A node label followed by its parameters
+   */
+  private static final class Segment {
+    private final Segment parent;
+    private final BaseComponent[] components;
+    //The description of the node, set only on the leaves
+    private final String description;
+
+    private Segment(Segment parent, BaseComponent[] components, String description) {
+      this.parent = parent;
+      this.components = components;
+      this.description = description;
+    }
 
-      if(parameterLabel.isEmpty()) {
-        parameterLabel = descriptionBuilder.getFallbackLabel();
+    private List<Segment> getPath() {
+      List<Segment> path = new ArrayList<>();
+      for(Segment segment = this; segment != null; segment = segment.parent) {
+        path.add(0, segment);
       }
 
-      TextComponent parameterLabelComponent = new TextComponent("<" + parameterLabel + "> ");
-      parameterLabelComponent.setColor(ChatColor.RED);
-      parameterLabelComponent.setHoverEvent(
-              new HoverEvent(
-                      HoverEvent.Action.SHOW_TEXT,
-                      fromLegacy(descriptionBuilder.getDescription())
-              )
-      );
+      return path;
+    }
+  }
 
-      entry.addExtra(parameterLabelComponent);
+  private static final class RenderedPage {
+    private final BaseComponent[] components;
+    private final String json;
+    private final String legacy;
+    //The chat packet built from the json on first use
+    private volatile Object packet;
+
+    private RenderedPage(BaseComponent[] components) {
+      this.components = components;
+      this.json = ComponentSerializer.toString(components);
+      this.legacy = BaseComponent.toLegacyText(components);
     }
   }
 
-  public void sendHelpMenu(CommandSender target, Integer page) {
-    if(page < 1 || page > totalPages) {
-      throw new CommandException(INVALID_PAGE_ERROR);
+  /**
+   * Builds the segments of a tree, the state used to share them is dropped after the build
+   */
+  private static final class EntriesBuilder {
+    private final Map<Node, BaseComponent[]> nodeComponents = new IdentityHashMap<>();
+    private final Map<String, HoverEvent> hoverEvents = new HashMap<>();
+    //Parameter label and description to component
+    private final Map<String, BaseComponent> parameterComponents = new HashMap<>();
+    private final List<Segment> leaves = new ArrayList<>();
+    private final Map<Segment, String> commands = new IdentityHashMap<>();
+
+    private Segment[] build(Node root) {
+      buildSegments(null, "", root);
+      leaves.sort((a, b) -> commands.get(a).compareTo(commands.get(b)));
+      return leaves.toArray(new Segment[0]);
     }
 
-    if(target instanceof Player) {
-      Player player = (Player) target;
-      player.spigot().sendMessage(header);
+    private void buildSegments(Segment parent, String command, Node node) {
+      BaseComponent[] components = nodeComponents.computeIfAbsent(node, this::buildNodeComponents);
+      command += BaseComponent.toPlainText(components);
+
+      Node[] children = node.getChildren();
+      if(children.length == 0) {
+        if(node.getData().exitNode()) {
+          Segment leaf = new Segment(parent, components, node.getDescription());
+          leaves.add(leaf);
+          commands.put(leaf, command);
+        }
 
-      for(int i = (page - 1) * HELP_PAGE_ROWS; i < page * HELP_PAGE_ROWS && i < body.length; i++) {
-        player.spigot().sendMessage(body[i]);
+        return;
       }
 
-      player.spigot().sendMessage(fromLegacy(footerTemplate.replace("%page_number%", page.toString())));
-    } else {
-      target.sendMessage(legacyHeader);
+      Segment segment = new Segment(parent, components, null);
+      for(Node child : children) {
+        buildSegments(segment, command, child);
+      }
+    }
+
+    private BaseComponent[] buildNodeComponents(Node node) {
+      List<BaseComponent> components = new ArrayList<>();
+      TextComponent nodeLabel = new TextComponent(node.getData().label() + " ");
+      nodeLabel.setColor(ChatColor.GRAY);
+      components.add(nodeLabel);
 
-      for(String entry : legacyBody) {
-        target.sendMessage(entry);
+      for(ParameterParser<?> parameterParser : node.getParameterParsers()) {
+        String parameterLabel = parameterParser.getLabel();
+        DescriptionBuilder descriptionBuilder = parameterParser.getDescriptionBuilder();
+
+        if(parameterLabel.isEmpty()) {
+          parameterLabel = descriptionBuilder.getFallbackLabel();
+        }
+
+        components.add(getParameterComponent(parameterLabel, descriptionBuilder.getDescription()));
       }
+
+      return components.toArray(new BaseComponent[0]);
+    }
+
+    private BaseComponent getParameterComponent(String label, String description) {
+      return parameterComponents.computeIfAbsent(label + '\0' + description, k -> {
+        TextComponent parameterLabelComponent = new TextComponent("<" + label + "> ");
+        parameterLabelComponent.setColor(ChatColor.RED);
+        parameterLabelComponent.setHoverEvent(getHoverEvent(description));
+        return parameterLabelComponent;
+      });
+    }
+
+    private HoverEvent getHoverEvent(String description) {
+      return hoverEvents.computeIfAbsent(
+              description, d -> new HoverEvent(HoverEvent.Action.SHOW_TEXT, fromLegacy(d))
+      );
     }
   }
+
 }
@@ -0,0 +1,206 @@
+package ml.empee.commandsManager.services;
+
+import lombok.NonNull;
+import ml.empee.commandsManager.command.OutputBuffer;
+import ml.empee.commandsManager.command.PageSource;
+import ml.empee.commandsManager.exceptions.StacklessCommandException;
+import ml.empee.commandsManager.messages.MessageKey;
+import ml.empee.commandsManager.messages.Messages;
+import net.md_5.bungee.api.ChatColor;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.ClickEvent;
+import net.md_5.bungee.api.chat.TextComponent;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends the rows of a {@link PageSource} one page at a time, every page is flushed as a single output <br><br>
+ * <p>
+ * Only the rows of the sent page are fetched from the source. The last source sent to a sender is
+ * remembered until it expires or, for a player, until it quits, so that the sender can move to the next
+ * or previous page. <br>
+ * Players receive a footer with clickable arrows when a navigation command is given. <br><br>
+ * <p>
+ * The service must be registered as a listener.
+ */
+public final class PaginationService implements Listener {
+
+  private final Messages messages;
+  private final int pageRows;
+  private final long cursorTtl;
+  //Keyed by the player UUIDs or the sender names, access ordered so the cursors that expire first are at the head
+  private final LinkedHashMap<Object, Cursor> cursors = new LinkedHashMap<>(16, 0.75f, true);
+
+  public PaginationService(Messages messages, int pageRows, long cursorTtl, TimeUnit unit) {
+    this.messages = messages;
+    this.pageRows = pageRows;
+    this.cursorTtl = unit.toNanos(cursorTtl);
+  }
+
+  /**
+   * @see #send(CommandSender, String, PageSource, int, String)
+   */
+  public void send(@NonNull CommandSender sender, @Nullable String title, @NonNull PageSource source, int page) {
+    send(sender, title, source, page, null);
+  }
+
+  /**
+   * Sends a page of the source, remembering it as the current page of the sender
+   *
+   * @param navigationCommand the command that shows a page, the %page% placeholder is replaced with the
+   *                          page number, e.g. "/baltop %page%"
+   * @throws StacklessCommandException if the page doesn't exist
+   */
+  public void send(
+          @NonNull CommandSender sender, @Nullable String title, @NonNull PageSource source,
+          int page, @Nullable String navigationCommand
+  ) {
+    Cursor cursor = new Cursor(title, source, navigationCommand);
+    sendPage(sender, cursor, page);
+  }
+
+  /**
+   * @throws StacklessCommandException if the sender hasn't a current page or it's the last one
+   */
+  public void next(@NonNull CommandSender sender) {
+    Cursor cursor = getCursor(sender);
+    sendPage(sender, cursor, cursor.page + 1);
+  }
+
+  /**
+   * @throws StacklessCommandException if the sender hasn't a current page or it's the first one
+   */
+  public void previous(@NonNull CommandSender sender) {
+    Cursor cursor = getCursor(sender);
+    sendPage(sender, cursor, cursor.page - 1);
+  }
+
+  public synchronized void forget(@NonNull CommandSender sender) {
+    cursors.remove(getKey(sender));
+  }
+
+  @EventHandler
+  public void onPlayerQuit(PlayerQuitEvent event) {
+    forget(event.getPlayer());
+  }
+
+  private static Object getKey(CommandSender sender) {
+    return sender instanceof Player ? ((Player) sender).getUniqueId() : sender.getName();
+  }
+
+  private synchronized Cursor getCursor(CommandSender sender) {
+    removeExpiredCursors();
+    Cursor cursor = cursors.get(getKey(sender));
+    if(cursor == null) {
+      throw new StacklessCommandException(MessageKey.NO_ACTIVE_PAGES);
+    }
+
+    return cursor;
+  }
+
+  private void removeExpiredCursors() {
+    long now = System.nanoTime();
+    Iterator<Cursor> iterator = cursors.values().iterator();
+    while(iterator.hasNext()) {
+      if(now - iterator.next().lastAccess < cursorTtl) {
+        break;
+      }
+
+      iterator.remove();
+    }
+  }
+
+  private void sendPage(CommandSender sender, Cursor cursor, int page) {
+    int totalPages = getTotalPages(cursor.source);
+    if(page < 1 || (totalPages >= 0 && page > totalPages)) {
+      throw new StacklessCommandException(MessageKey.INVALID_PAGE);
+    }
+
+    //One more row tells if there is a next page when the size is unknown
+    List<String> rows = new ArrayList<>(cursor.source.getRows((page - 1) * pageRows, pageRows + 1));
+    if(rows.isEmpty() && page > 1) {
+      throw new StacklessCommandException(MessageKey.INVALID_PAGE);
+    }
+
+    boolean hasNext = rows.size() > pageRows;
+    if(hasNext) {
+      rows.remove(pageRows);
+    }
+
+    cursor.page = page;
+    synchronized(this) {
+      removeExpiredCursors();
+      cursor.lastAccess = System.nanoTime();
+      cursors.put(getKey(sender), cursor);
+    }
+
+    OutputBuffer output = new OutputBuffer(sender);
+    if(cursor.title != null) {
+      output.send(ChatColor.translateAlternateColorCodes('&', " &e" + cursor.title + "\n"));
+    }
+
+    for(String row : rows) {
+      output.send(row);
+    }
+
+    String footer = messages.format(
+            MessageKey.PAGE_FOOTER, page, totalPages >= 0 ? String.valueOf(totalPages) : "?"
+    );
+    if(sender instanceof Player && cursor.navigationCommand != null) {
+      List<BaseComponent> components = new ArrayList<>(Arrays.asList(TextComponent.fromLegacyText(footer)));
+      if(page > 1) {
+        components.add(buildArrow("  «", cursor.navigationCommand, page - 1));
+      }
+
+      if(hasNext) {
+        components.add(buildArrow("  »", cursor.navigationCommand, page + 1));
+      }
+
+      output.send(components.toArray(new BaseComponent[0]));
+    } else {
+      output.send(footer);
+    }
+
+    output.flush();
+  }
+
+  private int getTotalPages(PageSource source) {
+    int size = source.size();
+    return size < 0 ? -1 : Math.max(1, (size + pageRows - 1) / pageRows);
+  }
+
+  private static BaseComponent buildArrow(String text, String navigationCommand, int page) {
+    TextComponent arrow = new TextComponent(text);
+    arrow.setColor(ChatColor.YELLOW);
+    arrow.setClickEvent(new ClickEvent(
+            ClickEvent.Action.RUN_COMMAND, navigationCommand.replace("%page%", String.valueOf(page))
+    ));
+    return arrow;
+  }
+
+  private static final class Cursor {
+    private final String title;
+    private final PageSource source;
+    private final String navigationCommand;
+    private int page;
+    private long lastAccess;
+
+    private Cursor(String title, PageSource source, String navigationCommand) {
+      this.title = title;
+      this.source = source;
+      this.navigationCommand = navigationCommand;
+    }
+  }
+
+}
@@ -0,0 +1,139 @@
+package ml.empee.commandsManager.services;
+
+import lombok.Getter;
+import ml.empee.commandsManager.CommandManager;
+import ml.empee.commandsManager.command.Node;
+import ml.empee.commandsManager.command.ResumableTask;
+import ml.empee.commandsManager.messages.MessageKey;
+import org.bukkit.command.CommandSender;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Executes the {@link ResumableTask}s returned by the command nodes across ticks <br><br>
+ * <p>
+ * Every tick the running tasks are stepped in round-robin order, one step each, until the tick budget
+ * is spent, so concurrent heavy commands progress at the same pace. <br>
+ * Senders are periodically notified of the progress of their tasks.
+ */
+public final class ResumableTaskRunner extends BukkitRunnable {
+
+  private static final long PROGRESS_INTERVAL = TimeUnit.SECONDS.toNanos(5);
+
+  private final CommandManager commandManager;
+  private final Logger logger;
+  private final long tickBudget;
+  private final ArrayDeque<RunningTask> tasks = new ArrayDeque<>();
+
+  public ResumableTaskRunner(CommandManager commandManager, Logger logger, long tickBudgetMillis) {
+    this.commandManager = commandManager;
+    this.logger = logger;
+    this.tickBudget = TimeUnit.MILLISECONDS.toNanos(tickBudgetMillis);
+  }
+
+  public RunningTask submit(CommandSender sender, Node node, ResumableTask task) {
+    RunningTask runningTask = new RunningTask(sender, node, task);
+    tasks.add(runningTask);
+    return runningTask;
+  }
+
+  /**
+   * @return the running tasks of a sender
+   */
+  public List<RunningTask> getTasks(CommandSender sender) {
+    List<RunningTask> result = new ArrayList<>();
+    for(RunningTask task : tasks) {
+      if(task.sender.equals(sender)) {
+        result.add(task);
+      }
+    }
+
+    return result;
+  }
+
+  @Override
+  public void run() {
+    long tickStart = System.nanoTime();
+    while(!tasks.isEmpty() && System.nanoTime() - tickStart < tickBudget) {
+      RunningTask task = tasks.poll();
+      if(task.cancelled) {
+        task.sender.sendMessage(commandManager.getMessages().format(MessageKey.TASK_CANCELLED, task.node.getId()));
+        continue;
+      }
+
+      if(task.step()) {
+        tasks.add(task);
+      }
+    }
+
+    for(RunningTask task : tasks) {
+      if(tickStart - task.lastProgressTime >= PROGRESS_INTERVAL) {
+        task.lastProgressTime = tickStart;
+        double progress = task.task.getProgress();
+        if(progress >= 0) {
+          task.sender.sendMessage(commandManager.getMessages().format(
+                  MessageKey.TASK_PROGRESS, task.node.getId(), String.format("%.1f", progress)
+          ));
+        }
+      }
+    }
+  }
+
+  public final class RunningTask {
+    @Getter
+    private final CommandSender sender;
+    @Getter
+    private final Node node;
+    private final ResumableTask task;
+    private final long startTime = System.nanoTime();
+    private long lastProgressTime = startTime;
+    @Getter
+    private boolean cancelled;
+    @Getter
+    private boolean completed;
+
+    private RunningTask(CommandSender sender, Node node, ResumableTask task) {
+      this.sender = sender;
+      this.node = node;
+      this.task = task;
+    }
+
+    /**
+     * @return false if the task has ended
+     */
+    private boolean step() {
+      try {
+        if(task.step()) {
+          return true;
+        }
+      } catch(Exception e) {
+        sender.sendMessage(commandManager.getMessages().formatError(MessageKey.RUNTIME_ERROR));
+        logger.log(Level.SEVERE, "Error while executing the task of the command node " + node.getId(), e);
+        return false;
+      }
+
+      completed = true;
+      long time = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+      sender.sendMessage(commandManager.getMessages().format(MessageKey.TASK_COMPLETED, node.getId(), time));
+      return false;
+    }
+
+    public double getProgress() {
+      return task.getProgress();
+    }
+
+    /**
+     * Stops the task before its next step
+     */
+    public void cancel() {
+      cancelled = true;
+    }
+  }
+
+}
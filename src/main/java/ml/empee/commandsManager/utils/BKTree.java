@@ -0,0 +1,163 @@
+package ml.empee.commandsManager.utils;
+
+import ml.empee.commandsManager.utils.helpers.Tuple;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A metric tree over strings, using the case-insensitive Levenshtein distance <br><br>
+ * <p>
+ * It finds the keys within a distance from a query visiting only the subtrees that, by the triangle
+ * inequality, can contain them.
+ */
+public final class BKTree<V> {
+
+  private Entry<V> root;
+  private int size;
+
+  /**
+   * Adds a key, if the key already exists its value isn't replaced
+   */
+  public void add(String key, V value) {
+    size += 1;
+    if(root == null) {
+      root = new Entry<>(key, value);
+      return;
+    }
+
+    Entry<V> entry = root;
+    while(true) {
+      int distance = distance(key, entry.key);
+      if(distance == 0) {
+        size -= 1;
+        return;
+      }
+
+      Entry<V> child = entry.getChild(distance);
+      if(child == null) {
+        entry.addChild(distance, new Entry<>(key, value));
+        return;
+      }
+
+      entry = child;
+    }
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return the values whose key is within the distance from the query, sorted from the closest
+   */
+  public List<Tuple<Integer, V>> search(CharSequence query, int maxDistance) {
+    List<Tuple<Integer, V>> matches = new ArrayList<>();
+    if(root == null) {
+      return matches;
+    }
+
+    ArrayDeque<Entry<V>> entries = new ArrayDeque<>();
+    entries.push(root);
+    while(!entries.isEmpty()) {
+      Entry<V> entry = entries.pop();
+      int distance = distance(query, entry.key);
+      if(distance <= maxDistance) {
+        matches.add(Tuple.of(distance, entry.value));
+      }
+
+      for(int i = 0; i < entry.childrenCount; i++) {
+        if(Math.abs(entry.childrenDistances[i] - distance) <= maxDistance) {
+          entries.push(entry.children[i]);
+        }
+      }
+    }
+
+    matches.sort(Comparator.comparingInt(Tuple::getFirst));
+    return matches;
+  }
+
+  /**
+   * @return at most limit values, sorted from the closest
+   */
+  public List<V> closest(CharSequence query, int maxDistance, int limit) {
+    List<Tuple<Integer, V>> matches = search(query, maxDistance);
+    List<V> result = new ArrayList<>(Math.min(limit, matches.size()));
+    for(int i = 0; i < Math.min(limit, matches.size()); i++) {
+      result.add(matches.get(i).getSecond());
+    }
+
+    return result;
+  }
+
+  /**
+   * @return the default distance bound of a query, proportional to its length
+   */
+  public static int maxDistance(CharSequence query) {
+    return query.length() <= 3 ? 1 : query.length() <= 8 ? 2 : 3;
+  }
+
+  /**
+   * @return the case-insensitive Levenshtein distance
+   */
+  public static int distance(CharSequence a, CharSequence b) {
+    int[] previous = new int[b.length() + 1];
+    int[] current = new int[b.length() + 1];
+    for(int j = 0; j <= b.length(); j++) {
+      previous[j] = j;
+    }
+
+    for(int i = 1; i <= a.length(); i++) {
+      current[0] = i;
+      char c = Character.toLowerCase(a.charAt(i - 1));
+      for(int j = 1; j <= b.length(); j++) {
+        int cost = c == Character.toLowerCase(b.charAt(j - 1)) ? 0 : 1;
+        current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+      }
+
+      int[] swap = previous;
+      previous = current;
+      current = swap;
+    }
+
+    return previous[b.length()];
+  }
+
+  private static final class Entry<V> {
+    private final String key;
+    private final V value;
+    private int[] childrenDistances = new int[2];
+    private Entry<V>[] children = new Entry[2];
+    private int childrenCount;
+
+    private Entry(String key, V value) {
+      this.key = key;
+      this.value = value;
+    }
+
+    private Entry<V> getChild(int distance) {
+      for(int i = 0; i < childrenCount; i++) {
+        if(childrenDistances[i] == distance) {
+          return children[i];
+        }
+      }
+
+      return null;
+    }
+
+    private void addChild(int distance, Entry<V> child) {
+      if(childrenCount == children.length) {
+        childrenDistances = Arrays.copyOf(childrenDistances, childrenCount * 2);
+        children = Arrays.copyOf(children, childrenCount * 2);
+      }
+
+      childrenDistances[childrenCount] = distance;
+      children[childrenCount] = child;
+      childrenCount += 1;
+    }
+  }
+
+}
@@ -0,0 +1,82 @@
+package ml.empee.commandsManager.utils;
+
+import java.util.function.BiConsumer;
+
+/**
+ * An open-addressed map with case-insensitive string keys <br><br>
+ * <p>
+ * Keys are hashed and compared character by character, so lookups never allocate. The index is meant to be
+ * filled once, when it's created, and then only read.
+ */
+@SuppressWarnings("unchecked")
+public final class CaseInsensitiveIndex<V> {
+
+  private final String[] keys;
+  private final Object[] values;
+  private final int mask;
+
+  /**
+   * @param expectedSize the number of keys that will be added
+   */
+  public CaseInsensitiveIndex(int expectedSize) {
+    int capacity = Integer.highestOneBit(Math.max(1, expectedSize * 2 - 1)) << 1;
+    this.keys = new String[capacity];
+    this.values = new Object[capacity];
+    this.mask = capacity - 1;
+  }
+
+  /**
+   * Adds a key, if an equivalent key already exists the value isn't replaced
+   *
+   * @return false if the key already existed
+   */
+  public boolean put(String key, V value) {
+    int slot = hash(key) & mask;
+    while(keys[slot] != null) {
+      if(keys[slot].equalsIgnoreCase(key)) {
+        return false;
+      }
+
+      slot = (slot + 1) & mask;
+    }
+
+    keys[slot] = key;
+    values[slot] = value;
+    return true;
+  }
+
+  /**
+   * @return the value of the key or null if it doesn't exist
+   */
+  public V get(String key) {
+    int slot = hash(key) & mask;
+    String candidate;
+    while((candidate = keys[slot]) != null) {
+      if(candidate.length() == key.length() && candidate.regionMatches(true, 0, key, 0, key.length())) {
+        return (V) values[slot];
+      }
+
+      slot = (slot + 1) & mask;
+    }
+
+    return null;
+  }
+
+  public void forEach(BiConsumer<String, V> consumer) {
+    for(int i = 0; i < keys.length; i++) {
+      if(keys[i] != null) {
+        consumer.accept(keys[i], (V) values[i]);
+      }
+    }
+  }
+
+  private static int hash(String key) {
+    int hash = 0;
+    for(int i = 0; i < key.length(); i++) {
+      hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(key.charAt(i)));
+    }
+
+    return hash ^ (hash >>> 16);
+  }
+
+}
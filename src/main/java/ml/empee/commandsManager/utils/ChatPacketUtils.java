@@ -0,0 +1,111 @@
+package ml.empee.commandsManager.utils;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Sends chat packets built from already serialized components, skipping the serialization of the Bungee
+ * components on every send <br><br>
+ * <p>
+ * The server internals are resolved reflectively on first use. Servers without a compatible chat packet
+ * aren't supported, callers must fall back to the Bukkit API.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ChatPacketUtils {
+
+  private static final Object UNSUPPORTED = new Object();
+  //Either the resolved handles or UNSUPPORTED
+  private static volatile Object handles;
+
+  /**
+   * @param json a component serialized through {@link net.md_5.bungee.chat.ComponentSerializer}
+   * @return a packet that can be sent to every player multiple times, null if the server isn't supported
+   */
+  @Nullable
+  public static Object createPacket(Player player, String json) {
+    Handles handles = getHandles(player);
+    if(handles == null) {
+      return null;
+    }
+
+    try {
+      return handles.packetConstructor.newInstance(handles.deserializer.invoke(null, json));
+    } catch(ReflectiveOperationException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  /**
+   * @return false if the packet hasn't been sent
+   */
+  public static boolean sendPacket(Player player, Object packet) {
+    Handles handles = getHandles(player);
+    if(handles == null) {
+      return false;
+    }
+
+    try {
+      Object connection = handles.connectionField.get(handles.getHandle.invoke(player));
+      handles.sendPacket.invoke(connection, packet);
+      return true;
+    } catch(ReflectiveOperationException | RuntimeException e) {
+      return false;
+    }
+  }
+
+  private static Handles getHandles(Player player) {
+    Object result = handles;
+    if(result == null) {
+      result = resolveHandles(player.getClass());
+      handles = result;
+    }
+
+    return result == UNSUPPORTED ? null : (Handles) result;
+  }
+
+  private static Object resolveHandles(Class<?> playerClass) {
+    //e.g. org.bukkit.craftbukkit.v1_8_R3.entity.CraftPlayer
+    String[] packageName = playerClass.getName().split("\\.");
+    if(packageName.length < 5 || !playerClass.getName().startsWith("org.bukkit.craftbukkit.")) {
+      return UNSUPPORTED;
+    }
+
+    String nms = "net.minecraft.server." + packageName[3] + ".";
+    try {
+      Class<?> componentClass = Class.forName(nms + "IChatBaseComponent");
+      Method getHandle = playerClass.getMethod("getHandle");
+      Field connectionField = getHandle.getReturnType().getField("playerConnection");
+      return new Handles(
+              Class.forName(nms + "IChatBaseComponent$ChatSerializer").getMethod("a", String.class),
+              Class.forName(nms + "PacketPlayOutChat").getConstructor(componentClass),
+              getHandle, connectionField,
+              connectionField.getType().getMethod("sendPacket", Class.forName(nms + "Packet"))
+      );
+    } catch(ReflectiveOperationException | RuntimeException e) {
+      return UNSUPPORTED;
+    }
+  }
+
+  private static final class Handles {
+    private final Method deserializer;
+    private final Constructor<?> packetConstructor;
+    private final Method getHandle;
+    private final Field connectionField;
+    private final Method sendPacket;
+
+    private Handles(Method deserializer, Constructor<?> packetConstructor, Method getHandle, Field connectionField, Method sendPacket) {
+      this.deserializer = deserializer;
+      this.packetConstructor = packetConstructor;
+      this.getHandle = getHandle;
+      this.connectionField = connectionField;
+      this.sendPacket = sendPacket;
+    }
+  }
+
+}
@@ -39,16 +39,54 @@ public final class CommandMapUtils {
   }
 
   @SuppressWarnings("unchecked")
-  public static void unregisterCommand(Command command) {
+  private static Map<String, Command> getKnownCommands() {
     try {
-      Map<String, Command> map = (Map<String, Command>) commandMapField.get(internalCommandMap);
-      map.remove(command.getName().toLowerCase(Locale.ENGLISH).trim());
-
-      for(String alias : command.getAliases()) {
-        map.remove(alias.toLowerCase(Locale.ENGLISH).trim());
-      }
+      return (Map<String, Command>) commandMapField.get(internalCommandMap);
     } catch(IllegalAccessException e) {
-      throw new CommandManagerException("Error while unregistering the command '" + command.getName() + "'", e);
+      throw new CommandManagerException("Unable to retrieve the known commands", e);
+    }
+  }
+
+  public static void unregisterCommand(Command command) {
+    Map<String, Command> map = getKnownCommands();
+    map.remove(command.getName().toLowerCase(Locale.ENGLISH).trim());
+
+    for(String alias : command.getAliases()) {
+      map.remove(alias.toLowerCase(Locale.ENGLISH).trim());
+    }
+  }
+
+  /**
+   * Binds an alias, together with its namespaced version, to an already registered command
+   */
+  public static void registerAlias(String namespace, String alias, Command command) {
+    Map<String, Command> map = getKnownCommands();
+    alias = alias.toLowerCase(Locale.ENGLISH).trim();
+    map.putIfAbsent(alias, command);
+    map.put(namespace + ":" + alias, command);
+  }
+
+  /**
+   * Removes an alias, only if it's still bound to the command
+   */
+  public static void unregisterAlias(String namespace, String alias, Command command) {
+    Map<String, Command> map = getKnownCommands();
+    alias = alias.toLowerCase(Locale.ENGLISH).trim();
+    map.remove(alias, command);
+    map.remove(namespace + ":" + alias, command);
+  }
+
+  /**
+   * Sends the updated commands to the players, on servers that support it
+   */
+  public static void syncCommands() {
+    Server server = Bukkit.getServer();
+    try {
+      server.getClass().getMethod("syncCommands").invoke(server);
+    } catch(NoSuchMethodException e) {
+      //The server doesn't send the commands tree to the players
+    } catch(InvocationTargetException | IllegalAccessException e) {
+      throw new CommandManagerException("Unable to sync the commands", e);
     }
   }
 
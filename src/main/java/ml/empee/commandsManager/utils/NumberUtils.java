@@ -0,0 +1,128 @@
+package ml.empee.commandsManager.utils;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Validates numbers without relying on the exceptions thrown by the JDK parse methods. <br>
+ * A string accepted by these checks can be safely passed to the matching {@code parseXXX()} method.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class NumberUtils {
+
+  private static final String MAX_INT = "2147483647";
+  private static final String MIN_INT = "2147483648";
+  private static final String MAX_LONG = "9223372036854775807";
+  private static final String MIN_LONG = "9223372036854775808";
+
+  public static boolean isInteger(String value) {
+    return isIntegral(value, MAX_INT, MIN_INT);
+  }
+
+  public static boolean isLong(String value) {
+    return isIntegral(value, MAX_LONG, MIN_LONG);
+  }
+
+  private static boolean isIntegral(String value, String maxValue, String minValue) {
+    int length = value.length();
+    int start = signLength(value);
+    if(start == length) {
+      return false;
+    }
+
+    for(int i = start; i < length; i++) {
+      if(!isDigit(value.charAt(i))) {
+        return false;
+      }
+    }
+
+    while(start < length - 1 && value.charAt(start) == '0') {
+      start++;
+    }
+
+    String limit = value.charAt(0) == '-' ? minValue : maxValue;
+    int digits = length - start;
+    if(digits != limit.length()) {
+      return digits < limit.length();
+    }
+
+    for(int i = 0; i < digits; i++) {
+      char digit = value.charAt(start + i);
+      char limitDigit = limit.charAt(i);
+      if(digit != limitDigit) {
+        return digit < limitDigit;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Checks if the value is a decimal number accepted by {@link Double#parseDouble(String)},
+   * hexadecimal floating point literals aren't supported.
+   */
+  public static boolean isDecimal(String value) {
+    int length = value.length();
+    int i = signLength(value);
+    if(value.startsWith("NaN", i) || value.startsWith("Infinity", i)) {
+      return value.length() == i + (value.charAt(i) == 'N' ? 3 : 8);
+    }
+
+    int digits = 0;
+    while(i < length && isDigit(value.charAt(i))) {
+      i++;
+      digits++;
+    }
+
+    if(i < length && value.charAt(i) == '.') {
+      i++;
+      while(i < length && isDigit(value.charAt(i))) {
+        i++;
+        digits++;
+      }
+    }
+
+    if(digits == 0) {
+      return false;
+    }
+
+    if(i < length && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+      i += 1;
+      i += signLength(value, i);
+      int exponentDigits = 0;
+      while(i < length && isDigit(value.charAt(i))) {
+        i++;
+        exponentDigits++;
+      }
+
+      if(exponentDigits == 0) {
+        return false;
+      }
+    }
+
+    if(i == length - 1) {
+      char suffix = value.charAt(i);
+      return suffix == 'd' || suffix == 'D' || suffix == 'f' || suffix == 'F';
+    }
+
+    return i == length;
+  }
+
+  private static int signLength(String value) {
+    return signLength(value, 0);
+  }
+
+  private static int signLength(String value, int index) {
+    if(index >= value.length()) {
+      return 0;
+    }
+
+    char sign = value.charAt(index);
+    return sign == '-' || sign == '+' ? 1 : 0;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+}
@@ -0,0 +1,99 @@
+package ml.empee.commandsManager.utils;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maps a fixed set of strings to their position, using a collision-free table computed when it's created <br><br>
+ * <p>
+ * A lookup hashes the key once, reads a single slot and compares the candidate, without probing. <br>
+ * Keys with the same hash code (e.g. {@code Aa} and {@code BB}) can't be separated by any table, so in that case,
+ * or if the table would grow too much, the keys are indexed by a {@link HashMap}.
+ */
+public final class PerfectHashIndex {
+
+  private static final int MAX_SEEDS = 1024;
+  private static final int MAX_LOAD_RATIO = 64;
+
+  private final String[] keys;
+  private final int[] slots;
+  private final int seed;
+  private final int shift;
+  private final Map<String, Integer> fallback;
+
+  public PerfectHashIndex(String... keys) {
+    this.keys = keys.clone();
+
+    Map<String, Integer> positions = new HashMap<>();
+    Set<Integer> hashes = new HashSet<>();
+    boolean collisions = false;
+    for(int i = 0; i < keys.length; i++) {
+      if(positions.put(keys[i], i) != null) {
+        throw new IllegalArgumentException("Duplicated key " + keys[i]);
+      }
+
+      collisions |= !hashes.add(keys[i].hashCode());
+    }
+
+    int bits = 1;
+    while((1 << bits) < keys.length * 2) {
+      bits++;
+    }
+
+    while(!collisions && (1 << bits) <= Math.max(keys.length, 1) * MAX_LOAD_RATIO) {
+      int[] table = new int[1 << bits];
+      for(int candidate = 1; candidate < MAX_SEEDS; candidate++) {
+        int seed = candidate * 0x9E3779B9;
+        if(fill(table, seed, 32 - bits)) {
+          this.slots = table;
+          this.seed = seed;
+          this.shift = 32 - bits;
+          this.fallback = null;
+          return;
+        }
+      }
+
+      bits++;
+    }
+
+    this.slots = null;
+    this.seed = 0;
+    this.shift = 0;
+    this.fallback = positions;
+  }
+
+  private boolean fill(int[] table, int seed, int shift) {
+    Arrays.fill(table, -1);
+    for(int i = 0; i < keys.length; i++) {
+      int slot = (keys[i].hashCode() * seed) >>> shift;
+      if(table[slot] != -1) {
+        return false;
+      }
+
+      table[slot] = i;
+    }
+
+    return true;
+  }
+
+  /**
+   * @return the position of the key or -1 if the key isn't indexed
+   */
+  public int indexOf(String key) {
+    if(fallback != null) {
+      Integer index = fallback.get(key);
+      return index == null ? -1 : index;
+    }
+
+    int index = slots[(key.hashCode() * seed) >>> shift];
+    return index != -1 && keys[index].equals(key) ? index : -1;
+  }
+
+  public int size() {
+    return keys.length;
+  }
+
+}
@@ -0,0 +1,196 @@
+package ml.empee.commandsManager.utils;
+
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timing wheel that stores entries by their deadline tick <br><br>
+ * <p>
+ * The first wheel has a slot for each of the next 256 ticks, every following wheel has 64 slots
+ * that cover 64 times the range of the previous one. When a wheel completes a rotation, the next
+ * slot of the outer wheel is cascaded into the inner ones. <br>
+ * Scheduling and cancelling are O(1), since entries are intrusive nodes of the slot lists. <br><br>
+ * <p>
+ * The wheel isn't thread-safe.
+ */
+public final class TimingWheel<E extends TimingWheel.Entry> {
+
+  private static final int ROOT_BITS = 8;
+  private static final int LEVEL_BITS = 6;
+  private static final int LEVELS = 5;
+  private static final long ROOT_MASK = (1L << ROOT_BITS) - 1;
+  private static final long LEVEL_MASK = (1L << LEVEL_BITS) - 1;
+
+  /**
+   * The max distance between the current tick and the deadline of an entry
+   */
+  public static final long MAX_DELAY = (1L << (ROOT_BITS + (LEVELS - 1) * LEVEL_BITS)) - 1;
+
+  private final Entry[][] wheels = new Entry[LEVELS][];
+  private long currentTick;
+  private int size;
+
+  public TimingWheel(long currentTick) {
+    this.currentTick = currentTick;
+
+    for(int level = 0; level < LEVELS; level++) {
+      wheels[level] = new Entry[level == 0 ? 1 << ROOT_BITS : 1 << LEVEL_BITS];
+      for(int slot = 0; slot < wheels[level].length; slot++) {
+        Entry head = new Entry();
+        head.prev = head;
+        head.next = head;
+        wheels[level][slot] = head;
+      }
+    }
+  }
+
+  public long getCurrentTick() {
+    return currentTick;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Schedules the entry, a deadline that isn't after the current tick expires at the next tick
+   *
+   * @throws IllegalArgumentException if the entry is already scheduled or the deadline is too far
+   */
+  public void schedule(E entry, long deadline) {
+    if(entry.isScheduled()) {
+      throw new IllegalArgumentException("The entry is already scheduled");
+    } else if(deadline - currentTick > MAX_DELAY) {
+      throw new IllegalArgumentException("The deadline can't be more than " + MAX_DELAY + " ticks away");
+    }
+
+    Entry node = entry;
+    node.deadline = Math.max(deadline, currentTick + 1);
+    insert(node);
+    size += 1;
+  }
+
+  /**
+   * @return false if the entry wasn't scheduled
+   */
+  public boolean cancel(E entry) {
+    if(!entry.isScheduled()) {
+      return false;
+    }
+
+    unlink(entry);
+    size -= 1;
+    return true;
+  }
+
+  /**
+   * Iterates over the scheduled entries, the wheel must not be modified while iterating
+   */
+  @SuppressWarnings("unchecked")
+  public void forEach(Consumer<E> consumer) {
+    for(Entry[] wheel : wheels) {
+      for(Entry head : wheel) {
+        for(Entry entry = head.next; entry != head; entry = entry.next) {
+          consumer.accept((E) entry);
+        }
+      }
+    }
+  }
+
+  /**
+   * Moves the wheel to the next tick, passing the expired entries to the consumer
+   */
+  @SuppressWarnings("unchecked")
+  public void advance(Consumer<E> expired) {
+    currentTick += 1;
+    if((currentTick & ROOT_MASK) == 0) {
+      cascade();
+    }
+
+    Entry head = wheels[0][(int) (currentTick & ROOT_MASK)];
+    while(head.next != head) {
+      Entry entry = head.next;
+      unlink(entry);
+      size -= 1;
+
+      expired.accept((E) entry);
+    }
+  }
+
+  private void cascade() {
+    for(int level = 1; level < LEVELS; level++) {
+      int slot = (int) ((currentTick >>> (ROOT_BITS + (level - 1) * LEVEL_BITS)) & LEVEL_MASK);
+      Entry entry = detach(wheels[level][slot]);
+      while(entry != null) {
+        Entry next = entry.next;
+        insert(entry);
+        entry = next;
+      }
+
+      if(slot != 0) {
+        return;
+      }
+    }
+  }
+
+  private void insert(Entry entry) {
+    long delay = entry.deadline - currentTick;
+    Entry head;
+    if(delay < (1L << ROOT_BITS)) {
+      head = wheels[0][(int) (Math.max(entry.deadline, currentTick) & ROOT_MASK)];
+    } else {
+      int level = 1;
+      while(delay >= 1L << (ROOT_BITS + level * LEVEL_BITS)) {
+        level += 1;
+      }
+
+      head = wheels[level][(int) ((entry.deadline >>> (ROOT_BITS + (level - 1) * LEVEL_BITS)) & LEVEL_MASK)];
+    }
+
+    entry.prev = head.prev;
+    entry.next = head;
+    head.prev.next = entry;
+    head.prev = entry;
+  }
+
+  /**
+   * Empties the slot
+   *
+   * @return the first entry of the detached list (terminated by null)
+   */
+  private static Entry detach(Entry head) {
+    if(head.next == head) {
+      return null;
+    }
+
+    Entry first = head.next;
+    head.prev.next = null;
+    head.next = head;
+    head.prev = head;
+    return first;
+  }
+
+  private static void unlink(Entry entry) {
+    entry.prev.next = entry.next;
+    entry.next.prev = entry.prev;
+    entry.prev = null;
+    entry.next = null;
+  }
+
+  /**
+   * An element of the wheel, extend it to attach data to the scheduled entries
+   */
+  public static class Entry {
+    private Entry prev;
+    private Entry next;
+    private long deadline;
+
+    public long getDeadline() {
+      return deadline;
+    }
+
+    public boolean isScheduled() {
+      return prev != null;
+    }
+  }
+
+}
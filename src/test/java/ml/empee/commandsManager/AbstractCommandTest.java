@@ -16,7 +16,7 @@ import static org.mockito.Mockito.when;
 public abstract class AbstractCommandTest {
 
   protected Logger log = Logger.getLogger("MockedServer");
-  protected JavaPlugin plugin = Mockito.mock(JavaPlugin.class);
+  protected JavaPlugin plugin = MockedServer.mockPlugin("Test");
   protected CommandManager commandManager;
   protected Queue<String> senderReceivedMessage = new LinkedList<>();
   protected CommandSender sender = Mockito.mock(Player.class);
@@ -25,6 +25,7 @@ public abstract class AbstractCommandTest {
   @BeforeEach
   public void setUp() {
     senderReceivedMessage.clear();
+    when(plugin.getLogger()).thenReturn(log);
     commandManager = new CommandManager(plugin, log);
 
     sender = Mockito.mock(Player.class);
@@ -0,0 +1,86 @@
+package ml.empee.commandsManager;
+
+import ml.empee.commandsManager.command.ArgumentLine;
+import ml.empee.commandsManager.command.CommandExecutor;
+import ml.empee.commandsManager.command.annotations.CommandNode;
+import ml.empee.commandsManager.parsers.types.annotations.StringParam;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.PluginCommand;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ArgumentLineTest extends AbstractCommandTest {
+
+  private QuoteCommand quoteCommand;
+  private PluginCommand pluginCommand;
+
+  @BeforeEach
+  public void setUp() {
+    super.setUp();
+
+    commandManager.setQuotedArguments(true);
+    quoteCommand = new QuoteCommand();
+    commandManager.registerCommand(quoteCommand);
+    pluginCommand = quoteCommand.getPluginCommand();
+  }
+
+  private List<String> complete(String... args) {
+    return pluginCommand.getTabCompleter().onTabComplete(sender, pluginCommand, "quote", args);
+  }
+
+  @Test
+  void shouldSplitQuotedAndEscapedTokens() {
+    ArgumentLine line = ArgumentLine.tokenize("  say \"hello world\" 'it''s' a\\ b \"\\\"x\\\"\"");
+    assertArrayEquals(new String[] {"say", "hello world", "it", "s", "a b", "\"x\""}, line.getTokens());
+    assertEquals("\"hello world\"", line.getRawToken(1).toString());
+    assertEquals("a\\ b", line.getRawToken(4).toString());
+    assertEquals("'it''s' a\\ b \"\\\"x\\\"\"", line.getRemaining(2).toString());
+  }
+
+  @Test
+  void shouldKeepUnclosedQuotesAsPlainCharacters() {
+    assertArrayEquals(new String[] {"'sup", "all"}, ArgumentLine.tokenize("'sup all").getTokens());
+    assertArrayEquals(new String[] {"don't", "stop"}, ArgumentLine.tokenize("don't stop").getTokens());
+    assertArrayEquals(new String[] {"a", "b c"}, ArgumentLine.tokenize("a 'b c'").getTokens());
+    assertEquals(0, ArgumentLine.tokenize("   ").size());
+  }
+
+  @Test
+  void shouldExecuteWithUnclosedQuotes() {
+    quoteCommand.onCommand(sender, pluginCommand, "quote", new String[] {"echo", "'sup", "\"all", "of", "you\""});
+    assertEquals("'sup|all of you", senderReceivedMessage.poll());
+  }
+
+  @Test
+  void shouldCompleteTheSameTokensThatAreExecuted() {
+    assertEquals(Collections.singletonList("<first>"), complete("echo", ""));
+    assertEquals(Collections.singletonList("<second>"), complete("echo", "\"a", "b\"", ""));
+    assertEquals(Collections.singletonList("<second>"), complete("echo", "'sup", ""));
+    assertEquals(Arrays.asList("false", "true"), complete("flag", "\"x", "y\"", ""));
+    assertEquals(Collections.emptyList(), complete("flag", "\"x", "y\"", "\"t"));
+    assertEquals(Collections.singletonList("true"), complete("flag", "\"x", "y\"", "t"));
+  }
+
+  @CommandNode(label = "quote")
+  public static final class QuoteCommand extends CommandExecutor {
+
+    @CommandNode(parent = "quote", label = "echo")
+    public void echo(CommandSender sender, @StringParam(label = "first") String first, @StringParam(label = "second") String second) {
+      sender.sendMessage(first + "|" + second);
+    }
+
+    @CommandNode(parent = "quote", label = "flag")
+    public void flag(CommandSender sender, String name, boolean value) {
+      sender.sendMessage(name + "=" + value);
+    }
+
+  }
+
+}
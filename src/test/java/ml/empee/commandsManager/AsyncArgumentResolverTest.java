@@ -0,0 +1,154 @@
+package ml.empee.commandsManager;
+
+import ml.empee.commandsManager.exceptions.StacklessCommandException;
+import ml.empee.commandsManager.messages.MessageKey;
+import ml.empee.commandsManager.services.AsyncArgumentResolver;
+import org.bukkit.Server;
+import org.bukkit.command.CommandException;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AsyncArgumentResolverTest {
+
+  //Tasks scheduled on the main thread, run when the test advances the server
+  private final Queue<Runnable> mainThread = new ArrayDeque<>();
+  private final List<Runnable> timeouts = new ArrayList<>();
+  private final List<BukkitTask> timeoutTasks = new ArrayList<>();
+  private final List<CommandException> callbacks = new ArrayList<>();
+  private final Player player = mock(Player.class);
+  private AsyncArgumentResolver resolver;
+
+  @BeforeEach
+  public void setUp() {
+    BukkitScheduler scheduler = mock(BukkitScheduler.class);
+    when(scheduler.runTask(any(), any(Runnable.class))).thenAnswer(invocation -> {
+      mainThread.add(invocation.getArgument(1));
+      return mock(BukkitTask.class);
+    });
+    when(scheduler.runTaskLater(any(), any(Runnable.class), anyLong())).thenAnswer(invocation -> {
+      timeouts.add(invocation.getArgument(1));
+      BukkitTask task = mock(BukkitTask.class);
+      timeoutTasks.add(task);
+      return task;
+    });
+
+    Server server = mock(Server.class);
+    when(server.getScheduler()).thenReturn(scheduler);
+    Plugin plugin = mock(Plugin.class);
+    when(plugin.getServer()).thenReturn(server);
+    when(player.isOnline()).thenReturn(true);
+
+    resolver = new AsyncArgumentResolver(plugin, 5, TimeUnit.SECONDS);
+  }
+
+  private void resolve(CompletableFuture<?>... arguments) {
+    resolver.resolve(player, Arrays.asList(arguments), callbacks::add);
+  }
+
+  private void runMainThread() {
+    while(!mainThread.isEmpty()) {
+      mainThread.poll().run();
+    }
+  }
+
+  @Test
+  void shouldCallBackOnTheMainThreadWhenResolved() {
+    CompletableFuture<String> first = new CompletableFuture<>();
+    CompletableFuture<Integer> second = new CompletableFuture<>();
+    resolve(first, second);
+
+    first.complete("a");
+    second.complete(1);
+    assertTrue(callbacks.isEmpty());
+
+    runMainThread();
+    assertEquals(1, callbacks.size());
+    assertNull(callbacks.get(0));
+    verify(timeoutTasks.get(0)).cancel();
+  }
+
+  @Test
+  void shouldFailWithTheErrorOfAnArgument() {
+    CompletableFuture<String> failed = new CompletableFuture<>();
+    CompletableFuture<String> resolved = new CompletableFuture<>();
+    CommandException error = new StacklessCommandException(MessageKey.INVALID_VALUE, "x");
+    resolve(failed, resolved);
+
+    failed.completeExceptionally(error);
+    resolved.complete("a");
+    runMainThread();
+
+    assertSame(error, callbacks.get(0));
+
+    CompletableFuture<String> broken = new CompletableFuture<>();
+    resolve(broken);
+    broken.completeExceptionally(new IllegalStateException("Broken query"));
+    runMainThread();
+    assertEquals(MessageKey.RUNTIME_ERROR, ((StacklessCommandException) callbacks.get(1)).getMessageKey());
+  }
+
+  @Test
+  void shouldFailAndCancelTheArgumentsOnTimeout() {
+    CompletableFuture<String> slow = new CompletableFuture<>();
+    resolve(slow);
+
+    timeouts.get(0).run();
+    assertEquals(MessageKey.ASYNC_TIMEOUT, ((StacklessCommandException) callbacks.get(0)).getMessageKey());
+    assertTrue(slow.isCancelled());
+
+    runMainThread();
+    assertEquals(1, callbacks.size());
+  }
+
+  @Test
+  void shouldCancelTheResolutionsOfAPlayerThatQuits() {
+    CompletableFuture<String> first = new CompletableFuture<>();
+    CompletableFuture<String> second = new CompletableFuture<>();
+    resolve(first);
+    resolve(second);
+
+    resolver.onPlayerQuit(new PlayerQuitEvent(player, "left"));
+    assertTrue(first.isCancelled());
+    assertTrue(second.isCancelled());
+
+    runMainThread();
+    timeouts.forEach(Runnable::run);
+    assertTrue(callbacks.isEmpty());
+    timeoutTasks.forEach(task -> verify(task).cancel());
+  }
+
+  @Test
+  void shouldNotCallBackAnOfflinePlayer() {
+    CompletableFuture<String> argument = new CompletableFuture<>();
+    resolve(argument);
+    when(player.isOnline()).thenReturn(false);
+
+    argument.complete("a");
+    runMainThread();
+    assertTrue(callbacks.isEmpty());
+  }
+
+}
@@ -0,0 +1,127 @@
+package ml.empee.commandsManager;
+
+import ml.empee.commandsManager.services.AuditLog;
+import ml.empee.commandsManager.services.CommandRecorder;
+import org.bukkit.command.CommandSender;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+class AuditLogTest {
+
+  private static final int THREADS = 4;
+  private static final int RECORDS = 2_000;
+
+  @TempDir
+  File directory;
+
+  private final Logger logger = Logger.getLogger("AuditLogTest");
+
+  private List<String> readLines() throws IOException {
+    List<String> lines = new ArrayList<>();
+    File[] segments = directory.listFiles();
+    for(File segment : segments) {
+      lines.addAll(Files.readAllLines(segment.toPath(), StandardCharsets.UTF_8));
+    }
+
+    return lines;
+  }
+
+  @Test
+  void shouldWriteEveryRecordFromConcurrentThreads() throws Exception {
+    AuditLog auditLog = new AuditLog(directory, 64, 16 * 1024, AuditLog.OverflowPolicy.BLOCK, logger);
+    CommandSender sender = Mockito.mock(CommandSender.class);
+    when(sender.getName()).thenReturn("Console");
+
+    List<Thread> threads = new ArrayList<>();
+    for(int t = 0; t < THREADS; t++) {
+      int thread = t;
+      threads.add(new Thread(() -> {
+        for(int i = 0; i < RECORDS; i++) {
+          String[] args = {String.valueOf(thread), String.valueOf(i)};
+          auditLog.append("audit", "audit.run", sender, args, CommandRecorder.Outcome.SUCCESS, 10);
+        }
+      }));
+    }
+
+    threads.forEach(Thread::start);
+    for(Thread thread : threads) {
+      thread.join();
+    }
+
+    auditLog.close();
+
+    List<String> lines = readLines();
+    assertEquals(THREADS * RECORDS, lines.size());
+    Set<String> args = lines.stream().map(line -> line.substring(line.indexOf("\"args\""))).collect(Collectors.toSet());
+    assertEquals(THREADS * RECORDS, args.size());
+    assertEquals(0, auditLog.getDroppedCount());
+    assertTrue(directory.listFiles().length > 1, "The segments haven't been rotated");
+  }
+
+  @Test
+  void shouldEscapeTheRecordedValues() throws Exception {
+    AuditLog auditLog = new AuditLog(directory, 16, 1024 * 1024, AuditLog.OverflowPolicy.DROP, logger);
+    CommandSender sender = Mockito.mock(CommandSender.class);
+    when(sender.getName()).thenReturn("Console");
+
+    auditLog.append("say", "say", sender, new String[] {"\"quoted\"", "back\\slash", "line\nbreak"}, CommandRecorder.Outcome.FAILURE, 5);
+    auditLog.close();
+
+    String line = readLines().get(0);
+    assertTrue(line.contains("\"args\":[\"\\\"quoted\\\"\",\"back\\\\slash\",\"line\\u000abreak\"]"), line);
+    assertTrue(line.contains("\"outcome\":\"FAILURE\""), line);
+    assertTrue(line.contains("\"sender\":\"Console\""), line);
+  }
+
+  @Test
+  void shouldSleepUntilARecordIsAppended() throws Exception {
+    AuditLog auditLog = new AuditLog(directory, 16, 1024 * 1024, AuditLog.OverflowPolicy.DROP, logger);
+    CommandSender sender = Mockito.mock(CommandSender.class);
+    Thread writer = Thread.getAllStackTraces().keySet().stream()
+            .filter(thread -> thread.getName().equals("CommandManager-AuditLog"))
+            .findFirst().orElseThrow(IllegalStateException::new);
+
+    long deadline = System.currentTimeMillis() + 5000;
+    while(writer.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+
+    assertEquals(Thread.State.WAITING, writer.getState());
+
+    auditLog.append("say", "say", sender, new String[0], CommandRecorder.Outcome.SUCCESS, 0);
+    while(readLines().isEmpty() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+
+    assertEquals(1, readLines().size());
+    auditLog.close();
+    assertFalse(writer.isAlive());
+  }
+
+  @Test
+  void shouldDropRecordsAfterClosing() {
+    AuditLog auditLog = new AuditLog(directory, 16, 1024 * 1024, AuditLog.OverflowPolicy.BLOCK, logger);
+    CommandSender sender = Mockito.mock(CommandSender.class);
+    auditLog.close();
+
+    assertFalse(auditLog.append("say", "say", sender, new String[0], CommandRecorder.Outcome.SUCCESS, 0));
+    assertEquals(1, auditLog.getDroppedCount());
+  }
+
+}
@@ -0,0 +1,111 @@
+package ml.empee.commandsManager;
+
+import ml.empee.commandsManager.command.CommandExecutor;
+import ml.empee.commandsManager.command.annotations.CommandNode;
+import ml.empee.commandsManager.utils.BKTree;
+import ml.empee.commandsManager.utils.helpers.Tuple;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.PluginCommand;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+class BKTreeTest extends AbstractCommandTest {
+
+  private AdminCommand adminCommand;
+  private PluginCommand pluginCommand;
+
+  @BeforeEach
+  public void setUp() {
+    super.setUp();
+
+    adminCommand = new AdminCommand();
+    commandManager.registerCommand(adminCommand);
+    pluginCommand = adminCommand.getPluginCommand();
+  }
+
+  private void executeCommand(String... args) {
+    adminCommand.onCommand(sender, pluginCommand, "admin", args);
+  }
+
+  @Test
+  void shouldComputeTheCaseInsensitiveDistance() {
+    assertEquals(0, BKTree.distance("Reload", "reload"));
+    assertEquals(1, BKTree.distance("relod", "reload"));
+    assertEquals(3, BKTree.distance("kitten", "sitting"));
+    assertEquals(4, BKTree.distance("", "ban "));
+  }
+
+  @Test
+  void shouldFindTheSameKeysOfALinearScan() {
+    List<String> keys = Arrays.asList(
+            "reload", "remove", "rename", "reset", "restart", "ban", "bank", "band", "kick", "kit", "list", "lost"
+    );
+    BKTree<String> tree = new BKTree<>();
+    for(String key : keys) {
+      tree.add(key, key);
+    }
+
+    tree.add("RELOAD", "duplicated");
+    assertEquals(keys.size(), tree.size());
+
+    for(String query : Arrays.asList("relaod", "ba", "kik", "lis", "xyz", "restar")) {
+      for(int maxDistance = 0; maxDistance <= 3; maxDistance++) {
+        List<String> expected = new ArrayList<>();
+        for(String key : keys) {
+          if(BKTree.distance(query, key) <= maxDistance) {
+            expected.add(key);
+          }
+        }
+
+        List<String> found = new ArrayList<>();
+        int previousDistance = 0;
+        for(Tuple<Integer, String> match : tree.search(query, maxDistance)) {
+          assertTrue(match.getFirst() >= previousDistance);
+          previousDistance = match.getFirst();
+          found.add(match.getSecond());
+        }
+
+        expected.sort(String::compareTo);
+        found.sort(String::compareTo);
+        assertEquals(expected, found, query + " within " + maxDistance);
+      }
+    }
+
+    assertEquals(Collections.singletonList("ban"), tree.closest("ban", 1, 1));
+  }
+
+  @Test
+  void shouldSuggestOnlyTheAllowedLabels() {
+    executeCommand("wipeal");
+    assertEquals("§4§l > §c§ewipeal§c isn't valid, did you mean §ewipeall, wipe§c?", senderReceivedMessage.poll());
+
+    when(sender.hasPermission("admin.wipeall")).thenReturn(false);
+    executeCommand("wipeal");
+    assertEquals("§4§l > §c§ewipeal§c isn't valid, did you mean §ewipe§c?", senderReceivedMessage.poll());
+  }
+
+  @CommandNode(label = "admin")
+  public static final class AdminCommand extends CommandExecutor {
+
+    @CommandNode(parent = "admin", label = "wipe")
+    public void wipe(CommandSender sender) {
+      sender.sendMessage("wiped");
+    }
+
+    @CommandNode(parent = "admin", label = "wipeall", permission = "admin.wipeall")
+    public void wipeAll(CommandSender sender) {
+      sender.sendMessage("everything wiped");
+    }
+
+  }
+
+}
@@ -0,0 +1,73 @@
+package ml.empee.commandsManager;
+
+import ml.empee.commandsManager.command.CommandExecutor;
+import ml.empee.commandsManager.command.annotations.CommandNode;
+import ml.empee.commandsManager.services.BatchExecution;
+import org.bukkit.command.CommandSender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+class BatchExecutionTest extends AbstractCommandTest {
+
+  @BeforeEach
+  public void setUp() {
+    super.setUp();
+
+    commandManager.registerCommand(new BatchCommand());
+  }
+
+  @Test
+  void shouldRecordFailuresAndKeepGoing() {
+    when(sender.hasPermission("batch.broken")).thenThrow(new IllegalStateException("Broken permissions plugin"));
+
+    BatchExecution batch = commandManager.executeBatch(sender, Arrays.asList(
+            "batch echo first", "batch broken", "", "# comment", "/batch echo second", "missing"
+    ), 1000);
+    batch.run();
+
+    assertTrue(batch.isCompleted());
+    assertEquals(6, batch.getExecuted());
+    assertEquals("first", senderReceivedMessage.poll());
+    assertEquals("second", senderReceivedMessage.poll());
+
+    List<BatchExecution.Failure> failures = batch.getFailures();
+    assertEquals(2, failures.size());
+    assertEquals(2, failures.get(0).getLine());
+    assertEquals("§4§l > §cError while executing the command", failures.get(0).getError());
+    assertEquals(6, failures.get(1).getLine());
+    assertEquals("§4§l > §cThe command §emissing§c doesn't exist", failures.get(1).getError());
+  }
+
+  @Test
+  void shouldUseTheOverriddenMessages() {
+    commandManager.getMessages().setPrefix("");
+
+    BatchExecution batch = commandManager.executeBatch(sender, Arrays.asList("missing"), 1000);
+    batch.run();
+
+    assertEquals("§cThe command §emissing§c doesn't exist", batch.getFailures().get(0).getError());
+  }
+
+  @CommandNode(label = "batch")
+  public static final class BatchCommand extends CommandExecutor {
+
+    @CommandNode(parent = "batch", label = "echo")
+    public void echo(CommandSender sender, String message) {
+      sender.sendMessage(message);
+    }
+
+    @CommandNode(parent = "batch", label = "broken", permission = "batch.broken")
+    public void broken(CommandSender sender) {
+      sender.sendMessage("unreachable");
+    }
+
+  }
+
+}
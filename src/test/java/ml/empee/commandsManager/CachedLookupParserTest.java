@@ -0,0 +1,225 @@
+package ml.empee.commandsManager;
+
+import ml.empee.commandsManager.command.CommandExecutor;
+import ml.empee.commandsManager.command.annotations.CommandNode;
+import ml.empee.commandsManager.exceptions.StacklessCommandException;
+import ml.empee.commandsManager.parsers.types.CachedLookupParser;
+import org.bukkit.command.CommandSender;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.clearInvocations;
+
+class CachedLookupParserTest extends AbstractCommandTest {
+
+  @Test
+  void shouldLoadTheKeysInBackgroundAndPublishThemOnceLoaded() throws InterruptedException {
+    CountDownLatch release = new CountDownLatch(1);
+    List<Thread> loaderThreads = Collections.synchronizedList(new ArrayList<>());
+    CachedLookupParser<String> parser = CachedLookupParser.<String>builder()
+            .label("warp")
+            .loader(key -> key)
+            .keysLoader(() -> {
+              loaderThreads.add(Thread.currentThread());
+              try {
+                release.await(5, TimeUnit.SECONDS);
+              } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+              return Arrays.asList("Spawn", "Shop", "Arena");
+            }).build();
+
+    assertEquals(Collections.emptyList(), getSuggestions(parser, ""));
+    assertEquals(Collections.emptyList(), getSuggestions(parser, ""));
+
+    release.countDown();
+    List<String> suggestions = awaitSuggestions(parser, "");
+    assertEquals(Arrays.asList("Arena", "Shop", "Spawn"), suggestions);
+    assertEquals(Arrays.asList("Shop", "Spawn"), getSuggestions(parser, "s"));
+
+    assertEquals(1, loaderThreads.size());
+    assertNotSame(Thread.currentThread(), loaderThreads.get(0));
+  }
+
+  @Test
+  void shouldKeepTheKeysStoredWhileLoading() throws InterruptedException {
+    CountDownLatch release = new CountDownLatch(1);
+    CachedLookupParser<String> parser = CachedLookupParser.<String>builder()
+            .label("warp")
+            .loader(key -> key)
+            .keysLoader(() -> {
+              try {
+                release.await(5, TimeUnit.SECONDS);
+              } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+              return Collections.singletonList("spawn");
+            }).build();
+
+    getSuggestions(parser, "");
+    parser.parseAsync(Runnable::run, 0, "mine").join();
+    assertEquals(Collections.singletonList("mine"), getSuggestions(parser, ""));
+
+    release.countDown();
+    assertEquals(Arrays.asList("mine", "spawn"), awaitSuggestions(parser, ""));
+  }
+
+  @Test
+  void shouldCacheTheLoadedValues() {
+    AtomicInteger loads = new AtomicInteger();
+    CachedLookupParser<String> parser = CachedLookupParser.<String>builder()
+            .label("warp")
+            .negativeTtl(60_000)
+            .loader(key -> {
+              loads.incrementAndGet();
+              return key.equals("missing") ? null : key.toUpperCase();
+            }).build();
+
+    assertEquals("SPAWN", parser.parseAsync(Runnable::run, 0, "spawn").join());
+    assertTrue(parser.parseAsync(Runnable::run, 0, "Spawn").isDone());
+    assertEquals(1, loads.get());
+
+    CompletableFuture<String> missing = parser.parseAsync(Runnable::run, 0, "missing");
+    CompletionException exception = assertThrows(CompletionException.class, missing::join);
+    assertInstanceOf(StacklessCommandException.class, exception.getCause());
+    assertThrows(CompletionException.class, parser.parseAsync(Runnable::run, 0, "missing")::join);
+    assertEquals(2, loads.get());
+
+    parser.invalidate("spawn");
+    assertEquals("SPAWN", parser.parseAsync(Runnable::run, 0, "spawn").join());
+    assertEquals(3, loads.get());
+
+    CachedLookupParser.Stats stats = parser.getStats();
+    assertEquals(2, stats.getHits());
+    assertEquals(3, stats.getMisses());
+  }
+
+  @Test
+  void shouldCountTheExpiredEntriesAsMisses() throws InterruptedException {
+    CachedLookupParser<String> parser = CachedLookupParser.<String>builder()
+            .label("warp")
+            .ttl(1)
+            .loader(key -> key)
+            .build();
+
+    parser.parseAsync(Runnable::run, 0, "spawn").join();
+    Thread.sleep(5);
+    parser.parseAsync(Runnable::run, 0, "spawn").join();
+
+    CachedLookupParser.Stats stats = parser.getStats();
+    assertEquals(0, stats.getHits());
+    assertEquals(2, stats.getMisses());
+  }
+
+  @Test
+  void shouldNotCacheTheLoadsInvalidatedWhileInFlight() {
+    List<Runnable> tasks = new ArrayList<>();
+    CachedLookupParser<String> parser = CachedLookupParser.<String>builder()
+            .label("warp")
+            .loader(key -> key)
+            .build();
+
+    CompletableFuture<String> stale = parser.parseAsync(tasks::add, 0, "spawn");
+    parser.invalidate("spawn");
+    tasks.get(0).run();
+    assertEquals("spawn", stale.join());
+
+    parser.parseAsync(tasks::add, 0, "spawn");
+    assertEquals(2, tasks.size());
+    parser.invalidateAll();
+    tasks.get(1).run();
+
+    parser.parseAsync(tasks::add, 0, "spawn");
+    assertEquals(3, tasks.size());
+  }
+
+  @Test
+  void shouldStopTheLoadOnceEveryParseIsCancelled() {
+    AtomicInteger loads = new AtomicInteger();
+    List<Runnable> tasks = new ArrayList<>();
+    CachedLookupParser<String> parser = CachedLookupParser.<String>builder()
+            .label("warp")
+            .loader(key -> {
+              loads.incrementAndGet();
+              return key;
+            }).build();
+
+    CompletableFuture<String> first = parser.parseAsync(tasks::add, 0, "spawn");
+    CompletableFuture<String> second = parser.parseAsync(tasks::add, 0, "spawn");
+    assertEquals(1, tasks.size());
+
+    first.cancel(false);
+    tasks.get(0).run();
+    assertEquals("spawn", second.join());
+    assertEquals(1, loads.get());
+
+    parser.invalidate("spawn");
+    parser.parseAsync(tasks::add, 0, "spawn").cancel(false);
+    tasks.get(1).run();
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void shouldCancelTheLoadsOfAnInvalidCommand() {
+    AtomicInteger loads = new AtomicInteger();
+    commandManager.getParserManager().registerParser(
+            CachedLookupParser.<Warp>builder().label("warp").loader(key -> {
+              loads.incrementAndGet();
+              return new Warp();
+            }).build(), null, Warp.class
+    );
+    TeleportCommand command = new TeleportCommand();
+    commandManager.registerCommand(command);
+
+    clearInvocations(plugin.getServer().getScheduler());
+    command.onCommand(sender, command.getPluginCommand(), "tp", new String[] {"spawn", "soon"});
+    assertNotNull(senderReceivedMessage.poll());
+
+    assertEquals(1, MockedServer.runScheduledTasks("runTaskAsynchronously"));
+    assertEquals(0, loads.get());
+  }
+
+  private static List<String> getSuggestions(CachedLookupParser<String> parser, String arg) {
+    return parser.getSuggestions(null, 0, new String[] {arg});
+  }
+
+  private static List<String> awaitSuggestions(CachedLookupParser<String> parser, String arg) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    List<String> suggestions = getSuggestions(parser, arg);
+    while(suggestions.size() < 2 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+      suggestions = getSuggestions(parser, arg);
+    }
+
+    return suggestions;
+  }
+
+  @CommandNode(label = "tp")
+  public static final class TeleportCommand extends CommandExecutor {
+
+    @CommandNode(label = "tp")
+    public void teleport(CommandSender sender, Warp warp, int delay) {
+      sender.sendMessage("teleported");
+    }
+
+  }
+
+  public static final class Warp {
+  }
+
+}
@@ -0,0 +1,62 @@
+package ml.empee.commandsManager;
+
+import ml.empee.commandsManager.utils.CaseInsensitiveIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CaseInsensitiveIndexTest {
+
+  @Test
+  void shouldFindTheKeysIgnoringTheCase() {
+    CaseInsensitiveIndex<Integer> index = new CaseInsensitiveIndex<>(3);
+    assertTrue(index.put("Stone", 1));
+    assertTrue(index.put("DIRT", 2));
+    assertTrue(index.put("oak_log", 3));
+
+    assertEquals(1, index.get("stone"));
+    assertEquals(2, index.get("dirt"));
+    assertEquals(3, index.get("OAK_LOG"));
+    assertNull(index.get("ston"));
+    assertNull(index.get("stones"));
+    assertNull(index.get(""));
+  }
+
+  @Test
+  void shouldKeepTheFirstValueOfAKey() {
+    CaseInsensitiveIndex<Integer> index = new CaseInsensitiveIndex<>(2);
+    assertTrue(index.put("stone", 1));
+    assertFalse(index.put("STONE", 2));
+    assertEquals(1, index.get("Stone"));
+  }
+
+  @Test
+  void shouldHoldTheExpectedKeysWhenFull() {
+    int size = 1000;
+    CaseInsensitiveIndex<Integer> index = new CaseInsensitiveIndex<>(size);
+    for(int i = 0; i < size; i++) {
+      assertTrue(index.put("Key_" + i, i));
+    }
+
+    for(int i = 0; i < size; i++) {
+      assertEquals(i, index.get("KEY_" + i));
+    }
+
+    Map<String, Integer> entries = new HashMap<>();
+    index.forEach(entries::put);
+    assertEquals(size, entries.size());
+    assertEquals(7, entries.get("Key_7"));
+
+    CaseInsensitiveIndex<Integer> single = new CaseInsensitiveIndex<>(1);
+    single.put("a", 1);
+    assertNull(single.get("b"));
+    assertEquals(1, single.get("A"));
+  }
+
+}
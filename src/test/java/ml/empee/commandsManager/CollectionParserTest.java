@@ -0,0 +1,147 @@
+package ml.empee.commandsManager;
+
+import ml.empee.commandsManager.command.CommandExecutor;
+import ml.empee.commandsManager.command.annotations.CommandNode;
+import ml.empee.commandsManager.parsers.ParseResult;
+import ml.empee.commandsManager.parsers.types.CollectionParser;
+import ml.empee.commandsManager.parsers.types.IntegerParser;
+import ml.empee.commandsManager.parsers.types.annotations.CollectionParam;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.PluginCommand;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CollectionParserTest extends AbstractCommandTest {
+
+  private ListCommand listCommand;
+  private PluginCommand pluginCommand;
+
+  @BeforeEach
+  public void setUp() {
+    super.setUp();
+
+    listCommand = new ListCommand();
+    commandManager.registerCommand(listCommand);
+    pluginCommand = listCommand.getPluginCommand();
+  }
+
+  private void executeCommand(String... args) {
+    listCommand.onCommand(sender, pluginCommand, "list", args);
+  }
+
+  private List<String> complete(String... args) {
+    return pluginCommand.getTabCompleter().onTabComplete(sender, pluginCommand, "list", args);
+  }
+
+  private static CollectionParser intParser(Class<?> collectionType, String separator) {
+    return CollectionParser.builder()
+            .label("values")
+            .elementParser(IntegerParser.builder().label("value").min(0).max(100).build())
+            .collectionType(collectionType)
+            .separator(separator)
+            .minSize(1)
+            .maxSize(3)
+            .build();
+  }
+
+  @Test
+  void shouldParseSeparatedElements() {
+    ParseResult<Object> result = intParser(int[].class, ",").tryParse(0, "1,2,3");
+    assertTrue(result.isSuccess());
+    assertArrayEquals(new int[] {1, 2, 3}, (int[]) result.getValue());
+
+    result = intParser(Set.class, ",").tryParse(0, "3,1,3");
+    assertEquals(Arrays.asList(3, 1), Arrays.asList(((Set<?>) result.getValue()).toArray()));
+  }
+
+  @Test
+  void shouldParseTheRemainingArgumentsWhenGreedy() {
+    CollectionParser parser = intParser(List.class, "");
+    assertTrue(parser.isGreedy());
+    assertEquals(Arrays.asList(2, 3), parser.tryParse(1, "skipped", "2", "3").getValue());
+  }
+
+  @Test
+  void shouldCheckTheSizeAndTheElements() {
+    CollectionParser parser = intParser(int[].class, ",");
+    assertEquals("You can't specify more than §e3§r values, found §e4", parser.tryParse(0, "1,2,3,4").getError());
+    assertEquals("§e101§r must be equal or lower then §e100", parser.tryParse(0, "1,101").getError());
+    assertFalse(parser.tryParse(0, "1,,2").isSuccess());
+  }
+
+  @Test
+  void shouldCheckTheSizeOfTheDistinctElementsOfSets() {
+    CollectionParser parser = intParser(Set.class, ",");
+    parser.setMinSize(2);
+    assertEquals("You must specify at least §e2§r values, found §e1", parser.tryParse(0, "1,1").getError());
+    assertTrue(parser.tryParse(0, "1,2,1").isSuccess());
+  }
+
+  @Test
+  void shouldDescribeArrayDefaultValues() {
+    CollectionParser parser = intParser(int[].class, ",");
+    parser.setDefaultValue("4,5");
+
+    String description = parser.getDescriptionBuilder().getDescription();
+    assertTrue(description.contains("Default value: §d[4, 5]"), description);
+
+    parser = intParser(List.class, ",");
+    parser.setDefaultValue("4,5");
+    assertTrue(parser.getDescriptionBuilder().getDescription().contains("Default value: §d[4, 5]"));
+  }
+
+  @Test
+  void shouldExecuteCollectionParameters() {
+    executeCommand("sum", "1,2,3");
+    assertEquals("6", senderReceivedMessage.poll());
+
+    executeCommand("join", "a", "b", "c");
+    assertEquals("a-b-c", senderReceivedMessage.poll());
+
+    executeCommand("join");
+    assertEquals("", senderReceivedMessage.poll());
+  }
+
+  @Test
+  void shouldCompleteOnlyTheTypedElement() {
+    assertEquals(Arrays.asList("1,true"), complete("flags", "1,t"));
+    assertEquals(Collections.singletonList("true"), complete("flags", "t"));
+  }
+
+  @Test
+  void shouldCompleteEveryArgumentOfGreedyParameters() {
+    assertEquals(Collections.singletonList("[string]"), complete("join", "a", ""));
+    assertEquals(Collections.singletonList("[string]"), complete("join", "a", "b", ""));
+  }
+
+  @CommandNode(label = "list")
+  public static final class ListCommand extends CommandExecutor {
+
+    @CommandNode(parent = "list", label = "sum")
+    public void sum(CommandSender sender, int[] values) {
+      sender.sendMessage(Arrays.stream(values).sum() + "");
+    }
+
+    @CommandNode(parent = "list", label = "join")
+    public void join(CommandSender sender, String... words) {
+      sender.sendMessage(String.join("-", words));
+    }
+
+    @CommandNode(parent = "list", label = "flags")
+    public void flags(CommandSender sender, @CollectionParam(maxSize = 2) List<Boolean> flags) {
+      sender.sendMessage(flags.toString());
+    }
+
+  }
+
+}
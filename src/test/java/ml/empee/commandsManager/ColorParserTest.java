@@ -0,0 +1,50 @@
+package ml.empee.commandsManager;
+
+import ml.empee.commandsManager.parsers.ParseResult;
+import ml.empee.commandsManager.parsers.types.ColorParser;
+import net.md_5.bungee.api.ChatColor;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ColorParserTest {
+
+  private final ColorParser parser = ColorParser.builder().label("color").build();
+
+  @Test
+  void shouldParseTheNamedColorsIgnoringTheCase() {
+    assertSame(ChatColor.RED, parser.parse("red"));
+    assertSame(ChatColor.DARK_PURPLE, parser.parse("Dark_Purple"));
+    assertSame(ChatColor.WHITE, parser.parse("WHITE"));
+  }
+
+  @Test
+  void shouldParseTheHexColors() {
+    assertEquals("#ff8800", parser.parse("#FF8800").getName());
+    assertEquals("#0a0b0c", parser.parse("0a0b0c").getName());
+    assertSame(parser.parse("#123abc"), parser.parse("123ABC"));
+  }
+
+  @Test
+  void shouldRejectTheInvalidColors() {
+    for(String color : new String[] {"", "#", "purple", "#12345", "1234567", "#12345g", "##12345", "12 456"}) {
+      ParseResult<ChatColor> result = parser.tryParse(0, color);
+      assertFalse(result.isSuccess(), color);
+      assertEquals("The color §e" + color + "§r isn't valid", result.getError());
+    }
+  }
+
+  @Test
+  void shouldNotLeakTheSuggestions() {
+    List<String> suggestions = parser.buildSuggestions(null, "");
+    assertEquals(16, suggestions.size());
+    assertThrows(UnsupportedOperationException.class, () -> suggestions.remove(0));
+    assertEquals(16, parser.buildSuggestions(null, "").size());
+  }
+
+}
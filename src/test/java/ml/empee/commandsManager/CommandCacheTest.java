@@ -0,0 +1,126 @@
+package ml.empee.commandsManager;
+
+import ml.empee.commandsManager.command.CommandContext;
+import ml.empee.commandsManager.command.CommandExecutor;
+import ml.empee.commandsManager.command.CommandInterceptor;
+import ml.empee.commandsManager.command.Node;
+import ml.empee.commandsManager.command.annotations.Cacheable;
+import ml.empee.commandsManager.command.annotations.CommandNode;
+import ml.empee.commandsManager.services.CommandCache;
+import net.md_5.bungee.api.chat.TextComponent;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.PluginCommand;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+class CommandCacheTest extends AbstractCommandTest {
+
+  private CachedCommand command;
+  private PluginCommand pluginCommand;
+  private CommandCache cache;
+
+  @BeforeEach
+  public void setUp() {
+    super.setUp();
+
+    when(((Player) sender).spigot()).thenReturn(new Player.Spigot());
+    command = new CachedCommand();
+    commandManager.registerCommand(command);
+    pluginCommand = command.getPluginCommand();
+    cache = commandManager.getCommandCache();
+  }
+
+  private void executeCommand(String... args) {
+    command.onCommand(sender, pluginCommand, "cached", args);
+  }
+
+  @Test
+  void shouldReplayTheRecordedMessages() {
+    executeCommand("stats", "a");
+    executeCommand("stats", "a");
+    executeCommand("stats", "b");
+
+    assertEquals(2, command.executions.get());
+    assertEquals(Arrays.asList("stats a", "1", "stats a", "1", "stats b", "2"), Arrays.asList(senderReceivedMessage.toArray()));
+  }
+
+  @Test
+  void shouldInvalidateEveryNodeOfACache() {
+    executeCommand("stats", "a");
+    executeCommand("top");
+    assertEquals(new HashSet<>(Arrays.asList("stats", "cached.fancy")), cache.getCacheNames());
+
+    cache.invalidate("stats");
+    executeCommand("stats", "a");
+    executeCommand("top");
+    assertEquals(4, command.executions.get());
+  }
+
+  @Test
+  void shouldNotCacheTheExecutionsUsingSpigotMessages() {
+    executeCommand("fancy");
+    executeCommand("fancy");
+
+    assertEquals(2, command.executions.get());
+  }
+
+  @Test
+  void shouldIdentifyThePlayerArgumentsByTheirId() throws Exception {
+    Node node = command.getRootNode().findNextNode(new String[] {"stats"}, 0);
+    UUID id = UUID.randomUUID();
+    Player first = Mockito.mock(Player.class);
+    Player second = Mockito.mock(Player.class);
+    when(first.getUniqueId()).thenReturn(id);
+    when(second.getUniqueId()).thenReturn(id);
+
+    AtomicInteger executions = new AtomicInteger();
+    CommandContext context = new CommandContext(sender);
+    CommandInterceptor.Chain next = (c, args) -> {
+      executions.incrementAndGet();
+      return null;
+    };
+
+    cache.intercept(context, node, new Object[] {sender, first}, next);
+    cache.intercept(context, node, new Object[] {sender, second}, next);
+
+    assertEquals(1, executions.get());
+  }
+
+  @CommandNode(label = "cached")
+  public static final class CachedCommand extends CommandExecutor {
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @Cacheable("stats")
+    @CommandNode(parent = "cached", label = "stats")
+    public void stats(CommandSender sender, String name) {
+      sender.sendMessage("stats " + name);
+      sender.sendMessage(executions.incrementAndGet() + "");
+    }
+
+    @Cacheable("stats")
+    @CommandNode(parent = "cached", label = "top")
+    public void top(CommandSender sender) {
+      executions.incrementAndGet();
+    }
+
+    @Cacheable
+    @CommandNode(parent = "cached", label = "fancy")
+    public void fancy(Player sender) {
+      executions.incrementAndGet();
+      sender.spigot().sendMessage(new TextComponent("fancy"));
+    }
+
+  }
+
+}
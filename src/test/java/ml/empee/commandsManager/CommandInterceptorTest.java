@@ -0,0 +1,129 @@
+package ml.empee.commandsManager;
+
+import ml.empee.commandsManager.command.CommandContext;
+import ml.empee.commandsManager.command.CommandExecutor;
+import ml.empee.commandsManager.command.CommandInterceptor;
+import ml.empee.commandsManager.command.Node;
+import ml.empee.commandsManager.command.annotations.CommandNode;
+import org.bukkit.command.CommandException;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.PluginCommand;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CommandInterceptorTest extends AbstractCommandTest {
+
+  private final List<String> calls = new ArrayList<>();
+  private final List<String> appliedNodes = new ArrayList<>();
+  private InterceptedCommand command;
+  private PluginCommand pluginCommand;
+
+  @BeforeEach
+  public void setUp() {
+    super.setUp();
+
+    commandManager.addInterceptor(new CommandInterceptor() {
+      @Override
+      public Object intercept(CommandContext context, Node node, Object[] args, Chain next) throws Exception {
+        calls.add("manager " + node.getId());
+        return next.proceed(context, args);
+      }
+
+      @Override
+      public boolean appliesTo(Node node) {
+        appliedNodes.add(node.getId());
+        return !node.getId().endsWith("excluded");
+      }
+    });
+
+    command = new InterceptedCommand(calls);
+    commandManager.registerCommand(command);
+    pluginCommand = command.getPluginCommand();
+  }
+
+  private void executeCommand(String... args) {
+    command.onCommand(sender, pluginCommand, "intercepted", args);
+  }
+
+  @Test
+  void shouldWrapTheControllerInterceptorsWithTheManagerOnes() {
+    executeCommand("echo", "hello");
+
+    assertEquals(Arrays.asList("manager intercepted.echo", "controller intercepted.echo", "echo HELLO"), calls);
+    assertEquals("HELLO", senderReceivedMessage.poll());
+  }
+
+  @Test
+  void shouldAskOncePerNodeWhenBuilt() {
+    executeCommand("excluded");
+    executeCommand("excluded");
+
+    assertEquals(Arrays.asList("controller intercepted.excluded", "excluded", "controller intercepted.excluded", "excluded"), calls);
+    appliedNodes.sort(String::compareTo);
+    assertEquals(Arrays.asList("intercepted.echo", "intercepted.excluded"), appliedNodes);
+  }
+
+  @Test
+  void shouldRunTheBareRootCommand() {
+    executeCommand();
+
+    assertEquals(Collections.emptyList(), calls);
+    assertNull(senderReceivedMessage.poll());
+  }
+
+  @Test
+  void shouldSkipTheNodeOrSendTheErrors() {
+    executeCommand("echo", "skip");
+    assertEquals(Arrays.asList("manager intercepted.echo", "controller intercepted.echo"), calls);
+    assertNull(senderReceivedMessage.poll());
+
+    executeCommand("echo", "deny");
+    assertEquals("§4§l > §cDenied", senderReceivedMessage.poll());
+  }
+
+  @CommandNode(label = "intercepted")
+  public static final class InterceptedCommand extends CommandExecutor {
+
+    private final List<String> calls;
+
+    public InterceptedCommand(List<String> calls) {
+      this.calls = calls;
+      addInterceptor((context, node, args, next) -> {
+        calls.add("controller " + node.getId());
+        if(args.length > 1 && "skip".equals(args[1])) {
+          return null;
+        } else if(args.length > 1 && "deny".equals(args[1])) {
+          throw new CommandException("Denied");
+        }
+
+        if(args.length > 1) {
+          args = args.clone();
+          args[1] = args[1].toString().toUpperCase();
+        }
+
+        return next.proceed(context, args);
+      });
+    }
+
+    @CommandNode(parent = "intercepted", label = "echo")
+    public void echo(CommandSender sender, String message) {
+      calls.add("echo " + message);
+      sender.sendMessage(message);
+    }
+
+    @CommandNode(parent = "intercepted", label = "excluded")
+    public void excluded(CommandSender sender) {
+      calls.add("excluded");
+    }
+
+  }
+
+}
@@ -0,0 +1,129 @@
+package ml.empee.commandsManager;
+
+import ml.empee.commandsManager.command.CommandExecutor;
+import ml.empee.commandsManager.command.annotations.CommandNode;
+import ml.empee.commandsManager.parsers.types.CachedLookupParser;
+import ml.empee.commandsManager.services.CommandRecorder;
+import ml.empee.commandsManager.services.CommandReplayer;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.PluginCommand;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.when;
+
+class CommandRecorderTest extends AbstractCommandTest {
+
+  @TempDir
+  File directory;
+  private RecordedCommand recordedCommand;
+  private PluginCommand pluginCommand;
+
+  @BeforeEach
+  public void setUp() {
+    super.setUp();
+
+    recordedCommand = new RecordedCommand();
+    commandManager.registerCommand(recordedCommand);
+    pluginCommand = recordedCommand.getPluginCommand();
+  }
+
+  @Test
+  void shouldRecordTheExecutedCommands() throws IOException {
+    File file = new File(directory, "commands.log");
+    commandManager.startRecording(file);
+    recordedCommand.onCommand(sender, pluginCommand, "rec", new String[] {"echo", "hello"});
+    recordedCommand.onCommand(sender, pluginCommand, "rec", new String[] {"echo"});
+    recordedCommand.onCommand(consoleSender, pluginCommand, "rec", new String[] {"echo", "console"});
+    commandManager.stopRecording();
+
+    List<CommandRecorder.Record> records = CommandRecorder.read(file);
+    assertEquals(3, records.size());
+    assertEquals("rec", records.get(0).getLabel());
+    assertArrayEquals(new String[] {"echo", "hello"}, records.get(0).getArgs());
+    assertEquals(CommandRecorder.Outcome.SUCCESS, records.get(0).getOutcome());
+    assertEquals(CommandRecorder.Outcome.FAILURE, records.get(1).getOutcome());
+    assertEquals(sender.getClass().getName(), records.get(0).getSenderClass());
+    assertEquals(consoleSender.getClass().getName(), records.get(2).getSenderClass());
+
+    senderReceivedMessage.clear();
+    CommandReplayer.Report report = new CommandReplayer(commandManager, (senderClass, player) -> sender).replay(records);
+    assertEquals(3, report.getRequests());
+    assertEquals(1, report.getFailures());
+    assertEquals("hello", senderReceivedMessage.poll());
+  }
+
+  @Test
+  void shouldRecordTheCommandsWithAsyncArgumentsOnceExecuted() throws IOException {
+    commandManager.getParserManager().registerParser(
+            CachedLookupParser.<Warp>builder().label("warp").loader(name -> name.equals("spawn") ? new Warp() : null).build(),
+            null, Warp.class
+    );
+    WarpCommand warpCommand = new WarpCommand();
+    commandManager.registerCommand(warpCommand);
+    PluginCommand warpPluginCommand = warpCommand.getPluginCommand();
+
+    when(((Player) sender).isOnline()).thenReturn(true);
+    File file = new File(directory, "async.log");
+    commandManager.startRecording(file);
+    clearInvocations(plugin.getServer().getScheduler());
+    warpCommand.onCommand(sender, warpPluginCommand, "warp", new String[] {"spawn"});
+    warpCommand.onCommand(sender, warpPluginCommand, "warp", new String[] {"missing"});
+    assertNull(senderReceivedMessage.poll());
+
+    while(MockedServer.runScheduledTasks("runTask", "runTaskAsynchronously") > 0) {
+      //Runs the tasks scheduled by the previous ones
+    }
+    commandManager.stopRecording();
+
+    assertEquals("warped", senderReceivedMessage.poll());
+    List<CommandRecorder.Record> records = CommandRecorder.read(file);
+    assertEquals(2, records.size());
+    assertEquals(CommandRecorder.Outcome.SUCCESS, records.get(0).getOutcome());
+    assertEquals(CommandRecorder.Outcome.FAILURE, records.get(1).getOutcome());
+  }
+
+  @Test
+  void shouldDropRecordsAfterClosing() throws IOException {
+    CommandRecorder recorder = new CommandRecorder(new File(directory, "closed.log"), log);
+    recorder.close();
+
+    assertFalse(recorder.record(CommandRecorder.Kind.EXECUTION, sender, "rec", new String[0], CommandRecorder.Outcome.SUCCESS, 0));
+    assertEquals(1, recorder.getDroppedCount());
+  }
+
+  @CommandNode(label = "rec")
+  public static final class RecordedCommand extends CommandExecutor {
+
+    @CommandNode(parent = "rec", label = "echo")
+    public void echo(CommandSender sender, String message) {
+      sender.sendMessage(message);
+    }
+
+  }
+
+  @CommandNode(label = "warp")
+  public static final class WarpCommand extends CommandExecutor {
+
+    @CommandNode(label = "warp")
+    public void warp(CommandSender sender, Warp warp) {
+      sender.sendMessage("warped");
+    }
+
+  }
+
+  public static final class Warp {
+  }
+
+}
@@ -0,0 +1,124 @@
+package ml.empee.commandsManager;
+
+import ml.empee.commandsManager.command.CommandExecutor;
+import ml.empee.commandsManager.command.annotations.CommandNode;
+import ml.empee.commandsManager.services.CommandScheduler;
+import org.bukkit.command.CommandException;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+class CommandSchedulerTest extends AbstractCommandTest {
+
+  private final UUID playerId = UUID.randomUUID();
+  private CommandScheduler scheduler;
+
+  @BeforeEach
+  public void setUp() {
+    super.setUp();
+
+    when(((Player) sender).getUniqueId()).thenReturn(playerId);
+    commandManager.registerCommand(new ScheduledCommand());
+    scheduler = commandManager.getScheduler();
+  }
+
+  private void advance(int ticks) {
+    for(int i = 0; i < ticks; i++) {
+      scheduler.run();
+    }
+  }
+
+  @Test
+  void shouldExecuteCommandsWhenDue() {
+    scheduler.schedule(sender, "sched echo once", 3);
+    CommandScheduler.ScheduledCommand repeating = scheduler.schedule(sender, "sched echo repeat", 1, 2);
+
+    advance(1);
+    assertEquals("repeat", senderReceivedMessage.poll());
+    advance(2);
+    assertEquals("once", senderReceivedMessage.poll());
+    assertEquals("repeat", senderReceivedMessage.poll());
+
+    repeating.cancel();
+    advance(10);
+    assertNull(senderReceivedMessage.poll());
+    assertEquals(0, scheduler.getPendingCount());
+  }
+
+  @Test
+  void shouldValidateCommandsWhenScheduled() {
+    assertThrows(CommandException.class, () -> scheduler.schedule(sender, "sched echo", 1));
+  }
+
+  @Test
+  void shouldLimitTheExecutionsPerTick() {
+    scheduler.setMaxExecutionsPerTick(2);
+    for(int i = 0; i < 5; i++) {
+      scheduler.schedule(sender, "sched echo " + i, 1);
+    }
+
+    advance(1);
+    assertEquals(2, senderReceivedMessage.size());
+    advance(2);
+    assertEquals(5, senderReceivedMessage.size());
+  }
+
+  @Test
+  void shouldParseAgainAfterTheSenderQuits() {
+    scheduler.schedule(sender, "sched whoami", 2, 2);
+    advance(2);
+    assertEquals("MockedPlayer", senderReceivedMessage.poll());
+
+    List<String> reloggedMessages = new ArrayList<>();
+    Player relogged = Mockito.mock(Player.class);
+    when(relogged.getName()).thenReturn("Relogged");
+    when(relogged.hasPermission(Mockito.anyString())).thenReturn(true);
+    doAnswer(invocation -> reloggedMessages.add(invocation.getArgument(0)))
+            .when(relogged).sendMessage(Mockito.anyString());
+
+    scheduler.onPlayerQuit(new PlayerQuitEvent((Player) sender, null));
+    when(MockedServer.install().getPlayer(playerId)).thenReturn(relogged);
+    try {
+      advance(2);
+      assertNull(senderReceivedMessage.poll());
+      assertEquals("Relogged", reloggedMessages.get(0));
+
+      //Offline
+      scheduler.onPlayerQuit(new PlayerQuitEvent(relogged, null));
+      when(MockedServer.install().getPlayer(playerId)).thenReturn(null);
+      advance(2);
+      assertEquals(1, reloggedMessages.size());
+    } finally {
+      when(MockedServer.install().getPlayer(playerId)).thenReturn(null);
+    }
+  }
+
+  @CommandNode(label = "sched")
+  public static final class ScheduledCommand extends CommandExecutor {
+
+    @CommandNode(parent = "sched", label = "echo")
+    public void echo(CommandSender sender, String message) {
+      sender.sendMessage(message);
+    }
+
+    @CommandNode(parent = "sched", label = "whoami")
+    public void whoAmI(CommandSender sender) {
+      sender.sendMessage(sender.getName());
+    }
+
+  }
+
+}
@@ -0,0 +1,79 @@
+package ml.empee.commandsManager;
+
+import ml.empee.commandsManager.command.CommandExecutor;
+import ml.empee.commandsManager.command.annotations.CommandNode;
+import ml.empee.commandsManager.services.CommandWatchdog;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.PluginCommand;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommandWatchdogTest extends AbstractCommandTest {
+
+  private WatchedCommand watchedCommand;
+  private PluginCommand pluginCommand;
+  private CommandWatchdog watchdog;
+
+  @BeforeEach
+  public void setUp() {
+    super.setUp();
+
+    watchedCommand = new WatchedCommand();
+    pluginCommand = watchedCommand.build(commandManager);
+    watchdog = commandManager.enableWatchdog(20, TimeUnit.MILLISECONDS);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    commandManager.disableWatchdog();
+  }
+
+  private List<CommandWatchdog.Offender> awaitOffenders() throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    List<CommandWatchdog.Offender> offenders = watchdog.getOffenders();
+    while(offenders.isEmpty() && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+      offenders = watchdog.getOffenders();
+    }
+
+    return offenders;
+  }
+
+  @Test
+  void shouldTrackSlowExecutionsWithTheirRawArguments() throws InterruptedException {
+    watchedCommand.onCommand(sender, pluginCommand, "watched", new String[] {"fast"});
+    watchedCommand.onCommand(sender, pluginCommand, "watched", new String[] {"slow", "150"});
+
+    List<CommandWatchdog.Offender> offenders = awaitOffenders();
+    assertEquals(1, offenders.size());
+
+    CommandWatchdog.Offender offender = offenders.get(0);
+    assertEquals("watched.slow", offender.getNodeId());
+    assertEquals("[slow, 150]", offender.getSlowestArguments());
+    assertTrue(offender.getMaxDuration() >= TimeUnit.MILLISECONDS.toNanos(150));
+    assertTrue(offender.getHotStack().contains("WatchedCommand.slow"), offender.getHotStack());
+  }
+
+  @CommandNode(label = "watched")
+  public static final class WatchedCommand extends CommandExecutor {
+
+    @CommandNode(parent = "watched", label = "fast")
+    public void fast(CommandSender sender) {
+      sender.sendMessage("fast");
+    }
+
+    @CommandNode(parent = "watched", label = "slow")
+    public void slow(CommandSender sender, int millis) throws InterruptedException {
+      Thread.sleep(millis);
+    }
+
+  }
+
+}
@@ -0,0 +1,62 @@
+package ml.empee.commandsManager;
+
+import ml.empee.commandsManager.parsers.ConstantTable;
+import ml.empee.commandsManager.parsers.types.MaterialParser;
+import org.bukkit.Material;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConstantTableTest {
+
+  enum Direction {
+    NORTH, NORTH_EAST, EAST, SOUTH, WEST
+  }
+
+  @Test
+  void shouldShareTheTablesOfTheSameTypeAndFilter() {
+    ConstantTable<Direction> table = ConstantTable.of(Direction.class);
+    assertSame(table, ConstantTable.of(Direction.class));
+    assertSame(ConstantTable.ofMaterials(true), ConstantTable.ofMaterials(true));
+
+    ConstantTable<Direction> filtered = ConstantTable.of(Direction.class, "cardinal", d -> !d.name().contains("_"));
+    assertNotSame(table, filtered);
+    assertSame(filtered, ConstantTable.of(Direction.class, "cardinal", d -> false));
+  }
+
+  @Test
+  void shouldLookUpTheConstantsCaseInsensitively() {
+    ConstantTable<Direction> table = ConstantTable.of(Direction.class, "cardinal", d -> !d.name().contains("_"));
+    assertEquals(Arrays.asList("NORTH", "EAST", "SOUTH", "WEST"), table.getNames());
+    assertThrows(UnsupportedOperationException.class, () -> table.getNames().add("UP"));
+
+    assertSame(Direction.NORTH, table.get("north"));
+    assertSame(Direction.WEST, table.get("WeSt"));
+    assertNull(table.get("north_east"));
+    assertNull(table.get("up"));
+  }
+
+  @Test
+  void shouldFindTheSimilarNames() {
+    ConstantTable<Direction> table = ConstantTable.of(Direction.class);
+    assertEquals(Collections.singletonList("NORTH"), table.findSimilar("nrth", 3));
+    assertEquals(Arrays.asList("EAST", "WEST"), table.findSimilar("east", 2));
+    assertEquals(Collections.emptyList(), table.findSimilar("up", 3));
+  }
+
+  @Test
+  void shouldParseMaterialsThroughTheSharedTables() {
+    MaterialParser parser = MaterialParser.builder().label("material").build();
+    assertSame(Material.STONE, parser.parse("stone"));
+    assertEquals("§eston§r isn't valid, did you mean §eSTONE§r?", parser.tryParse(0, "ston").getError());
+    assertEquals(ConstantTable.ofMaterials(false).getNames(), parser.buildSuggestions(null, ""));
+  }
+
+}
@@ -82,7 +82,7 @@ class DemoCommandTest extends AbstractCommandTest {
 
     executeCommand("teleport", "10", "260", "10");
     assertEquals(
-            "§4§l > §c§e260.0§c must be equal or lower then §e0.0",
+            "§4§l > §c§e260.0§c must be equal or lower then §e255.0",
             senderReceivedMessage.poll()
     );
 
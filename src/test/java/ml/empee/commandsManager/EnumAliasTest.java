@@ -0,0 +1,77 @@
+package ml.empee.commandsManager;
+
+import ml.empee.commandsManager.command.CommandExecutor;
+import ml.empee.commandsManager.command.annotations.CommandNode;
+import ml.empee.commandsManager.parsers.ConstantTable;
+import ml.empee.commandsManager.parsers.types.annotations.EnumAlias;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.PluginCommand;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class EnumAliasTest extends AbstractCommandTest {
+
+  public enum Mode {
+    @EnumAlias({"c", "creative_mode"})
+    CREATIVE,
+    @EnumAlias({"s", "SURVIVAL_MODE"})
+    SURVIVAL,
+    //The alias of another constant doesn't hide a name
+    @EnumAlias("creative")
+    SPECTATOR
+  }
+
+  private ModeCommand modeCommand;
+  private PluginCommand pluginCommand;
+
+  @BeforeEach
+  public void setUp() {
+    super.setUp();
+
+    modeCommand = new ModeCommand();
+    commandManager.registerCommand(modeCommand);
+    pluginCommand = modeCommand.getPluginCommand();
+  }
+
+  private void executeCommand(String... args) {
+    modeCommand.onCommand(sender, pluginCommand, "mode", args);
+  }
+
+  @Test
+  void shouldResolveTheAliases() {
+    ConstantTable<Mode> table = ConstantTable.of(Mode.class);
+    assertSame(Mode.CREATIVE, table.get("C"));
+    assertSame(Mode.CREATIVE, table.get("Creative_Mode"));
+    assertSame(Mode.SURVIVAL, table.get("survival_mode"));
+    assertSame(Mode.CREATIVE, table.get("creative"));
+    assertEquals(Arrays.asList("CREATIVE", "SURVIVAL", "SPECTATOR"), table.getNames());
+  }
+
+  @Test
+  void shouldParseTheAliases() {
+    executeCommand("s");
+    assertEquals("SURVIVAL", senderReceivedMessage.poll());
+
+    executeCommand("creative");
+    assertEquals("CREATIVE", senderReceivedMessage.poll());
+
+    executeCommand("survival_mod");
+    assertEquals("§4§l > §c§esurvival_mod§c isn't valid, did you mean §eSURVIVAL§c?", senderReceivedMessage.poll());
+  }
+
+  @CommandNode(label = "mode")
+  public static final class ModeCommand extends CommandExecutor {
+
+    @CommandNode(label = "mode")
+    public void mode(CommandSender sender, Mode mode) {
+      sender.sendMessage(mode.name());
+    }
+
+  }
+
+}
@@ -0,0 +1,111 @@
+package ml.empee.commandsManager;
+
+import ml.empee.commandsManager.command.CommandExecutor;
+import ml.empee.commandsManager.command.annotations.CommandNode;
+import ml.empee.commandsManager.parsers.ParameterParser;
+import ml.empee.commandsManager.parsers.types.Flags;
+import ml.empee.commandsManager.parsers.types.annotations.Flag;
+import ml.empee.commandsManager.parsers.types.annotations.FlagsParam;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.PluginCommand;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlagsParserTest extends AbstractCommandTest {
+
+  private FlagsCommand flagsCommand;
+  private PluginCommand pluginCommand;
+
+  @BeforeEach
+  public void setUp() {
+    super.setUp();
+
+    flagsCommand = new FlagsCommand();
+    commandManager.registerCommand(flagsCommand);
+    pluginCommand = flagsCommand.getPluginCommand();
+  }
+
+  private void executeCommand(String... args) {
+    flagsCommand.onCommand(sender, pluginCommand, "flags", args);
+  }
+
+  private List<String> complete(String... args) {
+    return pluginCommand.getTabCompleter().onTabComplete(sender, pluginCommand, "flags", args);
+  }
+
+  @Test
+  void shouldParseUnorderedFlags() {
+    executeCommand("fill", "stone", "--radius", "3", "-sf");
+    assertEquals("stone r=3 s=true f=true", senderReceivedMessage.poll());
+
+    executeCommand("fill", "dirt");
+    assertEquals("dirt r=5 s=false f=false", senderReceivedMessage.poll());
+
+    executeCommand("fill", "dirt", "-f", "--Aa", "--BB");
+    assertEquals("dirt r=5 s=false f=true Aa=true BB=true", senderReceivedMessage.poll());
+  }
+
+  @Test
+  void shouldReportInvalidFlags() {
+    executeCommand("fill", "stone", "--unknown");
+    assertEquals("§4§l > §cThe flag §e--unknown§c doesn't exist", senderReceivedMessage.poll());
+
+    executeCommand("fill", "stone", "-s", "--silent");
+    assertEquals("§4§l > §cThe flag §esilent§c has been specified more than once", senderReceivedMessage.poll());
+
+    executeCommand("fill", "stone", "--radius");
+    assertEquals("§4§l > §cThe flag §eradius§c needs a value", senderReceivedMessage.poll());
+  }
+
+  @Test
+  void shouldCompleteOnlyTheFlagsAfterThePositionalArguments() {
+    assertEquals(Arrays.asList("--Aa", "--BB", "--force", "--radius", "--silent"), complete("fill", "-s", ""));
+    assertEquals(Arrays.asList("--Aa", "--BB", "--force", "--radius"), complete("fill", "stone", "-s", ""));
+    assertEquals(Arrays.asList("--radius"), complete("fill", "stone", "--silent", "--r"));
+  }
+
+  @Test
+  void shouldDescribeTheFlags() {
+    ParameterParser<?> parser = flagsCommand.getRootNode().getChildren()[0].getParameterParsers()[1];
+    String description = parser.getDescriptionBuilder().getDescription();
+    assertTrue(description.contains("--radius (-r) <integer>: "), description);
+  }
+
+  @CommandNode(label = "flags")
+  public static final class FlagsCommand extends CommandExecutor {
+
+    @CommandNode(parent = "flags", label = "fill")
+    public void fill(
+            CommandSender sender, String block,
+            @FlagsParam({
+                    @Flag(name = "radius", shortName = 'r', type = Integer.class, defaultValue = "5"),
+                    @Flag(name = "silent", shortName = 's'),
+                    @Flag(name = "force", shortName = 'f'),
+                    @Flag(name = "Aa"),
+                    @Flag(name = "BB")
+            }) Flags flags
+    ) {
+      StringBuilder message = new StringBuilder(block)
+              .append(" r=").append((Object) flags.get("radius"))
+              .append(" s=").append(flags.has("silent"))
+              .append(" f=").append(flags.has("force"));
+      if(flags.has("Aa")) {
+        message.append(" Aa=true");
+      }
+
+      if(flags.has("BB")) {
+        message.append(" BB=true");
+      }
+
+      sender.sendMessage(message.toString());
+    }
+
+  }
+
+}
@@ -0,0 +1,243 @@
+package ml.empee.commandsManager;
+
+import ml.empee.commandsManager.command.Controller;
+import ml.empee.commandsManager.command.Node;
+import ml.empee.commandsManager.command.annotations.CommandNode;
+import ml.empee.commandsManager.parsers.DescriptionBuilder;
+import ml.empee.commandsManager.parsers.ParameterParser;
+import ml.empee.commandsManager.services.HelpMenuService;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.implementation.StubMethod;
+import net.md_5.bungee.api.ChatColor;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.HoverEvent;
+import net.md_5.bungee.api.chat.TextComponent;
+import org.bukkit.command.CommandSender;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HelpMenuServiceTest extends AbstractCommandTest {
+
+  private static final int GROUPS = 50;
+  //The parameters of the leaves, assigned in rotation
+  private static final Class<?>[][] LEAF_PARAMETERS = {
+          {CommandSender.class, int.class, String.class},
+          {CommandSender.class, String.class},
+          {CommandSender.class}
+  };
+
+  @Test
+  void shouldListEveryLeaf() throws ReflectiveOperationException {
+    Node root = Node.buildCommandTree(commandManager, newWideCommand(10));
+    assertEquals(GROUPS * 10, countLeaves(root));
+
+    HelpMenuService helpMenu = new HelpMenuService("Test", root);
+    helpMenu.sendHelpMenu(consoleSender, 1);
+    String page = ChatColor.stripColor(senderReceivedMessage.poll());
+    assertTrue(page.contains("/t group0 leaf0 <number> <string>"), page);
+    assertTrue(page.contains("/t group0 leaf1 <string>"), page);
+    assertTrue(page.contains("/t group0 leaf2"), page);
+  }
+
+  @Test
+  void shouldRetainOneComponentForEveryAddedLeaf() throws ReflectiveOperationException {
+    Node smallTree = Node.buildCommandTree(commandManager, newWideCommand(20));
+    Node largeTree = Node.buildCommandTree(commandManager, newWideCommand(100));
+    int smallLeaves = countLeaves(smallTree);
+    int largeLeaves = countLeaves(largeTree);
+    assertEquals(5000, largeLeaves);
+
+    double retainedGrowth = (double) (
+            countComponents(new HelpMenuService("Test", largeTree)) - countComponents(new HelpMenuService("Test", smallTree))
+    ) / (largeLeaves - smallLeaves);
+    double copiedGrowth = (double) (
+            countComponents(buildCopiedEntries(largeTree).toArray()) - countComponents(buildCopiedEntries(smallTree).toArray())
+    ) / (largeLeaves - smallLeaves);
+
+    //Only the label of a leaf is retained, its parameters are shared and its description is kept as text
+    String growth = "Components retained per leaf: " + retainedGrowth + ", copied per leaf: " + copiedGrowth;
+    assertTrue(retainedGrowth <= 1, growth);
+    assertTrue(retainedGrowth * 10 <= copiedGrowth, growth);
+  }
+
+  /**
+   * @return a command with a node for each group and distinct leaf nodes below every group, every group is
+   * declared by its own sub controller
+   */
+  private static Controller newWideCommand(int leavesPerGroup) throws ReflectiveOperationException {
+    DynamicType.Builder<Controller> root = new ByteBuddy()
+            .subclass(Controller.class)
+            .annotateType(commandNode("", "t", ""));
+    Controller command = newController(defineNode(root, "root", new Class<?>[] {CommandSender.class}, commandNode("", "t", "")));
+    for(int group = 0; group < GROUPS; group++) {
+      DynamicType.Builder<Controller> subCommand = defineNode(
+              new ByteBuddy().subclass(Controller.class), "group" + group,
+              new Class<?>[] {CommandSender.class}, commandNode("t", "group" + group, "")
+      );
+
+      for(int leaf = 0; leaf < leavesPerGroup; leaf++) {
+        subCommand = defineNode(
+                subCommand, "leaf" + leaf, LEAF_PARAMETERS[leaf % LEAF_PARAMETERS.length],
+                commandNode("group" + group, "leaf" + leaf, "Runs the leaf " + leaf + " of the group " + group)
+        );
+      }
+
+      command.addSubController(newController(subCommand));
+    }
+
+    return command;
+  }
+
+  private static Controller newController(DynamicType.Builder<Controller> controller) throws ReflectiveOperationException {
+    return controller.make()
+            .load(HelpMenuServiceTest.class.getClassLoader())
+            .getLoaded().getConstructor().newInstance();
+  }
+
+  private static DynamicType.Builder<Controller> defineNode(
+          DynamicType.Builder<Controller> command, String name, Class<?>[] parameters, AnnotationDescription node
+  ) {
+    return command.defineMethod(name, void.class, Visibility.PUBLIC)
+            .withParameters(parameters)
+            .intercept(StubMethod.INSTANCE)
+            .annotateMethod(node);
+  }
+
+  private static AnnotationDescription commandNode(String parent, String label, String description) {
+    return AnnotationDescription.Builder.ofType(CommandNode.class)
+            .define("parent", parent)
+            .define("label", label)
+            .define("description", description)
+            .build();
+  }
+
+  private static int countLeaves(Node root) {
+    Set<Node> leaves = Collections.newSetFromMap(new IdentityHashMap<>());
+    collectLeaves(root, leaves);
+    return leaves.size();
+  }
+
+  private static void collectLeaves(Node node, Set<Node> leaves) {
+    if(node.getChildren().length == 0) {
+      leaves.add(node);
+    }
+
+    for(Node child : node.getChildren()) {
+      collectLeaves(child, leaves);
+    }
+  }
+
+  /**
+   * @return the entries as they were built before sharing their segments, a copy of the path for each leaf
+   */
+  private static List<BaseComponent> buildCopiedEntries(Node root) {
+    List<BaseComponent> entries = new ArrayList<>();
+    TextComponent baseEntry = new TextComponent(" /");
+    baseEntry.setColor(ChatColor.DARK_GRAY);
+    buildCopiedEntries(entries, baseEntry, root);
+    return entries;
+  }
+
+  private static void buildCopiedEntries(List<BaseComponent> entries, BaseComponent entry, Node node) {
+    TextComponent nodeLabel = new TextComponent(node.getData().label() + " ");
+    nodeLabel.setColor(ChatColor.GRAY);
+    entry.addExtra(nodeLabel);
+
+    for(ParameterParser<?> parameterParser : node.getParameterParsers()) {
+      DescriptionBuilder descriptionBuilder = parameterParser.getDescriptionBuilder();
+      String parameterLabel = parameterParser.getLabel();
+      if(parameterLabel.isEmpty()) {
+        parameterLabel = descriptionBuilder.getFallbackLabel();
+      }
+
+      TextComponent parameterLabelComponent = new TextComponent("<" + parameterLabel + "> ");
+      parameterLabelComponent.setColor(ChatColor.RED);
+      parameterLabelComponent.setHoverEvent(new HoverEvent(
+              HoverEvent.Action.SHOW_TEXT, TextComponent.fromLegacyText(descriptionBuilder.getDescription())
+      ));
+      entry.addExtra(parameterLabelComponent);
+    }
+
+    if(node.getChildren().length == 0) {
+      entry.setHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT, TextComponent.fromLegacyText(node.getDescription())));
+      entries.add(entry);
+      return;
+    }
+
+    for(Node child : node.getChildren()) {
+      buildCopiedEntries(entries, entry.duplicate(), child);
+    }
+  }
+
+  /**
+   * @return the distinct components reachable from the object
+   */
+  private static int countComponents(Object root) throws IllegalAccessException {
+    Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    Deque<Object> stack = new ArrayDeque<>();
+    stack.push(root);
+    int components = 0;
+    while(!stack.isEmpty()) {
+      Object value = stack.pop();
+      if(!visited.add(value)) {
+        continue;
+      }
+
+      if(value instanceof BaseComponent) {
+        components += 1;
+        BaseComponent component = (BaseComponent) value;
+        if(component.getExtra() != null) {
+          component.getExtra().forEach(stack::push);
+        }
+
+        if(component.getHoverEvent() != null) {
+          stack.push(component.getHoverEvent().getValue());
+        }
+      } else if(value instanceof HoverEvent) {
+        stack.push(((HoverEvent) value).getValue());
+      } else if(value instanceof Object[]) {
+        for(Object element : (Object[]) value) {
+          if(element != null) {
+            stack.push(element);
+          }
+        }
+      } else if(value.getClass().getName().startsWith("ml.empee.commandsManager.")) {
+        pushFields(value, stack);
+      }
+    }
+
+    return components;
+  }
+
+  private static void pushFields(Object value, Deque<Object> stack) throws IllegalAccessException {
+    for(Class<?> type = value.getClass(); type != Object.class; type = type.getSuperclass()) {
+      for(Field field : type.getDeclaredFields()) {
+        if(Modifier.isStatic(field.getModifiers()) || field.getType().isPrimitive()) {
+          continue;
+        }
+
+        field.setAccessible(true);
+        Object fieldValue = field.get(value);
+        if(fieldValue != null) {
+          stack.push(fieldValue);
+        }
+      }
+    }
+  }
+
+}
@@ -0,0 +1,82 @@
+package ml.empee.commandsManager;
+
+import ml.empee.commandsManager.command.CommandExecutor;
+import ml.empee.commandsManager.command.annotations.CommandNode;
+import ml.empee.commandsManager.exceptions.StacklessCommandException;
+import ml.empee.commandsManager.messages.MessageKey;
+import ml.empee.commandsManager.messages.Messages;
+import ml.empee.commandsManager.parsers.ParseResult;
+import ml.empee.commandsManager.parsers.types.annotations.IntegerParam;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.PluginCommand;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MessagesTest extends AbstractCommandTest {
+
+  private LimitCommand limitCommand;
+  private PluginCommand pluginCommand;
+
+  @BeforeEach
+  public void setUp() {
+    super.setUp();
+
+    limitCommand = new LimitCommand();
+    pluginCommand = limitCommand.build(commandManager);
+  }
+
+  private void executeCommand(String... args) {
+    limitCommand.onCommand(sender, pluginCommand, "limit", args);
+  }
+
+  @Test
+  void shouldSendTheOverriddenMessages() {
+    commandManager.getMessages().setMessage(MessageKey.GREATER_THAN_MAX, "%value% is over &e%limit%");
+    commandManager.getMessages().setPrefix("&b> ");
+
+    executeCommand("11");
+    assertEquals("§b> §c11 is over §e10", senderReceivedMessage.poll());
+  }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  void shouldApplyTheDeprecatedPrefix() {
+    try {
+      CommandExecutor.setPrefix("&b> ");
+      executeCommand("11");
+      assertEquals("§b> §c§e11§c must be equal or lower then §e10", senderReceivedMessage.poll());
+    } finally {
+      CommandExecutor.setPrefix("&4&l > ");
+    }
+
+    executeCommand("11");
+    assertEquals("§4§l > §c§e11§c must be equal or lower then §e10", senderReceivedMessage.poll());
+  }
+
+  @Test
+  void shouldRenderErrorsWithTheGivenMessages() {
+    Messages messages = new Messages();
+    messages.setMessage(MessageKey.INVALID_VALUE, "bad %value%");
+
+    ParseResult<Object> result = ParseResult.failure(MessageKey.INVALID_VALUE, "x");
+    assertEquals("bad x", result.getError(messages));
+    assertEquals("The value §ex§r isn't valid", result.getError());
+
+    StacklessCommandException exception = new StacklessCommandException(MessageKey.INVALID_VALUE, "x");
+    assertEquals("bad x", messages.format(exception));
+    assertEquals("The value §ex§r isn't valid", exception.getMessage());
+  }
+
+  @CommandNode(label = "limit")
+  public static final class LimitCommand extends DemoCommandTest.TestCommand {
+
+    @CommandNode(label = "limit")
+    public void limit(CommandSender sender, @IntegerParam(max = 10) int value) {
+      sender.sendMessage("ok");
+    }
+
+  }
+
+}
@@ -0,0 +1,105 @@
+package ml.empee.commandsManager;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.command.SimpleCommandMap;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+import org.mockito.Mockito;
+import org.mockito.invocation.Invocation;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.when;
+
+/**
+ * A mocked server installed as the Bukkit singleton, with a real command map and a scheduler that
+ * accepts tasks without running them
+ */
+public abstract class MockedServer implements Server {
+
+  private static final AtomicInteger taskIds = new AtomicInteger();
+  private static MockedServer server;
+
+  //Looked up through reflection by CommandMapUtils
+  public abstract SimpleCommandMap getCommandMap();
+
+  public static synchronized MockedServer install() {
+    if(server == null) {
+      server = mock(MockedServer.class);
+      SimpleCommandMap commandMap = new SimpleCommandMap(server);
+      when(server.getCommandMap()).thenReturn(commandMap);
+
+      BukkitScheduler scheduler = mock(BukkitScheduler.class);
+      when(scheduler.runTask(any(), any(Runnable.class))).thenAnswer(invocation -> newTask());
+      when(scheduler.runTaskLater(any(), any(Runnable.class), anyLong())).thenAnswer(invocation -> newTask());
+      when(scheduler.runTaskTimer(any(), any(Runnable.class), anyLong(), anyLong())).thenAnswer(invocation -> newTask());
+      when(scheduler.runTaskAsynchronously(any(), any(Runnable.class))).thenAnswer(invocation -> newTask());
+      when(server.getScheduler()).thenReturn(scheduler);
+      when(server.getPluginManager()).thenReturn(mock(PluginManager.class));
+
+      Bukkit.setServer(server);
+    }
+
+    return server;
+  }
+
+  /**
+   * Runs the tasks given to the scheduler through the methods since the previous run, e.g. runTask
+   *
+   * @return the number of tasks that have been run
+   */
+  public static int runScheduledTasks(String... methods) {
+    List<String> runMethods = Arrays.asList(methods);
+    List<Invocation> invocations = new ArrayList<>(mockingDetails(install().getScheduler()).getInvocations());
+    int tasks = 0;
+    for(Invocation invocation : invocations) {
+      if(!invocation.isVerified() && runMethods.contains(invocation.getMethod().getName())) {
+        invocation.markVerified();
+        ((Runnable) invocation.getArgument(1)).run();
+        tasks += 1;
+      }
+    }
+
+    return tasks;
+  }
+
+  private static BukkitTask newTask() {
+    BukkitTask task = mock(BukkitTask.class);
+    int id = taskIds.incrementAndGet();
+    when(task.getTaskId()).thenReturn(id);
+    return task;
+  }
+
+  /**
+   * @return a plugin bound to the mocked server
+   */
+  public static JavaPlugin mockPlugin(String name) {
+    JavaPlugin plugin = mock(JavaPlugin.class);
+    setField(plugin, "server", install());
+    setField(plugin, "description", new PluginDescriptionFile(name, "1.0.0", "ml.empee.Test"));
+    return plugin;
+  }
+
+  private static void setField(JavaPlugin plugin, String name, Object value) {
+    try {
+      Field field = JavaPlugin.class.getDeclaredField(name);
+      field.setAccessible(true);
+      field.set(plugin, value);
+    } catch(ReflectiveOperationException e) {
+      throw new IllegalStateException("Unable to mock the plugin " + name, e);
+    }
+  }
+
+}
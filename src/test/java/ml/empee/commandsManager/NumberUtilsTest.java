@@ -0,0 +1,70 @@
+package ml.empee.commandsManager;
+
+import ml.empee.commandsManager.parsers.ParseResult;
+import ml.empee.commandsManager.parsers.types.IntegerParser;
+import ml.empee.commandsManager.parsers.types.LongParser;
+import ml.empee.commandsManager.utils.NumberUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NumberUtilsTest {
+
+  @Test
+  void shouldAcceptIntegersInsideTheRange() {
+    assertTrue(NumberUtils.isInteger("0"));
+    assertTrue(NumberUtils.isInteger("-15"));
+    assertTrue(NumberUtils.isInteger("+15"));
+    assertTrue(NumberUtils.isInteger("2147483647"));
+    assertTrue(NumberUtils.isInteger("-2147483648"));
+    assertTrue(NumberUtils.isInteger("0002147483647"));
+
+    assertFalse(NumberUtils.isInteger("2147483648"));
+    assertFalse(NumberUtils.isInteger("-2147483649"));
+    assertFalse(NumberUtils.isInteger("99999999999"));
+    assertFalse(NumberUtils.isInteger(""));
+    assertFalse(NumberUtils.isInteger("-"));
+    assertFalse(NumberUtils.isInteger("1.0"));
+    assertFalse(NumberUtils.isInteger("12a"));
+  }
+
+  @Test
+  void shouldAcceptLongsInsideTheRange() {
+    assertTrue(NumberUtils.isLong("9223372036854775807"));
+    assertTrue(NumberUtils.isLong("-9223372036854775808"));
+
+    assertFalse(NumberUtils.isLong("9223372036854775808"));
+    assertFalse(NumberUtils.isLong("-9223372036854775809"));
+  }
+
+  @Test
+  void shouldAcceptWhatParseDoubleAccepts() {
+    String[] valid = {"1", "-1.5", "+.5", "5.", "1e10", "1.5E-3", "2f", "3D", "NaN", "-Infinity"};
+    for(String value : valid) {
+      assertTrue(NumberUtils.isDecimal(value), value);
+      Double.parseDouble(value);
+    }
+
+    String[] invalid = {"", ".", "-", "1e", "1e+", "1.5.3", "0x1p3", "NaNa", "1ff", "abc"};
+    for(String value : invalid) {
+      assertFalse(NumberUtils.isDecimal(value), value);
+    }
+  }
+
+  @Test
+  void shouldReportTheViolatedLimit() {
+    IntegerParser integerParser = IntegerParser.builder().label("value").min(0).max(10).build();
+    ParseResult<Integer> result = integerParser.tryParse(0, "11");
+    assertFalse(result.isSuccess());
+    assertEquals("§e11§r must be equal or lower then §e10", result.getError());
+
+    result = integerParser.tryParse(0, "-1");
+    assertEquals("§e-1§r must be equal or greater then §e0", result.getError());
+
+    LongParser longParser = LongParser.builder().label("value").min(0).max(10).build();
+    assertEquals("§e11§r must be equal or lower then §e10", longParser.tryParse(0, "11").getError());
+  }
+
+}
@@ -0,0 +1,120 @@
+package ml.empee.commandsManager;
+
+import ml.empee.commandsManager.command.CommandContext;
+import ml.empee.commandsManager.command.CommandExecutor;
+import ml.empee.commandsManager.command.OutputBuffer;
+import ml.empee.commandsManager.command.annotations.CommandNode;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.TextComponent;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.PluginCommand;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+
+class OutputBufferTest extends AbstractCommandTest {
+
+  private final List<BaseComponent[]> packets = new ArrayList<>();
+  private BufferedCommand command;
+  private PluginCommand pluginCommand;
+
+  @BeforeEach
+  public void setUp() {
+    super.setUp();
+
+    packets.clear();
+    when(((Player) sender).spigot()).thenReturn(new Player.Spigot() {
+      @Override
+      public void sendMessage(BaseComponent... components) {
+        packets.add(components);
+      }
+    });
+
+    command = new BufferedCommand();
+    commandManager.registerCommand(command);
+    pluginCommand = command.getPluginCommand();
+  }
+
+  @Test
+  void shouldJoinTheLinesForTheConsole() {
+    OutputBuffer output = new OutputBuffer(consoleSender);
+    output.send("first");
+    output.send(new TextComponent("second"));
+    output.flush();
+    output.flush();
+
+    assertEquals("first\n§fsecond", senderReceivedMessage.poll());
+    assertNull(senderReceivedMessage.poll());
+  }
+
+  @Test
+  void shouldSendASingleLineAsAMessage() {
+    OutputBuffer output = new OutputBuffer(sender);
+    output.send("only");
+    output.flush();
+
+    assertEquals("only", senderReceivedMessage.poll());
+    assertEquals(0, packets.size());
+  }
+
+  @Test
+  void shouldJoinTheLinesIntoFewPackets() {
+    OutputBuffer output = new OutputBuffer(sender);
+    char[] longLine = new char[4090];
+    Arrays.fill(longLine, 'a');
+    output.send("first");
+    output.send(new TextComponent("second"));
+    output.send(new String(longLine));
+    output.send("last");
+    output.flush();
+
+    assertEquals(2, packets.size());
+    assertEquals("first\nsecond", BaseComponent.toPlainText(packets.get(0)));
+    assertEquals(new String(longLine) + "\nlast", BaseComponent.toPlainText(packets.get(1)));
+    assertNull(senderReceivedMessage.poll());
+  }
+
+  @Test
+  void shouldCopyAndReplayTheLines() {
+    OutputBuffer output = new OutputBuffer(consoleSender);
+    output.send("skipped");
+    output.send("copied");
+    Object[] lines = output.copyLines(1);
+
+    OutputBuffer replay = new OutputBuffer(consoleSender);
+    replay.sendLines(lines);
+    assertEquals(1, replay.size());
+    replay.flush();
+    assertEquals("copied", senderReceivedMessage.poll());
+  }
+
+  @Test
+  void shouldFlushWhenTheInvocationEnds() {
+    command.onCommand(consoleSender, pluginCommand, "buffered", new String[] {"list"});
+
+    assertEquals("direct", senderReceivedMessage.poll());
+    assertEquals("line 1\nline 2", senderReceivedMessage.poll());
+  }
+
+  @CommandNode(label = "buffered")
+  public static final class BufferedCommand extends CommandExecutor {
+
+    @CommandNode(parent = "buffered", label = "list")
+    public void list(CommandSender sender) {
+      CommandContext context = getContext(sender);
+      context.getOutput().send("line 1");
+      context.getOutput().send("line 2");
+      sender.sendMessage("direct");
+    }
+
+  }
+
+}
@@ -0,0 +1,169 @@
+package ml.empee.commandsManager;
+
+import ml.empee.commandsManager.command.PageSource;
+import ml.empee.commandsManager.exceptions.StacklessCommandException;
+import ml.empee.commandsManager.messages.MessageKey;
+import ml.empee.commandsManager.messages.Messages;
+import ml.empee.commandsManager.services.PaginationService;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.ClickEvent;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PaginationServiceTest extends AbstractCommandTest {
+
+  private final Messages messages = new Messages();
+  private final List<BaseComponent[]> components = new ArrayList<>();
+  private PaginationService pagination;
+
+  @BeforeEach
+  public void setUp() {
+    super.setUp();
+
+    components.clear();
+    when(((Player) sender).spigot()).thenReturn(new Player.Spigot() {
+      @Override
+      public void sendMessage(BaseComponent... message) {
+        components.add(message);
+      }
+    });
+
+    pagination = new PaginationService(messages, 2, 5, TimeUnit.MINUTES);
+  }
+
+  private static List<String> rows(int count) {
+    return IntStream.rangeClosed(1, count).mapToObj(i -> "row " + i).collect(Collectors.toList());
+  }
+
+  private String footer(int page, String pages) {
+    return messages.format(MessageKey.PAGE_FOOTER, page, pages);
+  }
+
+  @Test
+  void shouldSendAPageAsASingleMessage() {
+    pagination.send(consoleSender, "Top", PageSource.of(rows(5)), 2);
+
+    assertEquals(" §eTop\n\nrow 3\nrow 4\n" + footer(2, "3"), senderReceivedMessage.poll());
+    assertNull(senderReceivedMessage.poll());
+  }
+
+  @Test
+  void shouldMoveThroughThePages() {
+    pagination.send(consoleSender, null, PageSource.of(rows(3)), 1);
+    pagination.next(consoleSender);
+    assertEquals("row 1\nrow 2\n" + footer(1, "2"), senderReceivedMessage.poll());
+    assertEquals("row 3\n" + footer(2, "2"), senderReceivedMessage.poll());
+
+    StacklessCommandException exception = assertThrows(StacklessCommandException.class, () -> pagination.next(consoleSender));
+    assertEquals(MessageKey.INVALID_PAGE, exception.getMessageKey());
+
+    pagination.previous(consoleSender);
+    assertEquals("row 1\nrow 2\n" + footer(1, "2"), senderReceivedMessage.poll());
+
+    pagination.forget(consoleSender);
+    exception = assertThrows(StacklessCommandException.class, () -> pagination.previous(consoleSender));
+    assertEquals(MessageKey.NO_ACTIVE_PAGES, exception.getMessageKey());
+  }
+
+  @Test
+  void shouldRejectTheMissingPages() {
+    PageSource source = PageSource.of(rows(3));
+    assertThrows(StacklessCommandException.class, () -> pagination.send(consoleSender, null, source, 0));
+    assertThrows(StacklessCommandException.class, () -> pagination.send(consoleSender, null, source, 3));
+
+    pagination.send(consoleSender, null, PageSource.of(new ArrayList<>()), 1);
+    assertEquals(footer(1, "1"), senderReceivedMessage.poll());
+  }
+
+  @Test
+  void shouldFetchOnlyTheRowsOfThePage() {
+    AtomicInteger iterators = new AtomicInteger();
+    AtomicInteger fetchedRows = new AtomicInteger();
+    PageSource source = PageSource.of(() -> {
+      iterators.incrementAndGet();
+      Iterator<String> iterator = rows(100).iterator();
+      return new Iterator<String>() {
+        @Override
+        public boolean hasNext() {
+          return iterator.hasNext();
+        }
+
+        @Override
+        public String next() {
+          fetchedRows.incrementAndGet();
+          return iterator.next();
+        }
+      };
+    });
+
+    pagination.send(consoleSender, null, source, 1);
+    assertEquals("row 1\nrow 2\n" + footer(1, "?"), senderReceivedMessage.poll());
+    assertEquals(3, fetchedRows.get());
+
+    pagination.next(consoleSender);
+    pagination.next(consoleSender);
+    assertEquals("row 3\nrow 4\n" + footer(2, "?"), senderReceivedMessage.poll());
+    assertEquals("row 5\nrow 6\n" + footer(3, "?"), senderReceivedMessage.poll());
+    assertEquals(7, fetchedRows.get());
+    assertEquals(1, iterators.get());
+
+    pagination.previous(consoleSender);
+    assertEquals("row 3\nrow 4\n" + footer(2, "?"), senderReceivedMessage.poll());
+    assertEquals(2, iterators.get());
+  }
+
+  @Test
+  void shouldSendClickableArrowsToPlayers() {
+    pagination.send(sender, null, PageSource.of(rows(5)), 2, "/top %page%");
+
+    assertEquals(1, components.size());
+    List<String> commands = new ArrayList<>();
+    for(BaseComponent component : components.get(0)) {
+      ClickEvent event = component.getClickEvent();
+      if(event != null) {
+        commands.add(event.getValue());
+      }
+    }
+
+    assertEquals(Arrays.asList("/top 1", "/top 3"), commands);
+    assertTrue(BaseComponent.toPlainText(components.get(0)).startsWith("row 3\nrow 4\n"));
+  }
+
+  @Test
+  void shouldKeepTheCursorsOfPlayersUntilTheyQuit() {
+    UUID playerId = UUID.randomUUID();
+    when(((Player) sender).getUniqueId()).thenReturn(playerId);
+    Player.Spigot spigot = ((Player) sender).spigot();
+    Player relogged = mock(Player.class);
+    when(relogged.getUniqueId()).thenReturn(playerId);
+    when(relogged.spigot()).thenReturn(spigot);
+
+    pagination.send(sender, null, PageSource.of(rows(5)), 1);
+    pagination.next(relogged);
+    assertEquals(2, components.size());
+
+    pagination.onPlayerQuit(new PlayerQuitEvent(relogged, null));
+    StacklessCommandException exception = assertThrows(StacklessCommandException.class, () -> pagination.next(sender));
+    assertEquals(MessageKey.NO_ACTIVE_PAGES, exception.getMessageKey());
+  }
+
+}
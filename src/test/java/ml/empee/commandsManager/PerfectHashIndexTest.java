@@ -0,0 +1,48 @@
+package ml.empee.commandsManager;
+
+import ml.empee.commandsManager.utils.PerfectHashIndex;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class PerfectHashIndexTest {
+
+  @Test
+  void shouldIndexTheKeys() {
+    String[] keys = new String[200];
+    for(int i = 0; i < keys.length; i++) {
+      keys[i] = "--flag" + i;
+    }
+
+    PerfectHashIndex index = new PerfectHashIndex(keys);
+    for(int i = 0; i < keys.length; i++) {
+      assertEquals(i, index.indexOf(keys[i]));
+    }
+
+    assertEquals(-1, index.indexOf("--flag200"));
+    assertEquals(-1, new PerfectHashIndex().indexOf("--flag"));
+  }
+
+  @Test
+  void shouldIndexKeysWithTheSameHashCode() {
+    assertEquals("--Aa".hashCode(), "--BB".hashCode());
+
+    PerfectHashIndex index = assertTimeoutPreemptively(
+            Duration.ofSeconds(5), () -> new PerfectHashIndex("--Aa", "--BB", "--silent")
+    );
+    assertEquals(0, index.indexOf("--Aa"));
+    assertEquals(1, index.indexOf("--BB"));
+    assertEquals(2, index.indexOf("--silent"));
+    assertEquals(-1, index.indexOf("--Ab"));
+  }
+
+  @Test
+  void shouldRejectDuplicatedKeys() {
+    assertThrows(IllegalArgumentException.class, () -> new PerfectHashIndex("--a", "--b", "--a"));
+  }
+
+}
@@ -0,0 +1,120 @@
+package ml.empee.commandsManager;
+
+import ml.empee.commandsManager.command.CommandExecutor;
+import ml.empee.commandsManager.command.Node;
+import ml.empee.commandsManager.command.annotations.CommandNode;
+import ml.empee.commandsManager.parsers.types.annotations.IntegerParam;
+import org.bukkit.command.CommandMap;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.PluginCommand;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReloadCommandsTest extends AbstractCommandTest {
+
+  private final CommandMap commandMap = MockedServer.install().getCommandMap();
+  private CounterCommand command;
+
+  @BeforeEach
+  public void setUp() {
+    super.setUp();
+
+    command = new CounterCommand("first");
+    commandManager.registerCommand(command);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    commandManager.unregisterCommands();
+  }
+
+  private void executeCommand(String... args) {
+    PluginCommand pluginCommand = (PluginCommand) commandMap.getCommand("counter");
+    pluginCommand.getExecutor().onCommand(sender, pluginCommand, "counter", args);
+  }
+
+  @Test
+  void shouldKeepTheUnchangedInstance() {
+    Node root = command.getRootNode();
+    commandManager.reloadCommands(Collections.singletonList(command));
+
+    assertSame(root, command.getRootNode());
+    executeCommand("get", "1");
+    assertEquals("first 1", senderReceivedMessage.poll());
+  }
+
+  @Test
+  void shouldBindTheNewInstanceOnTheSamePluginCommand() {
+    PluginCommand pluginCommand = command.getPluginCommand();
+    CounterCommand reloaded = new CounterCommand("second");
+    commandManager.reloadCommands(Collections.singletonList(reloaded));
+
+    assertSame(pluginCommand, reloaded.getPluginCommand());
+    assertSame(reloaded, pluginCommand.getExecutor());
+    assertSame(pluginCommand, commandMap.getCommand("counter"));
+    executeCommand("get", "1");
+    assertEquals("second 1", senderReceivedMessage.poll());
+  }
+
+  @Test
+  void shouldUpdateTheChangedLabels() {
+    PluginCommand pluginCommand = command.getPluginCommand();
+    commandManager.reloadCommands(Collections.singletonList(new CounterAliasCommand()));
+    assertEquals(Collections.singletonList("cnt"), pluginCommand.getAliases());
+    assertSame(pluginCommand, commandMap.getCommand("cnt"));
+    executeCommand("get", "15");
+    assertEquals("alias 15", senderReceivedMessage.poll());
+
+    commandManager.reloadCommands(Collections.emptyList());
+    assertNull(commandMap.getCommand("counter"));
+    assertNull(commandMap.getCommand("cnt"));
+  }
+
+  @Test
+  void shouldSignTheAnnotationValues() {
+    String signature = Node.buildCommandTree(commandManager, command).getSignature();
+    assertTrue(signature.contains("max=10"), signature);
+    assertTrue(signature.contains("counter.get"), signature);
+
+    assertNotEquals(signature, Node.buildCommandTree(commandManager, new CounterAliasCommand()).getSignature());
+    assertEquals(signature, Node.buildCommandTree(commandManager, new CounterCommand("other")).getSignature());
+    assertNotSame(command.getRootNode(), Node.buildCommandTree(commandManager, command));
+  }
+
+  @CommandNode(label = "counter")
+  public static final class CounterCommand extends CommandExecutor {
+
+    private final String name;
+
+    public CounterCommand(String name) {
+      this.name = name;
+    }
+
+    @CommandNode(parent = "counter", label = "get", permission = "counter.get")
+    public void get(CommandSender sender, @IntegerParam(max = 10) int value) {
+      sender.sendMessage(name + " " + value);
+    }
+
+  }
+
+  @CommandNode(label = "counter", aliases = "cnt")
+  public static final class CounterAliasCommand extends CommandExecutor {
+
+    @CommandNode(parent = "counter", label = "get")
+    public void get(CommandSender sender, @IntegerParam(max = 20) int value) {
+      sender.sendMessage("alias " + value);
+    }
+
+  }
+
+}
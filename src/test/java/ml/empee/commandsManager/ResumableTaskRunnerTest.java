@@ -0,0 +1,115 @@
+package ml.empee.commandsManager;
+
+import ml.empee.commandsManager.command.CommandContext;
+import ml.empee.commandsManager.command.CommandExecutor;
+import ml.empee.commandsManager.command.ResumableTask;
+import ml.empee.commandsManager.command.annotations.CommandNode;
+import ml.empee.commandsManager.parsers.types.CachedLookupParser;
+import ml.empee.commandsManager.services.ResumableTaskRunner;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.when;
+
+class ResumableTaskRunnerTest extends AbstractCommandTest {
+
+  private TaskCommand command;
+
+  @BeforeEach
+  public void setUp() {
+    super.setUp();
+
+    commandManager.getParserManager().registerParser(
+            CachedLookupParser.<Integer>builder().label("amount").loader(Integer::valueOf).build(), null, Integer.class
+    );
+    command = new TaskCommand();
+    commandManager.registerCommand(command);
+  }
+
+  @Test
+  void shouldExposeTheRunningTask() throws Exception {
+    CommandContext context = new CommandContext(sender);
+    command.dispatch(context, "count");
+
+    ResumableTaskRunner.RunningTask task = context.getRunningTask();
+    assertNotNull(task);
+    assertEquals(sender, task.getSender());
+    assertEquals(0, task.getProgress());
+
+    commandManager.getTaskRunner().run();
+    assertTrue(task.isCompleted());
+    assertEquals("1", senderReceivedMessage.poll());
+    assertEquals("2", senderReceivedMessage.poll());
+    assertEquals("3", senderReceivedMessage.poll());
+  }
+
+  @Test
+  void shouldCancelTheRunningTask() throws Exception {
+    CommandContext context = new CommandContext(sender);
+    command.dispatch(context, "count");
+    context.getRunningTask().cancel();
+
+    commandManager.getTaskRunner().run();
+    assertFalse(context.getRunningTask().isCompleted());
+    assertTrue(commandManager.getTaskRunner().getTasks(sender).isEmpty());
+    assertEquals("§cTask §etask.count §chas been cancelled", senderReceivedMessage.poll());
+  }
+
+  @Test
+  void shouldNotExposeATaskForPlainNodes() throws Exception {
+    CommandContext context = new CommandContext(sender);
+    command.dispatch(context, "plain");
+
+    assertNull(context.getRunningTask());
+  }
+
+  @Test
+  void shouldStartTheTasksOfAsyncNodesOnTheMainThread() {
+    when(((Player) sender).isOnline()).thenReturn(true);
+    clearInvocations(plugin.getServer().getScheduler());
+    command.onCommand(sender, command.getPluginCommand(), "task", new String[] {"async", "2"});
+
+    //Loads the argument, resolves it on the main thread and executes the node off the main thread
+    assertEquals(1, MockedServer.runScheduledTasks("runTaskAsynchronously"));
+    assertEquals(1, MockedServer.runScheduledTasks("runTask"));
+    assertEquals(1, MockedServer.runScheduledTasks("runTaskAsynchronously"));
+    assertTrue(commandManager.getTaskRunner().getTasks(sender).isEmpty());
+
+    assertEquals(1, MockedServer.runScheduledTasks("runTask"));
+    assertEquals(1, commandManager.getTaskRunner().getTasks(sender).size());
+    commandManager.getTaskRunner().run();
+    assertEquals("1", senderReceivedMessage.poll());
+    assertEquals("2", senderReceivedMessage.poll());
+  }
+
+  @CommandNode(label = "task")
+  public static final class TaskCommand extends CommandExecutor {
+
+    @CommandNode(parent = "task", label = "count")
+    public ResumableTask count(CommandSender sender) {
+      return ResumableTask.forEach(Arrays.asList("1", "2", "3"), sender::sendMessage);
+    }
+
+    @CommandNode(parent = "task", label = "async", async = true)
+    public ResumableTask async(CommandSender sender, Integer amount) {
+      return ResumableTask.forEach(Arrays.asList("1", "2").subList(0, amount), sender::sendMessage);
+    }
+
+    @CommandNode(parent = "task", label = "plain")
+    public void plain(CommandSender sender) {
+      sender.sendMessage("plain");
+    }
+
+  }
+
+}
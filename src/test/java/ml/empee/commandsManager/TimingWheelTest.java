@@ -0,0 +1,95 @@
+package ml.empee.commandsManager;
+
+import ml.empee.commandsManager.utils.TimingWheel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+
+  @Test
+  void shouldExpireEntriesOnTheirDeadline() {
+    TimingWheel<Task> wheel = new TimingWheel<>(0);
+    Random random = new Random(42);
+    List<Task> tasks = new ArrayList<>();
+    for(int i = 0; i < 10_000; i++) {
+      //Spread across the first three wheels
+      Task task = new Task(1 + random.nextInt(300_000));
+      wheel.schedule(task, task.expectedTick);
+      tasks.add(task);
+    }
+
+    assertEquals(tasks.size(), wheel.size());
+    for(int tick = 0; tick < 300_000; tick++) {
+      wheel.advance(task -> {
+        assertEquals(task.expectedTick, wheel.getCurrentTick());
+        task.expirations += 1;
+      });
+    }
+
+    assertEquals(0, wheel.size());
+    for(Task task : tasks) {
+      assertEquals(1, task.expirations);
+    }
+  }
+
+  @Test
+  void shouldCancelEntries() {
+    TimingWheel<Task> wheel = new TimingWheel<>(100);
+    Task near = new Task(110);
+    Task far = new Task(100_000);
+    wheel.schedule(near, near.expectedTick);
+    wheel.schedule(far, far.expectedTick);
+
+    assertTrue(wheel.cancel(far));
+    assertFalse(wheel.cancel(far));
+    assertFalse(far.isScheduled());
+    assertEquals(1, wheel.size());
+
+    List<Task> expired = new ArrayList<>();
+    for(int tick = 0; tick < 100_000; tick++) {
+      wheel.advance(expired::add);
+    }
+
+    assertEquals(1, expired.size());
+    assertEquals(near, expired.get(0));
+  }
+
+  @Test
+  void shouldExpirePastDeadlinesOnTheNextTick() {
+    TimingWheel<Task> wheel = new TimingWheel<>(50);
+    Task task = new Task(51);
+    wheel.schedule(task, 10);
+
+    List<Task> expired = new ArrayList<>();
+    wheel.advance(expired::add);
+    assertEquals(1, expired.size());
+  }
+
+  @Test
+  void shouldRejectInvalidEntries() {
+    TimingWheel<Task> wheel = new TimingWheel<>(0);
+    Task task = new Task(1);
+    wheel.schedule(task, 1);
+
+    assertThrows(IllegalArgumentException.class, () -> wheel.schedule(task, 2));
+    assertThrows(IllegalArgumentException.class, () -> wheel.schedule(new Task(0), TimingWheel.MAX_DELAY + 1));
+  }
+
+  private static final class Task extends TimingWheel.Entry {
+    private final long expectedTick;
+    private int expirations;
+
+    private Task(long expectedTick) {
+      this.expectedTick = expectedTick;
+    }
+  }
+
+}